@@ -0,0 +1,180 @@
+package kanagawa.ai;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import kanagawa.models.Card;
+import kanagawa.models.Diploma;
+import kanagawa.models.Game;
+import kanagawa.models.Player;
+import kanagawa.models.enums.CardChoice;
+import kanagawa.utilities.TaskExecutors;
+
+/**
+ * {@code Strategy} giving a deadline to each decision of another strategy,
+ * typically a bot loaded by {@code StrategyProviders}. Each decision of the
+ * wrapped strategy runs on its own thread, virtual when the runtime supports
+ * it, and works on a fork of the game, so that a strategy still running after
+ * its deadline cannot see nor modify the game going on. When the deadline
+ * passes or the wrapped strategy fails, its thread is interrupted and the
+ * decision is taken by the fallback strategy instead, on the game itself.
+ *
+ * A strategy is not required to answer interrupts, so a late decision may
+ * still be running when the next one is asked. As a strategy only takes one
+ * decision at a time, the following decisions are taken by the fallback
+ * strategy until the late one has returned. The wrapped strategy does not
+ * know the decisions of the fallback : after a late {@code chooseColumn()},
+ * a strategy planning the cards of its column, like the
+ * {@code MctsStrategy}, answers the following {@code chooseCard()} with the
+ * plan of its own column, which may not be the column taken.
+ */
+public class DeadlineStrategy implements Strategy {
+
+    /**
+     * Threads running the decisions of all the wrapped strategies.
+     */
+    private static final ExecutorService EXECUTOR = TaskExecutors.newPerTaskExecutor("strategy");
+
+    private final Strategy strategy;
+
+    private final Strategy fallback;
+
+    private final long deadlineNanos;
+
+    /**
+     * Number of decisions taken by the fallback strategy.
+     */
+    private int fallbackCount;
+
+    private int decisionCount;
+
+    /**
+     * {@code true} while a decision of the wrapped strategy is running, possibly
+     * after its deadline. A cancelled {@code Future} is done at once, even if
+     * its thread is still running, so the decisions clear this flag themselves.
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Constructor of the {@code DeadlineStrategy} class.
+     *
+     * @param strategy       the {@code Strategy} to wrap
+     * @param fallback       the {@code Strategy} deciding when {@code strategy}
+     *                       is late or fails, which must answer quickly
+     * @param deadlineMillis time allowed to each decision, in milliseconds
+     */
+    public DeadlineStrategy(Strategy strategy, Strategy fallback, long deadlineMillis) {
+        if (deadlineMillis <= 0) {
+            throw new IllegalArgumentException("The deadline must be positive.");
+        }
+        this.strategy = strategy;
+        this.fallback = fallback;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+    }
+
+    /**
+     * Constructor of the {@code DeadlineStrategy} class, falling back to a
+     * {@code RandomStrategy}.
+     *
+     * @param strategy       the {@code Strategy} to wrap
+     * @param deadlineMillis time allowed to each decision, in milliseconds
+     * @param seed           seed of the fallback strategy
+     */
+    public DeadlineStrategy(Strategy strategy, long deadlineMillis, long seed) {
+        this(strategy, new RandomStrategy(seed), deadlineMillis);
+    }
+
+    @Override
+    public int chooseColumn(Game game, Player player) {
+        int seat = game.getPlayers().indexOf(player);
+        Game fork = fork(game);
+        Integer column = call(() -> strategy.chooseColumn(fork, fork.getPlayers().get(seat)));
+        return column != null ? column : fallback.chooseColumn(game, player);
+    }
+
+    @Override
+    public CardChoice chooseCard(Game game, Player player, Card card) {
+        int seat = game.getPlayers().indexOf(player);
+        Game fork = fork(game);
+        CardChoice choice = call(() -> strategy.chooseCard(fork, fork.getPlayers().get(seat), card));
+        return choice != null ? choice : fallback.chooseCard(game, player, card);
+    }
+
+    @Override
+    public boolean acceptDiploma(Game game, Player player, Diploma diploma) {
+        int seat = game.getPlayers().indexOf(player);
+        Game fork = fork(game);
+        Boolean accept = call(() -> strategy.acceptDiploma(fork, fork.getPlayers().get(seat), diploma));
+        return accept != null ? accept : fallback.acceptDiploma(game, player, diploma);
+    }
+
+    /**
+     * Number of decisions taken by the fallback strategy.
+     */
+    public int getFallbackCount() {
+        return fallbackCount;
+    }
+
+    /**
+     * Copies the game for a decision. The random generator of the game is not
+     * used, so that the game goes on as without the deadline.
+     */
+    private Game fork(Game game) {
+        return game.fork(game.getSeed() + ++decisionCount);
+    }
+
+    /**
+     * Runs a decision of the wrapped strategy until the deadline, unless its
+     * previous decision is still running.
+     *
+     * @return the decision, or {@code null} if it is late, failed or could not
+     *         be started
+     */
+    private <T> T call(Callable<T> decision) {
+        if (!running.compareAndSet(false, true)) {
+            fallbackCount++;
+            return null;
+        }
+        // Set by the decision when it starts, or by cancel() if it never starts
+        AtomicBoolean started = new AtomicBoolean();
+        Future<T> future = EXECUTOR.submit(() -> {
+            if (!started.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                return decision.call();
+            } finally {
+                running.set(false);
+            }
+        });
+        try {
+            T result = future.get(deadlineNanos, TimeUnit.NANOSECONDS);
+            if (result != null) {
+                return result;
+            }
+        } catch (TimeoutException | ExecutionException e) {
+            cancel(future, started);
+        } catch (InterruptedException e) {
+            cancel(future, started);
+            Thread.currentThread().interrupt();
+        }
+        fallbackCount++;
+        return null;
+    }
+
+    /**
+     * Interrupts a late decision. The wrapped strategy is free again at once if
+     * the decision has not started, otherwise when it returns.
+     */
+    private void cancel(Future<?> future, AtomicBoolean started) {
+        future.cancel(true);
+        if (started.compareAndSet(false, true)) {
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package kanagawa.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinTask;
+
+import kanagawa.models.Card;
+import kanagawa.models.Diploma;
+import kanagawa.models.DiplomaIndex;
+import kanagawa.models.Game;
+import kanagawa.models.MoveGenerator;
+import kanagawa.models.Player;
+import kanagawa.models.Turn;
+import kanagawa.models.enums.CardChoice;
+
+/**
+ * {@code Strategy} searching the best turn with a Monte-Carlo Tree Search under
+ * a wall-clock budget per decision.
+ *
+ * A node of the tree is a complete turn (column and choice of each card), so
+ * the column and the cards are chosen together and the following calls to
+ * {@code chooseCard} return the choices of the turn found. The only hidden
+ * information of the game is the order of the deck : each iteration searches a
+ * fork of the game whose remaining deck has been shuffled again, and the tree
+ * is indexed by the sequence of turns rather than by the positions. The
+ * iterations end with a random playout and the score of each player is 1 for a
+ * win, shared between the players in case of a draw.
+ *
+ * Several independent trees are searched in parallel from the root and their
+ * visit counts are added up to choose the turn. The trees also share the
+ * statistics of their turns through a {@code TranspositionTable} keyed by the
+ * public hash of the position and the turn : the hash ignores the order of the
+ * deck, so the statistics gathered by a tree, or for another sequence of turns
+ * reaching the same position, are used by the other trees during the selection.
+ */
+public class MctsStrategy implements Strategy {
+
+    /**
+     * Exploration constant of the UCB1 formula, the scores being between 0 and 1.
+     */
+    private static final double EXPLORATION = 0.7;
+
+    /**
+     * Number of turns whose statistics are kept in the transposition table.
+     */
+    private static final int TABLE_CAPACITY = 1 << 16;
+
+    /**
+     * Fixed point scale of the scores stored in the transposition table.
+     */
+    private static final double SCORE_SCALE = 256;
+
+    private final long budgetNanos;
+
+    private final int workerCount;
+
+    private final SplittableRandom random;
+
+    /**
+     * Statistics of the turns shared by the trees, kept from one decision to the
+     * next since the positions are identified by their hash.
+     */
+    private final TranspositionTable table = new TranspositionTable(TABLE_CAPACITY);
+
+    /**
+     * Turn chosen by the last call to {@code chooseColumn}, and the number of
+     * cards of its column.
+     */
+    private int plannedMove;
+
+    private int plannedCardCount;
+
+    /**
+     * Position in the planned column of the next card given to
+     * {@code chooseCard}, which is called for each card in the order of the
+     * column. The same card can be twice in a column, so it cannot be found by
+     * identity.
+     */
+    private int nextCard;
+
+    /**
+     * Constructor of the {@code MctsStrategy} class.
+     *
+     * @param budgetMillis time allowed to each decision, in milliseconds
+     * @param workerCount  number of trees searched in parallel
+     * @param seed         seed of the searches
+     */
+    public MctsStrategy(long budgetMillis, int workerCount, long seed) {
+        if (budgetMillis <= 0 || workerCount <= 0) {
+            throw new IllegalArgumentException("The budget and the number of workers must be positive.");
+        }
+        this.budgetNanos = budgetMillis * 1_000_000L;
+        this.workerCount = workerCount;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Constructor of the {@code MctsStrategy} class with one tree per available
+     * processor.
+     *
+     * @param budgetMillis time allowed to each decision, in milliseconds
+     * @param seed         seed of the searches
+     */
+    public MctsStrategy(long budgetMillis, long seed) {
+        this(budgetMillis, Runtime.getRuntime().availableProcessors(), seed);
+    }
+
+    @Override
+    public int chooseColumn(Game game, Player player) {
+        plannedMove = search(game);
+        nextCard = 0;
+        int column = Turn.column(plannedMove);
+        if (column == Turn.PASS) {
+            plannedCardCount = 0;
+            return -1;
+        }
+        plannedCardCount = game.getCurrentRound().getGameBoard()[column].size();
+        return column;
+    }
+
+    @Override
+    public CardChoice chooseCard(Game game, Player player, Card card) {
+        if (nextCard >= plannedCardCount) {
+            return CardChoice.PERSONAL_WORK;
+        }
+        return Turn.choice(plannedMove, nextCard++);
+    }
+
+    /**
+     * Refuses the diploma if a diploma of the same group with more credits is also
+     * available. Otherwise, both decisions are compared with random playouts
+     * during a quarter of the budget.
+     */
+    @Override
+    public boolean acceptDiploma(Game game, Player player, Diploma diploma) {
+        DiplomaIndex diplomaIndex = game.getDiplomaIndex();
+        int sameGroup = player.findAvailableDiplomaMask() & diploma.getGroupMask() & ~diploma.getMask();
+        for (int mask = sameGroup; mask != 0; mask &= mask - 1) {
+            if (diplomaIndex.getDiploma(Integer.numberOfTrailingZeros(mask)).getCredit() > diploma.getCredit()) {
+                return false;
+            }
+        }
+
+        int seat = game.getPlayers().indexOf(player);
+        long deadline = System.nanoTime() + budgetNanos / 4;
+        double accepted = 0;
+        double refused = 0;
+        int playouts = 0;
+        do {
+            long seed = random.nextLong();
+            accepted += playoutAfterDiploma(game, player, diploma, true, seed)[seat];
+            refused += playoutAfterDiploma(game, player, diploma, false, seed)[seat];
+            playouts++;
+        } while (System.nanoTime() < deadline);
+
+        return accepted >= refused || playouts == 0;
+    }
+
+    /**
+     * Finishes the current turn after a diploma decision and plays the rest of
+     * the game randomly on a fork.
+     */
+    private static double[] playoutAfterDiploma(Game game, Player player, Diploma diploma, boolean accept,
+            long seed) {
+        Game fork = game.fork(seed);
+        fork.getCardDeck().shuffle(fork.getRandom());
+        Player forkPlayer = fork.getPlayers().get(game.getPlayers().indexOf(player));
+        Diploma forkDiploma = fork.getDiplomaIndex().getDiploma(diploma.getId());
+        if (accept) {
+            forkPlayer.acceptDiploma(forkDiploma);
+        } else {
+            forkPlayer.refuseDiploma(forkDiploma);
+        }
+        claimBestDiplomas(fork, forkPlayer);
+        fork.nextTurn();
+        return playout(fork, new SplittableRandom(seed), new int[MoveGenerator.MAX_TURNS]);
+    }
+
+    /**
+     * Searches the trees in parallel and returns the turn visited the most.
+     */
+    private int search(Game game) {
+        long deadline = System.nanoTime() + budgetNanos;
+        List<ForkJoinTask<Node>> workers = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            SplittableRandom workerRandom = random.split();
+            Callable<Node> worker = () -> searchTree(game, table, workerRandom, deadline);
+            workers.add(ForkJoinTask.adapt(worker));
+        }
+        ForkJoinTask.invokeAll(workers);
+
+        // Visit counts of the turns of the root, added up over all the trees
+        int[] moves = new int[MoveGenerator.MAX_TURNS];
+        int[] visits = new int[MoveGenerator.MAX_TURNS];
+        int moveCount = 0;
+        for (ForkJoinTask<Node> worker : workers) {
+            Node root = worker.join();
+            for (int i = 0; i < root.size; i++) {
+                int j = 0;
+                while (j < moveCount && moves[j] != root.moves[i]) {
+                    j++;
+                }
+                if (j == moveCount) {
+                    moves[moveCount++] = root.moves[i];
+                }
+                visits[j] += root.children[i].visits;
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < moveCount; i++) {
+            if (visits[i] > visits[best]) {
+                best = i;
+            }
+        }
+        if (moveCount == 0) {
+            // Not even one iteration in the budget
+            int[] legal = new int[MoveGenerator.MAX_TURNS];
+            MoveGenerator.generate(game, legal);
+            return legal[0];
+        }
+        return moves[best];
+    }
+
+    /**
+     * Searches a single tree until the deadline. The game is only read, every
+     * iteration works on its own fork.
+     */
+    private static Node searchTree(Game game, TranspositionTable table, SplittableRandom random, long deadline) {
+        Node root = new Node();
+        int[] legal = new int[MoveGenerator.MAX_TURNS];
+        // Statistics of the legal turns during the selection
+        double[] childVisits = new double[MoveGenerator.MAX_TURNS];
+        double[] childScores = new double[MoveGenerator.MAX_TURNS];
+        Node[] path = new Node[64];
+        int[] seats = new int[64];
+        long[] edges = new long[64];
+
+        do {
+            Game fork = game.fork(random.nextLong());
+            fork.getCardDeck().shuffle(fork.getRandom());
+
+            // Selection and expansion
+            Node node = root;
+            int depth = 0;
+            while (!fork.checkGameIsOver() && depth < path.length) {
+                int legalCount = MoveGenerator.generate(fork, legal);
+                int seat = fork.getPlayers().indexOf(fork.getCurrentRound().getCurrentPlayer());
+                int unexpanded = node.countUnexpanded(legal, legalCount);
+                long positionHash = fork.getPublicHash();
+
+                Node child;
+                int move;
+                if (unexpanded > 0) {
+                    move = node.pickUnexpanded(legal, legalCount, random.nextInt(unexpanded));
+                    child = node.expand(move);
+                } else {
+                    int index = node.select(legal, legalCount, table, positionHash, childVisits, childScores);
+                    move = node.moves[index];
+                    child = node.children[index];
+                }
+
+                playTurn(fork, move);
+                path[depth] = child;
+                seats[depth] = seat;
+                edges[depth] = edgeKey(positionHash, move);
+                depth++;
+                node = child;
+                if (unexpanded > 0) {
+                    break;
+                }
+            }
+
+            // Simulation and backpropagation
+            double[] scores = playout(fork, random, legal);
+            root.visits++;
+            for (int i = 0; i < depth; i++) {
+                path[i].visits++;
+                path[i].score += scores[seats[i]];
+                addToTable(table, edges[i], scores[seats[i]]);
+            }
+        } while (System.nanoTime() < deadline);
+
+        return root;
+    }
+
+    /**
+     * Key of a turn played from a position in the transposition table.
+     */
+    private static long edgeKey(long positionHash, int move) {
+        long key = positionHash ^ (move + 1) * 0x9E3779B97F4A7C15L;
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+
+    /**
+     * Adds a visit to the statistics of a turn in the transposition table. The
+     * visits are stored in the upper half of the value and the score, in fixed
+     * point, in the lower half. Concurrent updates of the same turn may lose a
+     * visit, which only makes the statistics a bit less precise.
+     */
+    private static void addToTable(TranspositionTable table, long key, double score) {
+        long data = table.probe(key);
+        if (data == TranspositionTable.NOT_FOUND) {
+            data = 0;
+        }
+        table.store(key, data + (1L << 32) + Math.round(score * SCORE_SCALE));
+    }
+
+    /**
+     * Plays random legal turns until the end of the game. Also used by the
+     * {@code WinProbabilityEstimator}.
+     *
+     * @return the score of each player
+     */
+    static double[] playout(Game game, SplittableRandom random, int[] legal) {
+        while (!game.checkGameIsOver()) {
+            int legalCount = MoveGenerator.generate(game, legal);
+            playTurn(game, legal[random.nextInt(legalCount)]);
+        }
+
+        ArrayList<Player> players = game.getPlayers();
+        double[] scores = new double[players.size()];
+        int best = Integer.MIN_VALUE;
+        int winners = 0;
+        for (Player player : players) {
+            int credits = player.getInventory().getCredits();
+            if (credits > best) {
+                best = credits;
+                winners = 1;
+            } else if (credits == best) {
+                winners++;
+            }
+        }
+        for (int i = 0; i < scores.length; i++) {
+            if (players.get(i).getInventory().getCredits() == best) {
+                scores[i] = 1.0 / winners;
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Plays a turn for the current player : takes the column, adds its cards,
+     * accepts the best available diplomas and ends the turn.
+     *
+     * @param game the {@code Game} being played
+     * @param move the turn to play, given by {@code MoveGenerator}
+     * @throws IllegalStateException if the turn is not legal
+     */
+    private static void playTurn(Game game, int move) {
+        Player player = game.getCurrentRound().getCurrentPlayer();
+        if (!game.playTurn(move)) {
+            // The turns all come from MoveGenerator, an illegal one is a bug
+            throw new IllegalStateException("Illegal turn " + Integer.toHexString(move) + " in the search.");
+        }
+        claimBestDiplomas(game, player);
+        game.nextTurn();
+    }
+
+    /**
+     * Accepts the available diplomas with the most credits, one per group.
+     */
+    private static void claimBestDiplomas(Game game, Player player) {
+        DiplomaIndex diplomaIndex = game.getDiplomaIndex();
+        int available;
+        while ((available = player.findAvailableDiplomaMask()) != 0) {
+            Diploma best = null;
+            for (int mask = available; mask != 0; mask &= mask - 1) {
+                Diploma diploma = diplomaIndex.getDiploma(Integer.numberOfTrailingZeros(mask));
+                if (best == null || diploma.getCredit() > best.getCredit()) {
+                    best = diploma;
+                }
+            }
+            player.acceptDiploma(best);
+        }
+    }
+
+    /**
+     * Node of a search tree, reached by a sequence of turns from the root. The
+     * score is counted for the player who played the last turn.
+     */
+    private static final class Node {
+
+        private int[] moves = new int[4];
+
+        private Node[] children = new Node[4];
+
+        private int size;
+
+        private int visits;
+
+        private double score;
+
+        /**
+         * Counts the legal turns without a child yet. Since the deck is shuffled
+         * for each iteration, the legal turns differ from one iteration to another.
+         */
+        int countUnexpanded(int[] legal, int legalCount) {
+            int count = 0;
+            for (int i = 0; i < legalCount; i++) {
+                if (indexOf(legal[i]) < 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        int pickUnexpanded(int[] legal, int legalCount, int rank) {
+            for (int i = 0; i < legalCount; i++) {
+                if (indexOf(legal[i]) < 0 && rank-- == 0) {
+                    return legal[i];
+                }
+            }
+            throw new IllegalStateException("No turn left to expand.");
+        }
+
+        Node expand(int move) {
+            if (size == moves.length) {
+                moves = Arrays.copyOf(moves, size * 2);
+                children = Arrays.copyOf(children, size * 2);
+            }
+            Node child = new Node();
+            moves[size] = move;
+            children[size] = child;
+            size++;
+            return child;
+        }
+
+        /**
+         * Selects the legal child with the best UCB1 value. The statistics of a
+         * turn are taken from the transposition table when they gathered more
+         * visits than the child.
+         *
+         * @param childVisits buffer of the visits of the legal turns, reused by
+         *                    every selection of the tree
+         * @param childScores buffer of the scores of the legal turns
+         */
+        int select(int[] legal, int legalCount, TranspositionTable table, long positionHash, double[] childVisits,
+                double[] childScores) {
+            double totalVisits = 0;
+            for (int i = 0; i < legalCount; i++) {
+                Node child = children[indexOf(legal[i])];
+                childVisits[i] = child.visits;
+                childScores[i] = child.score;
+                long data = table.probe(edgeKey(positionHash, legal[i]));
+                if (data != TranspositionTable.NOT_FOUND && (data >>> 32) > child.visits) {
+                    childVisits[i] = data >>> 32;
+                    childScores[i] = (data & 0xFFFFFFFFL) / SCORE_SCALE;
+                }
+                totalVisits += childVisits[i];
+            }
+
+            double logVisits = Math.log(Math.max(Math.max(visits, totalVisits), 1));
+            int best = -1;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < legalCount; i++) {
+                double value = childScores[i] / childVisits[i]
+                        + EXPLORATION * Math.sqrt(logVisits / childVisits[i]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = i;
+                }
+            }
+            return indexOf(legal[best]);
+        }
+
+        private int indexOf(int move) {
+            for (int i = 0; i < size; i++) {
+                if (moves[i] == move) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package kanagawa.ai;
+
+/**
+ * {@code StrategyProvider} of the {@code MctsStrategy}, searching a single
+ * tree per decision since the games are usually played in parallel. The budget
+ * of a decision is read from the system property {@code kanagawa.mcts.budget},
+ * in milliseconds.
+ */
+public class MctsStrategyProvider implements StrategyProvider {
+
+    /**
+     * Budget of a decision when the system property is not set, in milliseconds.
+     */
+    public static final long DEFAULT_BUDGET = 20;
+
+    @Override
+    public String getName() {
+        return "mcts";
+    }
+
+    @Override
+    public Strategy create(long seed) {
+        return new MctsStrategy(Long.getLong("kanagawa.mcts.budget", DEFAULT_BUDGET), 1, seed);
+    }
+}
@@ -0,0 +1,64 @@
+package kanagawa.ai;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import kanagawa.models.Card;
+import kanagawa.models.Diploma;
+import kanagawa.models.Game;
+import kanagawa.models.Player;
+import kanagawa.models.Round;
+import kanagawa.models.enums.CardChoice;
+
+/**
+ * {@code Strategy} playing random legal decisions. Used as a baseline opponent
+ * and to fill empty seats in simulations.
+ */
+public class RandomStrategy implements Strategy {
+
+    private final SplittableRandom random;
+
+    /**
+     * Constructor of the {@code RandomStrategy} class.
+     *
+     * @param seed seed of the random decisions
+     */
+    public RandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int chooseColumn(Game game, Player player) {
+        Round round = game.getCurrentRound();
+        if (round.canPass() && random.nextBoolean()) {
+            return -1;
+        }
+
+        ArrayList<Card>[] gameBoard = round.getGameBoard();
+        int chosen = -1;
+        int available = 0;
+        for (int i = 0; i < gameBoard.length; i++) {
+            // Reservoir sampling over the columns still on the board
+            if (gameBoard[i] != null && random.nextInt(++available) == 0) {
+                chosen = i;
+            }
+        }
+        return chosen;
+    }
+
+    @Override
+    public CardChoice chooseCard(Game game, Player player, Card card) {
+        if (player.hasSkillAvailable(card.getUv().getSkill()) && random.nextBoolean()) {
+            return CardChoice.UV;
+        }
+        if (player.checkPenCount() && random.nextBoolean()) {
+            return CardChoice.PERSONAL_WORK_WITH_PEN;
+        }
+        return CardChoice.PERSONAL_WORK;
+    }
+
+    @Override
+    public boolean acceptDiploma(Game game, Player player, Diploma diploma) {
+        return random.nextInt(4) != 0;
+    }
+}
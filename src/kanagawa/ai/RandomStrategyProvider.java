@@ -0,0 +1,17 @@
+package kanagawa.ai;
+
+/**
+ * {@code StrategyProvider} of the {@code RandomStrategy}.
+ */
+public class RandomStrategyProvider implements StrategyProvider {
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    @Override
+    public Strategy create(long seed) {
+        return new RandomStrategy(seed);
+    }
+}
@@ -0,0 +1,50 @@
+package kanagawa.ai;
+
+import kanagawa.models.Card;
+import kanagawa.models.Diploma;
+import kanagawa.models.Game;
+import kanagawa.models.Player;
+import kanagawa.models.enums.CardChoice;
+
+/**
+ * Interface implemented by the computer players. A {@code Strategy} takes the
+ * same decisions as a human player in the main game window : which column to
+ * take, what to keep from each card and which diplomas to accept.
+ * An instance is used by a single player of a single game.
+ */
+public interface Strategy {
+
+    /**
+     * Chooses the column of the board to take.
+     *
+     * @param game   the {@code Game} being played
+     * @param player the {@code Player} whose turn it is
+     * @return the index of the column to take, or {@code -1} to end the turn
+     *         without taking a column
+     */
+    int chooseColumn(Game game, Player player);
+
+    /**
+     * Chooses what to keep from a card of the column chosen. The choices of all
+     * the cards of the column are asked in the order of the column before the
+     * column is taken, then played together, so the cards can rely on each other
+     * : a UV can use a pen placed by another card of the column.
+     *
+     * @param game   the {@code Game} being played
+     * @param player the {@code Player} whose turn it is
+     * @param card   the {@code Card} to add to the inventory
+     * @return a {@code CardChoice}
+     */
+    CardChoice chooseCard(Game game, Player player, Card card);
+
+    /**
+     * Chooses to accept or to refuse an available diploma. A refused diploma will
+     * never be proposed again to the player.
+     *
+     * @param game    the {@code Game} being played
+     * @param player  the {@code Player} whose turn it is
+     * @param diploma the available {@code Diploma}
+     * @return {@code true} to accept the diploma
+     */
+    boolean acceptDiploma(Game game, Player player, Diploma diploma);
+}
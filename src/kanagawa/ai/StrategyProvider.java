@@ -0,0 +1,25 @@
+package kanagawa.ai;
+
+/**
+ * Service creating the {@code Strategy} of a computer player. The providers
+ * are discovered with {@code java.util.ServiceLoader}, see
+ * {@link StrategyProviders}, so that a bot can be added by putting a jar on
+ * the class path : the jar lists its provider classes in
+ * {@code META-INF/services/kanagawa.ai.StrategyProvider}, and each provider
+ * must have a public constructor without arguments.
+ */
+public interface StrategyProvider {
+
+    /**
+     * Name of the strategies of this provider, unique among the providers.
+     */
+    String getName();
+
+    /**
+     * Creates a new {@code Strategy}, used by a single player of a single game.
+     *
+     * @param seed seed of the random decisions of the strategy
+     * @return a {@code Strategy}
+     */
+    Strategy create(long seed);
+}
@@ -0,0 +1,45 @@
+package kanagawa.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Class finding the {@code StrategyProvider}s available on the class path.
+ */
+public class StrategyProviders {
+
+    private StrategyProviders() {
+    }
+
+    /**
+     * Loads every {@code StrategyProvider} declared on the class path.
+     *
+     * @return the providers, in the order they were found
+     */
+    public static List<StrategyProvider> loadAll() {
+        List<StrategyProvider> providers = new ArrayList<>();
+        for (StrategyProvider provider : ServiceLoader.load(StrategyProvider.class)) {
+            providers.add(provider);
+        }
+        return providers;
+    }
+
+    /**
+     * Finds the {@code StrategyProvider} with the given name.
+     *
+     * @param name name of the provider, see {@link StrategyProvider#getName()}
+     * @return the provider
+     * @throws IllegalArgumentException if no provider has this name
+     */
+    public static StrategyProvider find(String name) {
+        List<String> names = new ArrayList<>();
+        for (StrategyProvider provider : loadAll()) {
+            if (provider.getName().equals(name)) {
+                return provider;
+            }
+            names.add(provider.getName());
+        }
+        throw new IllegalArgumentException("Unknown strategy " + name + ", available strategies : " + names);
+    }
+}
@@ -0,0 +1,79 @@
+package kanagawa.ai;
+
+/**
+ * Fixed-size hash table from 64-bit Zobrist hashes to 64-bit values, shared
+ * without locks by the threads of a search.
+ *
+ * Each slot holds the value and the hash xor the value. A slot read while
+ * another thread writes it, or overwritten by another position, does not match
+ * the hash anymore and is reported as missing, so a probe never returns the
+ * value of another position. Concurrent stores of the same slot keep one of
+ * the values : the table is a cache, losing an update is harmless.
+ */
+public class TranspositionTable {
+
+    /**
+     * Value returned by {@code probe()} when the hash is not in the table. It
+     * cannot be stored.
+     */
+    public static final long NOT_FOUND = Long.MIN_VALUE;
+
+    /**
+     * Two longs per slot : the hash xor the value, then the value.
+     */
+    private final long[] slots;
+
+    private final int indexMask;
+
+    /**
+     * Constructor of the {@code TranspositionTable} class.
+     *
+     * @param capacity number of positions, rounded up to a power of 2
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity + ".");
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        size = Math.max(size, 1);
+        this.slots = new long[2 * size];
+        this.indexMask = size - 1;
+    }
+
+    /**
+     * Returns the value stored for a hash.
+     *
+     * @param hash the Zobrist hash of the position
+     * @return the value, or {@code NOT_FOUND}
+     */
+    public long probe(long hash) {
+        int slot = 2 * index(hash);
+        long check = slots[slot];
+        long value = slots[slot + 1];
+        return (check ^ value) == hash && check != 0 ? value : NOT_FOUND;
+    }
+
+    /**
+     * Stores the value of a hash, replacing the position that was in its slot.
+     *
+     * @param hash  the Zobrist hash of the position
+     * @param value the value, anything but {@code NOT_FOUND}
+     */
+    public void store(long hash, long value) {
+        int slot = 2 * index(hash);
+        slots[slot] = hash ^ value;
+        slots[slot + 1] = value;
+    }
+
+    /**
+     * Number of positions the table can hold.
+     */
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    private int index(long hash) {
+        // The upper bits are better mixed than the lower ones by the keys
+        return (int) (hash >>> 32) & indexMask;
+    }
+}
@@ -0,0 +1,85 @@
+package kanagawa.ai;
+
+/**
+ * Immutable estimate of the probability of winning of each player of a game,
+ * computed by the {@code WinProbabilityEstimator} from random playouts. A
+ * playout won by several players counts as a fraction of a win for each of
+ * them, so the probabilities of the players add up to 1.
+ */
+public final class WinProbabilities {
+
+    /**
+     * Sum of the scores of each player over the playouts.
+     */
+    private final double[] wins;
+
+    private final int playoutCount;
+
+    /**
+     * Constructor of the {@code WinProbabilities} class.
+     *
+     * @param wins         sum of the scores of each player over the playouts, not
+     *                     copied
+     * @param playoutCount number of playouts
+     */
+    WinProbabilities(double[] wins, int playoutCount) {
+        this.wins = wins;
+        this.playoutCount = playoutCount;
+    }
+
+    public int getPlayerCount() {
+        return wins.length;
+    }
+
+    /**
+     * Number of playouts the estimate is based on.
+     */
+    public int getPlayoutCount() {
+        return playoutCount;
+    }
+
+    /**
+     * Estimated probability that a player wins the game, {@code 1 / players}
+     * before any playout.
+     *
+     * @param player index of the player in {@code Game.getPlayers()}
+     */
+    public double getProbability(int player) {
+        return playoutCount == 0 ? 1.0 / wins.length : wins[player] / playoutCount;
+    }
+
+    /**
+     * Standard error of {@code getProbability(player)}, which shrinks with the
+     * square root of the number of playouts.
+     *
+     * @param player index of the player in {@code Game.getPlayers()}
+     */
+    public double getStandardError(int player) {
+        double p = getProbability(player);
+        return playoutCount == 0 ? 0.5 : Math.sqrt(p * (1 - p) / playoutCount);
+    }
+
+    /**
+     * Largest change of the probability of a player from another estimate of the
+     * same game.
+     *
+     * @param other the previous estimate
+     * @return a probability difference between 0 and 1
+     */
+    public double maxDifference(WinProbabilities other) {
+        double max = 0;
+        for (int i = 0; i < wins.length; i++) {
+            max = Math.max(max, Math.abs(getProbability(i) - other.getProbability(i)));
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("WinProbabilities{");
+        for (int i = 0; i < wins.length; i++) {
+            builder.append(i == 0 ? "" : ", ").append(String.format("%.3f", getProbability(i)));
+        }
+        return builder.append(", playouts=").append(playoutCount).append('}').toString();
+    }
+}
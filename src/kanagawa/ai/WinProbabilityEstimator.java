@@ -0,0 +1,159 @@
+package kanagawa.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import kanagawa.models.Game;
+import kanagawa.models.MoveGenerator;
+import kanagawa.models.Round;
+
+/**
+ * Estimates the probability of winning of each player of a game with random
+ * playouts from the current position, like the playouts of the
+ * {@code MctsStrategy}. The only hidden information of the game is the order
+ * of the deck, so each playout is played on a fork of the game whose remaining
+ * deck has been shuffled again.
+ *
+ * The playouts are played by batches on a {@code ForkJoinPool}, one batch per
+ * worker at a time, and the estimate is refined after each round of batches :
+ * a caller can display a first estimate after a few milliseconds and stop as
+ * soon as it is precise enough. Each batch has its own seed, derived from the
+ * seed of the estimate, so the result only depends on the seed and on the
+ * number of playouts, not on the number of workers.
+ */
+public class WinProbabilityEstimator {
+
+    /**
+     * Number of playouts of a batch, played by a single task.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 32;
+
+    private final ForkJoinPool pool;
+
+    private final int batchSize;
+
+    /**
+     * Constructor of the {@code WinProbabilityEstimator} class.
+     *
+     * @param pool      the {@code ForkJoinPool} playing the playouts
+     * @param batchSize number of playouts played by a single task
+     */
+    public WinProbabilityEstimator(ForkJoinPool pool, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        this.pool = pool;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Constructor of the {@code WinProbabilityEstimator} class, with batches of
+     * {@code DEFAULT_BATCH_SIZE} playouts.
+     *
+     * @param pool the {@code ForkJoinPool} playing the playouts
+     */
+    public WinProbabilityEstimator(ForkJoinPool pool) {
+        this(pool, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Estimates the probabilities of winning of the players of a game.
+     *
+     * @param game         the {@code Game}, which is not modified
+     * @param playoutCount number of playouts, rounded up to a whole number of
+     *                     batches
+     * @param seed         seed of the playouts
+     * @return the {@code WinProbabilities}
+     */
+    public WinProbabilities estimate(Game game, int playoutCount, long seed) {
+        return estimate(game, playoutCount, seed, null);
+    }
+
+    /**
+     * Estimates the probabilities of winning of the players of a game,
+     * publishing the estimate after each round of batches. If the calling thread
+     * is interrupted, the batches not started yet are cancelled and the estimate
+     * of the playouts finished is returned, with the interrupt status set.
+     *
+     * If the current player has already taken a column, the playouts first end
+     * the turn. The game must not be modified during the estimate.
+     *
+     * @param game         the {@code Game}, which is not modified
+     * @param playoutCount number of playouts, rounded up to a whole number of
+     *                     batches
+     * @param seed         seed of the playouts
+     * @param progress     called by the calling thread with each refined
+     *                     estimate, or {@code null}
+     * @return the {@code WinProbabilities}
+     */
+    public WinProbabilities estimate(Game game, int playoutCount, long seed, Consumer<WinProbabilities> progress) {
+        // Forked by the calling thread, the workers only read it
+        Game root = game.fork(seed);
+        double[] wins = new double[root.getPlayers().size()];
+        int batchCount = (playoutCount + batchSize - 1) / batchSize;
+        int played = 0;
+
+        for (int batch = 0; batch < batchCount && !Thread.currentThread().isInterrupted();) {
+            int roundSize = Math.min(pool.getParallelism(), batchCount - batch);
+            List<Future<double[]>> batches = new ArrayList<>(roundSize);
+            for (int i = 0; i < roundSize; i++, batch++) {
+                long batchSeed = seed + (batch + 1) * 0x9E3779B97F4A7C15L;
+                batches.add(pool.submit(() -> playBatch(root, batchSeed)));
+            }
+
+            try {
+                for (Future<double[]> future : batches) {
+                    double[] batchWins = future.get();
+                    for (int i = 0; i < wins.length; i++) {
+                        wins[i] += batchWins[i];
+                    }
+                    played += batchSize;
+                }
+            } catch (InterruptedException e) {
+                for (Future<double[]> future : batches) {
+                    future.cancel(false);
+                }
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+
+            if (progress != null) {
+                progress.accept(new WinProbabilities(wins.clone(), played));
+            }
+        }
+        return new WinProbabilities(wins, played);
+    }
+
+    /**
+     * Plays a batch of playouts from a position.
+     *
+     * @return the sum of the scores of each player
+     */
+    private double[] playBatch(Game root, long batchSeed) {
+        SplittableRandom random = new SplittableRandom(batchSeed);
+        int[] legal = new int[MoveGenerator.MAX_TURNS];
+        double[] wins = new double[root.getPlayers().size()];
+
+        for (int i = 0; i < batchSize; i++) {
+            Game fork = root.fork(random.nextLong());
+            fork.getCardDeck().shuffle(fork.getRandom());
+            Round round = fork.getCurrentRound();
+            if (!fork.checkGameIsOver() && !round.getPlayers().contains(round.getCurrentPlayer())) {
+                fork.nextTurn();
+            }
+
+            double[] scores = MctsStrategy.playout(fork, random, legal);
+            for (int j = 0; j < wins.length; j++) {
+                wins[j] += scores[j];
+            }
+        }
+        return wins;
+    }
+}
@@ -0,0 +1,112 @@
+package kanagawa.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Minimal micro-benchmark harness. Each benchmark is run for a number of warmup
+ * iterations, then for a number of measured iterations. An iteration calls
+ * {@code Benchmark.setup()} outside of the measure, then calls
+ * {@code Benchmark.run()} {@code batchSize} times. The average time and the
+ * average number of bytes allocated by the calling thread are reported per
+ * call of {@code run()}.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Code to measure. The value returned by {@code run()} is consumed by the
+     * runner so that the JIT compiler cannot remove the measured code.
+     */
+    public interface Benchmark {
+
+        /**
+         * Prepares the state used by the next iteration. Not measured.
+         */
+        default void setup() {
+        }
+
+        long run();
+    }
+
+    private final int warmupIterations;
+
+    private final int measuredIterations;
+
+    private final ThreadMXBean threadBean;
+
+    /**
+     * Accumulates the results of the benchmarks so that they are not dead code.
+     */
+    private long sink;
+
+    /**
+     * Constructor of the {@code BenchmarkRunner} class.
+     *
+     * @param warmupIterations   number of iterations run before measuring
+     * @param measuredIterations number of measured iterations
+     */
+    public BenchmarkRunner(int warmupIterations, int measuredIterations) {
+        this.warmupIterations = warmupIterations;
+        this.measuredIterations = measuredIterations;
+        this.threadBean = ManagementFactory.getThreadMXBean();
+    }
+
+    /**
+     * Runs a benchmark and prints its average time and allocation per operation.
+     *
+     * @param name      name of the benchmark, with its parameters
+     * @param batchSize number of calls of {@code run()} per iteration
+     * @param benchmark the {@code Benchmark} to run
+     */
+    public void run(String name, int batchSize, Benchmark benchmark) {
+        for (int i = 0; i < warmupIterations; i++) {
+            benchmark.setup();
+            iteration(batchSize, benchmark);
+        }
+
+        long totalTime = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < measuredIterations; i++) {
+            benchmark.setup();
+            long bytesBefore = allocatedBytes();
+            totalTime += iteration(batchSize, benchmark);
+            totalBytes += allocatedBytes() - bytesBefore;
+        }
+
+        long operations = (long) batchSize * measuredIterations;
+        System.out.printf("%-50s %14.1f ns/op %12.1f B/op%n", name, (double) totalTime / operations,
+                (double) totalBytes / operations);
+    }
+
+    /**
+     * Calls {@code run()} {@code batchSize} times.
+     *
+     * @return the time spent in {@code run()}, in nanoseconds
+     */
+    private long iteration(int batchSize, Benchmark benchmark) {
+        long start = System.nanoTime();
+        for (int i = 0; i < batchSize; i++) {
+            sink += benchmark.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Number of bytes allocated so far by the current thread, or {@code 0} if the
+     * JVM cannot measure it.
+     */
+    private long allocatedBytes() {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * Value accumulated from the results of the benchmarks.
+     */
+    public long getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,324 @@
+package kanagawa.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import kanagawa.ai.RandomStrategy;
+import kanagawa.ai.Strategy;
+import kanagawa.models.Card;
+import kanagawa.models.CardCatalog;
+import kanagawa.models.CatalogFile;
+import kanagawa.models.Game;
+import kanagawa.models.Inventory;
+import kanagawa.models.MoveGenerator;
+import kanagawa.models.PackedState;
+import kanagawa.models.Player;
+import kanagawa.models.enums.Skill;
+import kanagawa.simulation.GameDriver;
+
+/**
+ * Benchmarks of the hot paths of the model, used as a baseline for the
+ * optimisations of the engine. The inventory benchmarks are run for each
+ * inventory size and each number of players, the game benchmarks for each
+ * number of players. Must be run from the directory containing
+ * {@code cards.json} and {@code diplomas.json}.
+ *
+ * Usage : {@code ModelBenchmarks [name filter]}
+ */
+public class ModelBenchmarks {
+
+    /**
+     * Number of cards in the inventories used by the inventory benchmarks.
+     */
+    private static final int[] INVENTORY_SIZES = { 4, 16, 48 };
+
+    private static final int[] PLAYER_COUNTS = { 2, 3, 4 };
+
+    private static final Skill[] SKILLS = Skill.values();
+
+    private static final String CARDS_PATH = "./cards.json";
+
+    private static final String DIPLOMAS_PATH = "./diplomas.json";
+
+    private static final String CATALOG_PATH = "./catalog.bin";
+
+    private final BenchmarkRunner runner = new BenchmarkRunner(10, 20);
+
+    private final String filter;
+
+    private final CardCatalog catalog = CardCatalog.getInstance();
+
+    public ModelBenchmarks(String filter) {
+        this.filter = filter;
+    }
+
+    public static void main(String[] args) {
+        ModelBenchmarks benchmarks = new ModelBenchmarks(args.length > 0 ? args[0] : "");
+
+        for (int size : INVENTORY_SIZES) {
+            benchmarks.getSkillCount(size);
+            for (int playerCount : PLAYER_COUNTS) {
+                benchmarks.findAvailableDiplomas(size, playerCount);
+                benchmarks.hasSkillAvailable(size, playerCount);
+            }
+        }
+        for (int playerCount : PLAYER_COUNTS) {
+            benchmarks.distributeCards(playerCount);
+            benchmarks.simulatedRound(playerCount);
+            benchmarks.playTurn(playerCount);
+            benchmarks.generateTurns(playerCount);
+            benchmarks.fork(playerCount);
+            benchmarks.packState(playerCount);
+        }
+        benchmarks.loadCatalog();
+
+        System.out.println("(sink " + benchmarks.runner.getSink() + ")");
+    }
+
+    private void run(String name, int batchSize, BenchmarkRunner.Benchmark benchmark) {
+        if (name.contains(filter)) {
+            runner.run(name, batchSize, benchmark);
+        }
+    }
+
+    private void findAvailableDiplomas(int size, int playerCount) {
+        Player player = createPlayers(new Game(), playerCount, size)[0];
+        String parameters = " inventory=" + size + " players=" + playerCount;
+
+        run("Player.findAvailableDiplomas" + parameters, 100_000, () -> {
+            ArrayList<?> diplomas = player.findAvailableDiplomas();
+            return diplomas == null ? 0 : diplomas.size();
+        });
+        run("Player.findAvailableDiplomaMask" + parameters, 100_000, player::findAvailableDiplomaMask);
+    }
+
+    private void getSkillCount(int size) {
+        Inventory inventory = createInventory(size);
+
+        run("Inventory.getSkillCount inventory=" + size, 100_000, () -> {
+            long total = 0;
+            for (Skill skill : SKILLS) {
+                total += inventory.getSkillCount(skill);
+            }
+            return total;
+        });
+    }
+
+    private void hasSkillAvailable(int size, int playerCount) {
+        Player player = createPlayers(new Game(), playerCount, size)[0];
+
+        run("Player.hasSkillAvailable inventory=" + size + " players=" + playerCount, 100_000, () -> {
+            long total = 0;
+            for (Skill skill : SKILLS) {
+                if (player.hasSkillAvailable(skill)) {
+                    total++;
+                }
+            }
+            return total;
+        });
+    }
+
+    private void distributeCards(int playerCount) {
+        Game game = new Game();
+        createPlayers(game, playerCount);
+        game.chooseRandomFirstPlayer();
+        game.start();
+
+        run("Game.distributeCards players=" + playerCount, 100_000, () -> {
+            // The columns are emptied so that the board does not grow between deals
+            for (ArrayList<Card> column : game.getCurrentRound().getGameBoard()) {
+                if (column != null) {
+                    column.clear();
+                }
+            }
+            game.distributeCards();
+            return game.getCurrentRound().getRemainingColumns();
+        });
+    }
+
+    private void simulatedRound(int playerCount) {
+        Game[] game = new Game[1];
+        Strategy[] strategies = new Strategy[playerCount];
+
+        run("Simulated round players=" + playerCount, 10, new BenchmarkRunner.Benchmark() {
+            @Override
+            public void setup() {
+                // A game lasts about 15 rounds, a new one is started for each iteration
+                game[0] = new Game();
+                createPlayers(game[0], playerCount);
+                for (int i = 0; i < playerCount; i++) {
+                    strategies[i] = new RandomStrategy(i);
+                }
+                game[0].chooseRandomFirstPlayer();
+                game[0].start();
+            }
+
+            @Override
+            public long run() {
+                int roundCount = game[0].getRoundCount();
+                while (game[0].getRoundCount() == roundCount) {
+                    GameDriver.playTurn(game[0], strategies);
+                }
+                return roundCount;
+            }
+        });
+    }
+
+    /**
+     * Generates and plays legal turns with the packed turn API, which should not
+     * allocate once the inventories are sized. The diplomas are not claimed.
+     */
+    private void playTurn(int playerCount) {
+        Game[] game = new Game[1];
+        int[] turns = new int[MoveGenerator.MAX_TURNS];
+        SplittableRandom random = new SplittableRandom(0);
+
+        run("Game.playTurn players=" + playerCount, 20, new BenchmarkRunner.Benchmark() {
+            @Override
+            public void setup() {
+                game[0] = new Game(random.nextLong());
+                game[0].setEventLog(null);
+                createPlayers(game[0], playerCount);
+                game[0].chooseRandomFirstPlayer();
+                game[0].start();
+                for (int i = 0; i < 5; i++) {
+                    run();
+                }
+            }
+
+            @Override
+            public long run() {
+                if (game[0].checkGameIsOver()) {
+                    return 0;
+                }
+                int turnCount = MoveGenerator.generate(game[0], turns);
+                game[0].playTurn(turns[random.nextInt(turnCount)]);
+                game[0].nextTurn();
+                return turnCount;
+            }
+        });
+    }
+
+    private void generateTurns(int playerCount) {
+        Game game = createMiddleGame(playerCount);
+        int[] turns = new int[MoveGenerator.MAX_TURNS];
+
+        run("MoveGenerator.generate players=" + playerCount, 100_000, () -> {
+            return MoveGenerator.generate(game, turns);
+        });
+        run("MoveGenerator.isLegal players=" + playerCount, 100_000, () -> {
+            return MoveGenerator.isLegal(game, turns[0]) ? 1 : 0;
+        });
+    }
+
+    private void fork(int playerCount) {
+        Game game = createMiddleGame(playerCount);
+
+        run("Game.fork players=" + playerCount, 100_000, () -> {
+            return game.fork(0).getRoundCount();
+        });
+    }
+
+    private void packState(int playerCount) {
+        Game game = createMiddleGame(playerCount);
+        long[] state = PackedState.encode(game);
+
+        run("PackedState.encode players=" + playerCount, 100_000, () -> {
+            return PackedState.encode(game)[0];
+        });
+        run("PackedState.decode players=" + playerCount, 10_000, () -> {
+            return PackedState.decode(state, 0).getRoundCount();
+        });
+    }
+
+    /**
+     * Loads new catalogs, the catalog of the process being loaded only once :
+     * from the binary catalog, and from the JSON sources, compiled again into a
+     * temporary binary catalog deleted before each load.
+     */
+    private void loadCatalog() {
+        File cardsFile = new File(CARDS_PATH);
+        File diplomasFile = new File(DIPLOMAS_PATH);
+        File catalogFile = new File(CATALOG_PATH);
+        // Compiles the binary catalog if needed
+        CatalogFile.load(cardsFile, diplomasFile, catalogFile);
+
+        run("CatalogFile.load binary", 20, () -> {
+            return CatalogFile.load(cardsFile, diplomasFile, catalogFile).getCardCount();
+        });
+
+        File temporaryFile = new File(CATALOG_PATH + ".benchmark");
+        run("CatalogFile.load json", 1, new BenchmarkRunner.Benchmark() {
+            @Override
+            public void setup() {
+                temporaryFile.delete();
+            }
+
+            @Override
+            public long run() {
+                return CatalogFile.load(cardsFile, diplomasFile, temporaryFile).getCardCount();
+            }
+        });
+        temporaryFile.delete();
+    }
+
+    /**
+     * Creates a game played randomly until its 8th round.
+     */
+    private static Game createMiddleGame(int playerCount) {
+        Game game = new Game(0);
+        Strategy[] strategies = new Strategy[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            strategies[i] = new RandomStrategy(i);
+        }
+        createPlayers(game, playerCount);
+        game.chooseRandomFirstPlayer();
+        game.start();
+        while (game.getRoundCount() < 8) {
+            GameDriver.playTurn(game, strategies);
+        }
+        return game;
+    }
+
+    /**
+     * Creates and adds {@code playerCount} players to a game.
+     */
+    private static Player[] createPlayers(Game game, int playerCount) {
+        Player[] players = new Player[4];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player("Player " + (i + 1));
+        }
+        game.addPlayers(players[0], players[1], players[2], players[3]);
+        return players;
+    }
+
+    /**
+     * Creates and adds {@code playerCount} players to a game, each one with an
+     * inventory of {@code size} cards.
+     */
+    private Player[] createPlayers(Game game, int playerCount, int size) {
+        Player[] players = createPlayers(game, playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players[i].setInventory(createInventory(size));
+        }
+        return players;
+    }
+
+    /**
+     * Creates an inventory containing {@code size} cards, alternatively kept as
+     * personal works and as UVs, with a pen on one personal work out of four.
+     */
+    private Inventory createInventory(int size) {
+        Inventory inventory = new Inventory();
+        for (int i = 0; i < size; i++) {
+            Card card = catalog.getCard(i % catalog.size());
+            if (i % 2 == 0) {
+                inventory.addPersonalWork(card.getPersonalWork(), i % 8 == 0);
+            } else {
+                inventory.addUv(card.getUv());
+            }
+        }
+        return inventory;
+    }
+}
@@ -0,0 +1,41 @@
+package kanagawa.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Event of the loading of the cards and diplomas by {@code CatalogFile}, once
+ * per process.
+ */
+@Name("kanagawa.CatalogLoad")
+@Label("Catalog Load")
+@Description("Cards and diplomas read from the binary catalog or parsed from JSON")
+@Category({ "Kanagawa", "Game" })
+public class CatalogLoadEvent extends Event {
+
+    @Label("Compiled")
+    @Description("True if the JSON sources were parsed because the binary catalog was missing or out of date")
+    boolean compiled;
+
+    @Label("Cards")
+    int cardCount;
+
+    @Label("Diploma Groups")
+    int diplomaGroupCount;
+
+    /**
+     * Sets the result of the loading.
+     *
+     * @param compiled          {@code true} if the JSON sources were parsed
+     * @param cardCount         number of cards loaded
+     * @param diplomaGroupCount number of diploma groups loaded
+     */
+    public void set(boolean compiled, int cardCount, int diplomaGroupCount) {
+        this.compiled = compiled;
+        this.cardCount = cardCount;
+        this.diplomaGroupCount = diplomaGroupCount;
+    }
+}
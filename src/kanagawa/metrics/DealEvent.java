@@ -0,0 +1,32 @@
+package kanagawa.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Event of {@code Game.distributeCards()}.
+ */
+@Name("kanagawa.Deal")
+@Label("Deal")
+@Description("Cards dealt on the board")
+@Threshold("1 ms")
+@StackTrace(false)
+public class DealEvent extends GameEvent {
+
+    /**
+     * Creates and begins an event if it is enabled.
+     *
+     * @return the event, or {@code null}
+     */
+    public static DealEvent start() {
+        if (!EventTypes.isRecorded(DealEvent.class)) {
+            return null;
+        }
+        DealEvent event = new DealEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,32 @@
+package kanagawa.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Event of {@code Player.findAvailableDiplomaMask()}.
+ */
+@Name("kanagawa.DiplomaQuery")
+@Label("Diploma Query")
+@Description("Search of the diplomas available to a player")
+@Threshold("1 ms")
+@StackTrace(false)
+public class DiplomaQueryEvent extends GameEvent {
+
+    /**
+     * Creates and begins an event if it is enabled.
+     *
+     * @return the event, or {@code null}
+     */
+    public static DiplomaQueryEvent start() {
+        if (!EventTypes.isRecorded(DiplomaQueryEvent.class)) {
+            return null;
+        }
+        DiplomaQueryEvent event = new DiplomaQueryEvent();
+        event.begin();
+        return event;
+    }
+}
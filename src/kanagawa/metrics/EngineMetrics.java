@@ -0,0 +1,133 @@
+package kanagawa.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the hot paths of the engine, exposed through JMX. The metrics are
+ * only collected when the JVM is started with {@code -Dkanagawa.metrics=true} :
+ * {@code ENABLED} is a constant, so the JIT compiler removes the
+ * instrumentation of the engine when it is {@code false}. The instrumented code
+ * follows the pattern
+ *
+ * <pre>
+ * long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+ * ...
+ * if (EngineMetrics.ENABLED) {
+ *     EngineMetrics.DEAL.record(System.nanoTime() - start);
+ * }
+ * </pre>
+ */
+public class EngineMetrics implements EngineMetricsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("kanagawa.metrics");
+
+    public static final String OBJECT_NAME = "kanagawa:type=EngineMetrics";
+
+    public static final LatencyHistogram DEAL = new LatencyHistogram("deal");
+
+    public static final LatencyHistogram TAKE_COLUMN = new LatencyHistogram("takeColumn");
+
+    public static final LatencyHistogram DIPLOMA_QUERY = new LatencyHistogram("diplomaQuery");
+
+    public static final LatencyHistogram ROUND_TRANSITION = new LatencyHistogram("roundTransition");
+
+    public static final LongAdder DECK_REFILLS = new LongAdder();
+
+    public static final LongAdder GAMES_FINISHED = new LongAdder();
+
+    /**
+     * Games finished and time of the previous call of
+     * {@code getGamesFinishedPerSecond()}.
+     */
+    private long lastGamesFinished;
+
+    private long lastNanos = System.nanoTime();
+
+    static {
+        if (ENABLED) {
+            register();
+        }
+    }
+
+    private EngineMetrics() {
+    }
+
+    /**
+     * Registers the MBean in the platform MBean server.
+     */
+    private static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new EngineMetrics(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("EngineMetrics.register() : Cannot register the MBean, " + e.getMessage());
+        }
+    }
+
+    @Override
+    public LatencySnapshot getDeal() {
+        return DEAL.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getTakeColumn() {
+        return TAKE_COLUMN.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getDiplomaQuery() {
+        return DIPLOMA_QUERY.snapshot();
+    }
+
+    @Override
+    public LatencySnapshot getRoundTransition() {
+        return ROUND_TRANSITION.snapshot();
+    }
+
+    @Override
+    public long getDeckRefillCount() {
+        return DECK_REFILLS.sum();
+    }
+
+    @Override
+    public long getGamesFinished() {
+        return GAMES_FINISHED.sum();
+    }
+
+    @Override
+    public synchronized double getGamesFinishedPerSecond() {
+        long games = GAMES_FINISHED.sum();
+        long now = System.nanoTime();
+        double rate = (games - lastGamesFinished) * 1e9 / Math.max(now - lastNanos, 1);
+        lastGamesFinished = games;
+        lastNanos = now;
+        return rate;
+    }
+
+    @Override
+    public synchronized void reset() {
+        DEAL.reset();
+        TAKE_COLUMN.reset();
+        DIPLOMA_QUERY.reset();
+        ROUND_TRANSITION.reset();
+        DECK_REFILLS.reset();
+        GAMES_FINISHED.reset();
+        lastGamesFinished = 0;
+        lastNanos = System.nanoTime();
+    }
+
+    /**
+     * Describes the current values of the metrics, one per line.
+     */
+    public static String describe() {
+        return "deal : " + DEAL.snapshot() + System.lineSeparator()
+                + "takeColumn : " + TAKE_COLUMN.snapshot() + System.lineSeparator()
+                + "diplomaQuery : " + DIPLOMA_QUERY.snapshot() + System.lineSeparator()
+                + "roundTransition : " + ROUND_TRANSITION.snapshot() + System.lineSeparator()
+                + "deck refills : " + DECK_REFILLS.sum() + ", games finished : " + GAMES_FINISHED.sum()
+                + System.lineSeparator();
+    }
+}
@@ -0,0 +1,46 @@
+package kanagawa.metrics;
+
+/**
+ * Management interface of the {@code EngineMetrics}, registered under the
+ * name {@code kanagawa:type=EngineMetrics}.
+ */
+public interface EngineMetricsMXBean {
+
+    /**
+     * Durations of {@code Game.distributeCards()}.
+     */
+    LatencySnapshot getDeal();
+
+    /**
+     * Durations of {@code Game.takeColumn()}.
+     */
+    LatencySnapshot getTakeColumn();
+
+    /**
+     * Durations of {@code Player.findAvailableDiplomaMask()}.
+     */
+    LatencySnapshot getDiplomaQuery();
+
+    /**
+     * Durations of {@code Game.nextRound()}.
+     */
+    LatencySnapshot getRoundTransition();
+
+    /**
+     * Number of times the deck has been filled again with every card.
+     */
+    long getDeckRefillCount();
+
+    long getGamesFinished();
+
+    /**
+     * Games finished per second since the previous call, or since the metrics
+     * were started for the first call.
+     */
+    double getGamesFinishedPerSecond();
+
+    /**
+     * Empties the histograms and counters.
+     */
+    void reset();
+}
@@ -0,0 +1,31 @@
+package kanagawa.metrics;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Class telling if the events are recorded. Kept out of the event classes,
+ * whose methods taking one argument and returning a {@code boolean} are taken
+ * for settings by the Flight Recorder.
+ */
+class EventTypes {
+
+    /**
+     * Type of each event class, registered the first time it is needed.
+     */
+    private static final ClassValue<EventType> TYPES = new ClassValue<EventType>() {
+        @Override
+        protected EventType computeValue(Class<?> type) {
+            return EventType.getEventType(type.asSubclass(Event.class));
+        }
+    };
+
+    /**
+     * Tells if events of a class may be committed, which requires a running
+     * recording. Does not initialize the Flight Recorder.
+     */
+    static boolean isRecorded(Class<? extends Event> type) {
+        return FlightRecorder.isInitialized() && TYPES.get(type).isEnabled();
+    }
+}
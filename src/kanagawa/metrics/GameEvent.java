@@ -0,0 +1,60 @@
+package kanagawa.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the Java Flight Recorder events of a game, carrying the session,
+ * round and number of players. The events of the hot paths have a threshold
+ * and no stack trace, so that they can stay enabled. They are only created
+ * while a recording enables them, so that the engine does not allocate when
+ * nothing is recorded, even before its code is compiled :
+ *
+ * <pre>
+ * DealEvent event = DealEvent.start();
+ * ...
+ * GameEvent.finish(event, sessionId, roundCount, playerCount);
+ * </pre>
+ */
+@Category({ "Kanagawa", "Game" })
+public abstract class GameEvent extends Event {
+
+    @Label("Session Id")
+    long sessionId;
+
+    @Label("Round")
+    int round;
+
+    @Label("Players")
+    int playerCount;
+
+    /**
+     * Sets the game the event belongs to.
+     *
+     * @param sessionId   id of the game, see {@code Game.getSessionId()}
+     * @param round       round being played
+     * @param playerCount number of players of the game
+     */
+    public void set(long sessionId, int round, int playerCount) {
+        this.sessionId = sessionId;
+        this.round = round;
+        this.playerCount = playerCount;
+    }
+
+    /**
+     * Ends an event started by the {@code start()} method of its class and
+     * commits it if it lasted more than its threshold.
+     *
+     * @param event       the event, or {@code null} if it was not enabled
+     * @param sessionId   id of the game, see {@code Game.getSessionId()}
+     * @param round       round being played
+     * @param playerCount number of players of the game
+     */
+    public static void finish(GameEvent event, long sessionId, int round, int playerCount) {
+        if (event != null && event.shouldCommit()) {
+            event.set(sessionId, round, playerCount);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package kanagawa.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations in nanoseconds, with one bucket per power of 2. The
+ * bucket {@code i} counts the durations from {@code 2^(i-1)} to
+ * {@code 2^i - 1}, so the percentiles are known within a factor of 2, which is
+ * enough to tell where time goes. Recording a duration only increments
+ * striped counters, and can be done by many threads at once.
+ */
+public class LatencyHistogram {
+
+    private static final int BUCKET_COUNT = Long.SIZE + 1;
+
+    private final String name;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Constructor of the {@code LatencyHistogram} class.
+     *
+     * @param name name of the measured action
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds, negative durations counting as 0
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        buckets[Long.SIZE - Long.numberOfLeadingZeros(nanos)].increment();
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Copies the current values of the histogram. The copy is not atomic, the
+     * durations recorded while it is made may be partially counted.
+     *
+     * @return a {@code LatencySnapshot}
+     */
+    public LatencySnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        return new LatencySnapshot(total, total == 0 ? 0 : (double) totalNanos.sum() / count.sum(),
+                percentile(counts, total, 0.5), percentile(counts, total, 0.9), percentile(counts, total, 0.99),
+                maxNanos.get());
+    }
+
+    /**
+     * Empties the histogram.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    /**
+     * Upper bound of the bucket containing a percentile.
+     */
+    private static long percentile(long[] counts, long total, double fraction) {
+        long rank = (long) Math.ceil(total * fraction);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,60 @@
+package kanagawa.metrics;
+
+/**
+ * Values of a {@code LatencyHistogram} at a given time, exposed as a composite
+ * value by JMX. The percentiles are upper bounds, see
+ * {@code LatencyHistogram}.
+ */
+public class LatencySnapshot {
+
+    private final long count;
+
+    private final double meanNanos;
+
+    private final long p50Nanos;
+
+    private final long p90Nanos;
+
+    private final long p99Nanos;
+
+    private final long maxNanos;
+
+    LatencySnapshot(long count, double meanNanos, long p50Nanos, long p90Nanos, long p99Nanos, long maxNanos) {
+        this.count = count;
+        this.meanNanos = meanNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMeanNanos() {
+        return meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.0f ns, p50<=%d ns, p90<=%d ns, p99<=%d ns, max=%d ns", count,
+                meanNanos, p50Nanos, p90Nanos, p99Nanos, maxNanos);
+    }
+}
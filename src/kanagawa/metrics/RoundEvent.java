@@ -0,0 +1,32 @@
+package kanagawa.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Event of {@code Game.nextRound()}.
+ */
+@Name("kanagawa.NextRound")
+@Label("Next Round")
+@Description("Transition to a new round")
+@Threshold("1 ms")
+@StackTrace(false)
+public class RoundEvent extends GameEvent {
+
+    /**
+     * Creates and begins an event if it is enabled.
+     *
+     * @return the event, or {@code null}
+     */
+    public static RoundEvent start() {
+        if (!EventTypes.isRecorded(RoundEvent.class)) {
+            return null;
+        }
+        RoundEvent event = new RoundEvent();
+        event.begin();
+        return event;
+    }
+}
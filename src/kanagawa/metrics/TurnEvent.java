@@ -0,0 +1,33 @@
+package kanagawa.metrics;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Event of a complete turn played by {@code GameDriver}, decisions of the
+ * strategy included.
+ */
+@Name("kanagawa.Turn")
+@Label("Turn")
+@Description("Complete turn of a player")
+@Threshold("10 ms")
+@StackTrace(false)
+public class TurnEvent extends GameEvent {
+
+    /**
+     * Creates and begins an event if it is enabled.
+     *
+     * @return the event, or {@code null}
+     */
+    public static TurnEvent start() {
+        if (!EventTypes.isRecorded(TurnEvent.class)) {
+            return null;
+        }
+        TurnEvent event = new TurnEvent();
+        event.begin();
+        return event;
+    }
+}
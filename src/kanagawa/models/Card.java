@@ -4,7 +4,8 @@ import kanagawa.utilities.InvalidGameObjectException;
 
 /**
  * Class implementing the cards of the game. Each cards is composed of 2 parts,
- * the UV and Personal Work.
+ * the UV and Personal Work. Cards are immutable and shared by all games through
+ * the {@code CardCatalog}.
  */
 public class Card {
 
@@ -17,6 +18,27 @@ public class Card {
      */
     private boolean isStarterCard;
 
+    /**
+     * Index of the card in the {@code CardCatalog}.
+     */
+    transient private int id;
+
+    /**
+     * Constructor used by Gson.
+     */
+    private Card() {
+    }
+
+    /**
+     * Constructor of the {@code Card} class, used when reading the
+     * {@code CatalogFile}.
+     */
+    Card(PersonalWork personalWork, UV uv, boolean isStarterCard) {
+        this.personalWork = personalWork;
+        this.uv = uv;
+        this.isStarterCard = isStarterCard;
+    }
+
     /**
      * Checks if the Object has been parsed and initialized correctly
      * 
@@ -46,6 +68,17 @@ public class Card {
         return isStarterCard;
     }
 
+    /**
+     * Index of the card in the {@code CardCatalog}.
+     */
+    public int getId() {
+        return id;
+    }
+
+    void setId(int id) {
+        this.id = id;
+    }
+
     @Override
     public String toString() {
         return this.getUv().getCode();
@@ -0,0 +1,85 @@
+package kanagawa.models;
+
+/**
+ * Catalog of all the cards of the game, loaded once per process from the
+ * {@code CatalogFile} and shared by every {@code Game}. Cards are immutable, so
+ * the same instances can be dealt in any number of games. Each card gets an id,
+ * which is its index in the catalog.
+ */
+public class CardCatalog {
+
+    private final Card[] cards;
+
+    /**
+     * Ids of the starter cards.
+     */
+    private final int[] starterCardIds;
+
+    /**
+     * Holder of the shared instance, loaded the first time it is used.
+     */
+    private static class Holder {
+        private static final CardCatalog INSTANCE = new CardCatalog(CatalogFile.getInstance().getCards());
+    }
+
+    /**
+     * Constructor of the {@code CardCatalog} class. Gives its id to each card.
+     *
+     * @param cards cards of the catalog
+     */
+    CardCatalog(Card[] cards) {
+        this.cards = cards;
+
+        int starterCardCount = 0;
+        for (int i = 0; i < cards.length; i++) {
+            cards[i].setId(i);
+            if (cards[i].isStarterCard()) {
+                starterCardCount++;
+            }
+        }
+
+        starterCardIds = new int[starterCardCount];
+        for (int i = 0, j = 0; i < cards.length; i++) {
+            if (cards[i].isStarterCard()) {
+                starterCardIds[j++] = i;
+            }
+        }
+    }
+
+    /**
+     * Returns the catalog shared by all games, loading it if necessary.
+     *
+     * @return the instance of {@code CardCatalog}
+     */
+    public static CardCatalog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Returns the card of the given id.
+     */
+    public Card getCard(int id) {
+        return cards[id];
+    }
+
+    /**
+     * Number of cards in the catalog.
+     */
+    public int size() {
+        return cards.length;
+    }
+
+    /**
+     * Number of starter cards in the catalog.
+     */
+    public int getStarterCardCount() {
+        return starterCardIds.length;
+    }
+
+    /**
+     * Returns the id of the {@code i}-th starter card.
+     */
+    public int getStarterCardId(int i) {
+        return starterCardIds[i];
+    }
+}
@@ -0,0 +1,439 @@
+package kanagawa.models;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import kanagawa.metrics.CatalogLoadEvent;
+import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.Skill;
+import kanagawa.models.enums.UVCategory;
+import kanagawa.utilities.InvalidGameObjectException;
+
+/**
+ * Binary catalog of the cards and diplomas of the game. {@code cards.json} and
+ * {@code diplomas.json} stay the authoring format : they are compiled once into
+ * {@code catalog.bin}, which is then memory-mapped and read without any
+ * parsing or reflection by the next processes.
+ *
+ * The file starts with a header : magic number, format version, stamp of the
+ * JSON sources it was compiled from, length and CRC32 of the payload. The
+ * payload holds the cards, then the diploma groups, with enum constants stored
+ * as their ordinal. The cards and diplomas read are checked like the ones
+ * parsed from the JSON sources. A file which is invalid, from another version
+ * or older than the JSON sources is compiled again.
+ *
+ * Usage : {@code CatalogFile [cards.json] [diplomas.json] [catalog.bin]}
+ */
+public class CatalogFile {
+
+    private static final String CARDS_PATH = "./cards.json";
+
+    private static final String DIPLOMAS_PATH = "./diplomas.json";
+
+    private static final String CATALOG_PATH = "./catalog.bin";
+
+    private static final int MAGIC = 0x4B434154;
+
+    /**
+     * Version of the format, to increment with each change of the layout.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the header : magic number, version, stamp, payload length and CRC32.
+     */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4;
+
+    private static final Skill[] SKILLS = Skill.values();
+
+    private static final Bonus[] BONUSES = Bonus.values();
+
+    private static final UVCategory[] UV_CATEGORIES = UVCategory.values();
+
+    private final Card[] cards;
+
+    private final ArrayList<DiplomaGroup> diplomaGroups;
+
+    /**
+     * Holder of the catalog shared by the process, loaded the first time it is
+     * used.
+     */
+    private static class Holder {
+        private static final CatalogFile INSTANCE = load(new File(CARDS_PATH), new File(DIPLOMAS_PATH),
+                new File(CATALOG_PATH));
+    }
+
+    private CatalogFile(Card[] cards, ArrayList<DiplomaGroup> diplomaGroups) {
+        this.cards = cards;
+        this.diplomaGroups = diplomaGroups;
+    }
+
+    /**
+     * Returns the catalog shared by the process, loading it if necessary.
+     */
+    static CatalogFile getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Number of cards of the catalog.
+     */
+    public int getCardCount() {
+        return cards.length;
+    }
+
+    /**
+     * Cards of the catalog, in the order of {@code cards.json}.
+     */
+    Card[] getCards() {
+        return cards;
+    }
+
+    /**
+     * Diploma groups of the catalog, in the order of {@code diplomas.json}.
+     */
+    ArrayList<DiplomaGroup> getDiplomaGroups() {
+        return diplomaGroups;
+    }
+
+    /**
+     * Reads the binary catalog, or compiles it from the JSON sources if it is
+     * missing, invalid or out of date. Failing to write the binary catalog is not
+     * fatal, the JSON sources are parsed again by the next process.
+     *
+     * The catalog shared by the process is loaded once by
+     * {@code getInstance()}, this method loads a new one, used by the
+     * benchmarks of the loading.
+     *
+     * @param cardsFile    the cards file in JSON
+     * @param diplomasFile the diplomas file in JSON
+     * @param catalogFile  the binary catalog
+     * @return the new catalog
+     */
+    public static CatalogFile load(File cardsFile, File diplomasFile, File catalogFile) {
+        CatalogLoadEvent event = new CatalogLoadEvent();
+        event.begin();
+        long stamp = stamp(cardsFile, diplomasFile);
+        if (catalogFile.isFile()) {
+            try {
+                CatalogFile catalog = read(catalogFile.toPath(), stamp);
+                if (catalog != null) {
+                    event.set(false, catalog.cards.length, catalog.diplomaGroups.size());
+                    event.commit();
+                    return catalog;
+                }
+            } catch (IOException e) {
+                System.err.println("CatalogFile.load() : " + catalogFile + " is invalid, " + e.getMessage());
+            }
+        }
+
+        CatalogFile catalog = new CatalogFile(parseCards(cardsFile), parseDiplomaGroups(diplomasFile));
+        try {
+            catalog.write(catalogFile.toPath(), stamp);
+        } catch (IOException e) {
+            System.err.println("CatalogFile.load() : Failed to write " + catalogFile + ", " + e.getMessage());
+        }
+        event.set(true, catalog.cards.length, catalog.diplomaGroups.size());
+        event.commit();
+        return catalog;
+    }
+
+    /**
+     * Compiles the JSON sources into a binary catalog.
+     *
+     * @param cardsFile    the cards file in JSON
+     * @param diplomasFile the diplomas file in JSON
+     * @param catalogFile  the binary catalog to write
+     * @throws IOException if the binary catalog cannot be written
+     */
+    public static void compile(File cardsFile, File diplomasFile, File catalogFile) throws IOException {
+        CatalogFile catalog = new CatalogFile(parseCards(cardsFile), parseDiplomaGroups(diplomasFile));
+        catalog.write(catalogFile.toPath(), stamp(cardsFile, diplomasFile));
+    }
+
+    /**
+     * Identifies the version of the JSON sources from their size and date of
+     * modification, or {@code 0} if they are missing, in which case any binary
+     * catalog is accepted.
+     */
+    private static long stamp(File cardsFile, File diplomasFile) {
+        if (!cardsFile.isFile() || !diplomasFile.isFile()) {
+            return 0;
+        }
+        long stamp = cardsFile.length();
+        stamp = stamp * 31 + cardsFile.lastModified();
+        stamp = stamp * 31 + diplomasFile.length();
+        stamp = stamp * 31 + diplomasFile.lastModified();
+        return stamp == 0 ? 1 : stamp;
+    }
+
+    /**
+     * Maps a binary catalog in memory and reads it.
+     *
+     * @param path  path of the binary catalog
+     * @param stamp stamp of the JSON sources, or {@code 0} to accept any catalog
+     * @return the catalog, or {@code null} if it is out of date
+     * @throws IOException if the file cannot be read or is invalid
+     */
+    static CatalogFile read(Path path, long stamp) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("not a catalog");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("version " + version + " instead of " + VERSION);
+            }
+            long fileStamp = buffer.getLong();
+            if (stamp != 0 && fileStamp != stamp) {
+                return null;
+            }
+            int payloadLength = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (payloadLength != buffer.remaining()) {
+                throw new IOException("truncated");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                throw new IOException("wrong checksum");
+            }
+
+            Card[] cards = new Card[buffer.getInt()];
+            for (int i = 0; i < cards.length; i++) {
+                PersonalWork personalWork = new PersonalWork(readEnum(buffer, SKILLS), readEnum(buffer, BONUSES));
+                UVCategory uvCategory = readEnum(buffer, UV_CATEGORIES);
+                Skill uvSkill = readEnum(buffer, SKILLS);
+                boolean isStarterCard = buffer.get() != 0;
+                UV uv = new UV(readString(buffer), uvCategory, uvSkill);
+                cards[i] = new Card(personalWork, uv, isStarterCard);
+                // Same checks as the cards parsed from the JSON sources
+                cards[i].checkInitialization();
+            }
+
+            int groupCount = buffer.getInt();
+            ArrayList<DiplomaGroup> diplomaGroups = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) {
+                String groupeName = readString(buffer);
+                ArrayList<Diploma> diplomas = new ArrayList<>();
+                int diplomaCount = buffer.get();
+                for (int j = 0; j < diplomaCount; j++) {
+                    int[] uvArray = new int[UVCategory.length];
+                    for (int k = 0; k < uvArray.length; k++) {
+                        uvArray[k] = buffer.get();
+                    }
+                    int[] skillArray = new int[Skill.length];
+                    for (int k = 0; k < skillArray.length; k++) {
+                        skillArray[k] = buffer.get();
+                    }
+                    diplomas.add(new Diploma(uvArray, skillArray, buffer.getShort()));
+                }
+                DiplomaGroup diplomaGroup = new DiplomaGroup(groupeName, diplomas);
+                diplomaGroup.checkInitialization();
+                diplomaGroups.add(diplomaGroup);
+            }
+            return new CatalogFile(cards, diplomaGroups);
+
+        } catch (RuntimeException | InvalidGameObjectException e) {
+            // Out of bounds reads, invalid cards and invalid diplomas
+            throw new IOException("corrupted content", e);
+        }
+    }
+
+    /**
+     * Writes the catalog to a temporary file and moves it in place, so that
+     * processes started at the same time never read a partial catalog.
+     */
+    private void write(Path path, long stamp) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(bytes);
+
+        payload.writeInt(cards.length);
+        for (Card card : cards) {
+            payload.writeByte(card.getPersonalWork().getSkill().ordinal());
+            payload.writeByte(card.getPersonalWork().getBonus().ordinal());
+            payload.writeByte(card.getUv().getUvCategory().ordinal());
+            payload.writeByte(card.getUv().getSkill().ordinal());
+            payload.writeByte(card.isStarterCard() ? 1 : 0);
+            writeString(payload, card.getUv().getCode());
+        }
+
+        payload.writeInt(diplomaGroups.size());
+        for (DiplomaGroup diplomaGroup : diplomaGroups) {
+            writeString(payload, diplomaGroup.getGroupeName());
+            payload.writeByte(diplomaGroup.getDiplomas().size());
+            for (Diploma diploma : diplomaGroup.getDiplomas()) {
+                for (int value : diploma.getUVArray()) {
+                    payload.writeByte(value);
+                }
+                for (int value : diploma.getSkillArray()) {
+                    payload.writeByte(value);
+                }
+                payload.writeShort(diploma.getCredit());
+            }
+        }
+        payload.flush();
+
+        byte[] payloadBytes = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payloadBytes);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(stamp).putInt(payloadBytes.length).putInt((int) crc.getValue());
+
+        Path absolutePath = path.toAbsolutePath();
+        Path temporary = Files.createTempFile(absolutePath.getParent(), "catalog", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                header.flip();
+                channel.write(new ByteBuffer[] { header, ByteBuffer.wrap(payloadBytes) });
+            }
+            Files.move(temporary, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads an enum constant stored as its ordinal.
+     *
+     * @throws IOException if the ordinal is not one of the constants
+     */
+    private static <E extends Enum<E>> E readEnum(ByteBuffer buffer, E[] values) throws IOException {
+        int ordinal = buffer.get();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException("unknown " + values[0].getDeclaringClass().getSimpleName() + " " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeShort(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Load cards data from the json files and checks if they have been parsed
+     * correctly
+     */
+    private static Card[] parseCards(File file) {
+        Gson gson = new GsonBuilder().serializeNulls().create();
+        Card[] cards = null;
+        JsonReader jsonReader;
+
+        try {
+            jsonReader = new JsonReader(new FileReader(file));
+            // We read all cards inside the file
+            cards = gson.fromJson(jsonReader, Card[].class);
+            for (Card card : cards) {
+                // We check if each card has been initialized correctly
+                card.checkInitialization();
+            }
+            jsonReader.close();
+
+        } catch (InvalidGameObjectException e) {
+            System.out.println("CatalogFile.parseCards() : Failed to load cards.");
+            if (e.getObject() != null) {
+                System.err.println("Index in cards : " + indexOf(cards, e.getObject()));
+            }
+            System.exit(-1);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("CatalogFile.parseCards() : Failed to load cards.");
+            System.exit(-1);
+        }
+
+        return cards;
+    }
+
+    /**
+     * Load diplomas data from the json files and checks if they have been parsed
+     * correctly
+     */
+    private static ArrayList<DiplomaGroup> parseDiplomaGroups(File file) {
+        Gson gson = new GsonBuilder().serializeNulls().create();
+        Type diplomaGroupListType = new TypeToken<ArrayList<DiplomaGroup>>() {
+        }.getType();
+        ArrayList<DiplomaGroup> diplomaGroups = null;
+        JsonReader jsonReader;
+
+        try {
+            jsonReader = new JsonReader(new FileReader(file));
+            // We read all diplomas inside the file
+            diplomaGroups = gson.fromJson(jsonReader, diplomaGroupListType);
+            for (DiplomaGroup diplomaGroup : diplomaGroups) {
+                // We check if each diploma has been initialized correctly
+                diplomaGroup.checkInitialization();
+            }
+            jsonReader.close();
+
+        } catch (InvalidGameObjectException e) {
+            Object object = e.getObject();
+            Object parent = e.getParent();
+            System.out.println("CatalogFile.parseDiplomaGroups() : Failed to load diplomas.");
+            if (object != null)
+                if (parent == null) {
+                    System.err.println("Index in diplomaGroups : " + diplomaGroups.indexOf(object));
+                } else {
+                    int index = diplomaGroups.indexOf(parent);
+                    System.err.println("Index in diplomaGroups : " + index);
+                    System.err.println(
+                            "Index of diploma in diplomas : " + diplomaGroups.get(index).getDiplomas().indexOf(object));
+                }
+            System.exit(-1);
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.err.println("CatalogFile.parseDiplomaGroups() : Failed to load diplomas.");
+            System.exit(-1);
+        }
+
+        return diplomaGroups;
+    }
+
+    private static int indexOf(Card[] cards, Object card) {
+        for (int i = 0; i < cards.length; i++) {
+            if (cards[i] == card) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        File cardsFile = new File(args.length > 0 ? args[0] : CARDS_PATH);
+        File diplomasFile = new File(args.length > 1 ? args[1] : DIPLOMAS_PATH);
+        File catalogFile = new File(args.length > 2 ? args[2] : CATALOG_PATH);
+        compile(cardsFile, diplomasFile, catalogFile);
+        System.out.println("Compiled " + cardsFile + " and " + diplomasFile + " into " + catalogFile + ".");
+    }
+}
@@ -0,0 +1,178 @@
+package kanagawa.models;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deck of the cards that have not been distributed yet. The deck stores the ids
+ * of the cards of the {@code CardCatalog} in a primitive array : the cards from
+ * {@code cursor} to the end of the array are still in the deck, in the order
+ * they will be drawn, so that drawing a card only moves the cursor.
+ */
+public class Deck {
+
+    private final CardCatalog catalog;
+
+    /**
+     * Ids of all the cards of the catalog. The cards before {@code cursor} have
+     * been drawn.
+     */
+    private final int[] cardIds;
+
+    /**
+     * Position of each card id in {@code cardIds}.
+     */
+    private final int[] positions;
+
+    /**
+     * Position of the next card to draw.
+     */
+    private int cursor;
+
+    /**
+     * Zobrist hash of the cards left in the deck and of their order. A card is
+     * hashed with its position in {@code cardIds}, which does not change while the
+     * cards above it are drawn.
+     */
+    private long hash;
+
+    /**
+     * Constructor of the {@code Deck} class. The deck contains every card of the
+     * catalog, in the order of the catalog.
+     *
+     * @param catalog the {@code CardCatalog} the cards come from
+     */
+    public Deck(CardCatalog catalog) {
+        this.catalog = catalog;
+        this.cardIds = new int[catalog.size()];
+        this.positions = new int[catalog.size()];
+        for (int i = 0; i < cardIds.length; i++) {
+            cardIds[i] = i;
+            positions[i] = i;
+        }
+        this.hash = computeHash();
+    }
+
+    /**
+     * Constructor of a copy of a {@code Deck}.
+     *
+     * @param deck the {@code Deck} to copy
+     */
+    public Deck(Deck deck) {
+        this.catalog = deck.catalog;
+        this.cardIds = deck.cardIds.clone();
+        this.positions = deck.positions.clone();
+        this.cursor = deck.cursor;
+        this.hash = deck.hash;
+    }
+
+    public boolean isEmpty() {
+        return cursor == cardIds.length;
+    }
+
+    /**
+     * Number of cards left in the deck.
+     */
+    public int size() {
+        return cardIds.length - cursor;
+    }
+
+    /**
+     * Returns the id of a card left in the deck without drawing it.
+     *
+     * @param index position of the card from the top of the deck
+     * @return a card id
+     */
+    public int peekId(int index) {
+        return cardIds[cursor + index];
+    }
+
+    /**
+     * Draws the card on the top of the deck.
+     *
+     * @return the drawn {@code Card}
+     */
+    public Card draw() {
+        hash ^= key(cursor);
+        return catalog.getCard(cardIds[cursor++]);
+    }
+
+    /**
+     * Checks if a card is still in the deck.
+     *
+     * @param cardId id of the card
+     * @return a {@code boolean}
+     */
+    public boolean contains(int cardId) {
+        return positions[cardId] >= cursor;
+    }
+
+    /**
+     * Removes a given card from the deck. The card on the top of the deck takes its
+     * place.
+     *
+     * @param cardId id of the card to remove
+     * @return {@code false} if the card was not in the deck
+     */
+    public boolean remove(int cardId) {
+        if (!contains(cardId)) {
+            return false;
+        }
+        int position = positions[cardId];
+        hash ^= key(position);
+        if (position != cursor) {
+            // The card on the top of the deck moves to the position of the removed one
+            hash ^= key(cursor) ^ Zobrist.key(Zobrist.DECK, position, cardIds[cursor] + 1);
+        }
+        swap(position, cursor);
+        cursor++;
+        return true;
+    }
+
+    /**
+     * Puts back every card of the catalog in the deck, without changing their
+     * order.
+     */
+    public void refill() {
+        cursor = 0;
+        hash = computeHash();
+    }
+
+    /**
+     * Shuffles the cards left in the deck.
+     *
+     * @param random the generator driving the shuffle
+     */
+    public void shuffle(SplittableRandom random) {
+        for (int i = cardIds.length - 1; i > cursor; i--) {
+            swap(i, cursor + random.nextInt(i - cursor + 1));
+        }
+        hash = computeHash();
+    }
+
+    /**
+     * Zobrist hash of the cards left in the deck and of their order.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    private long key(int position) {
+        return Zobrist.key(Zobrist.DECK, position, cardIds[position] + 1);
+    }
+
+    private long computeHash() {
+        long hash = 0;
+        for (int i = cursor; i < cardIds.length; i++) {
+            hash ^= key(i);
+        }
+        return hash;
+    }
+
+    private void swap(int i, int j) {
+        int cardId = cardIds[i];
+        cardIds[i] = cardIds[j];
+        cardIds[j] = cardId;
+        positions[cardIds[i]] = i;
+        positions[cardIds[j]] = j;
+    }
+}
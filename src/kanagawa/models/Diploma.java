@@ -31,6 +31,34 @@ public class Diploma {
 
     transient private DiplomaGroup group;
 
+    /**
+     * Id of the diploma in the {@code DiplomaIndex}, which is also its bit in the
+     * diploma masks.
+     */
+    transient private int id;
+
+    /**
+     * Mask of the diplomas belonging to the same group, this one included.
+     */
+    transient private int groupMask;
+
+    /**
+     * Constructor used by Gson.
+     */
+    private Diploma() {
+    }
+
+    /**
+     * Constructor of the {@code Diploma} class, used when reading the
+     * {@code CatalogFile}. The group is set by
+     * {@link #checkInitialization(DiplomaGroup)}.
+     */
+    Diploma(int[] UVArray, int[] skillArray, int credits) {
+        this.UVArray = UVArray;
+        this.skillArray = skillArray;
+        this.credits = credits;
+    }
+
     /**
      * Checks if the Object has been parsed and initialized correctly
      * 
@@ -72,6 +100,36 @@ public class Diploma {
         return group;
     }
 
+    /**
+     * Id of the diploma in the {@code DiplomaIndex}, which is also its bit in the
+     * diploma masks.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Mask containing only this diploma.
+     */
+    public int getMask() {
+        return 1 << id;
+    }
+
+    /**
+     * Mask of the diplomas belonging to the same group, this one included.
+     */
+    public int getGroupMask() {
+        return groupMask;
+    }
+
+    /**
+     * Sets the position of the diploma in the {@code DiplomaIndex}.
+     */
+    void setIndex(int id, int groupMask) {
+        this.id = id;
+        this.groupMask = groupMask;
+    }
+
     @Override
     public String toString() {
         return "Diploma{" +
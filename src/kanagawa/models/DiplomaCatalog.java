@@ -0,0 +1,63 @@
+package kanagawa.models;
+
+import java.util.ArrayList;
+
+import kanagawa.utilities.InvalidGameObjectException;
+
+/**
+ * Catalog of the diploma groups of the game and of their {@code DiplomaIndex},
+ * loaded once per process from the {@code CatalogFile} and shared by every
+ * {@code Game}. Diplomas and groups are never modified once loaded.
+ */
+public class DiplomaCatalog {
+
+    private final ArrayList<DiplomaGroup> diplomaGroups;
+
+    private final DiplomaIndex diplomaIndex;
+
+    /**
+     * Holder of the shared instance, loaded the first time it is used.
+     */
+    private static class Holder {
+        private static final DiplomaCatalog INSTANCE = load();
+    }
+
+    /**
+     * Constructor of the {@code DiplomaCatalog} class. Indexes the diplomas.
+     *
+     * @param diplomaGroups diploma groups of the catalog
+     * @throws InvalidGameObjectException if the diplomas cannot be indexed
+     */
+    DiplomaCatalog(ArrayList<DiplomaGroup> diplomaGroups) throws InvalidGameObjectException {
+        this.diplomaGroups = diplomaGroups;
+        this.diplomaIndex = new DiplomaIndex(diplomaGroups);
+    }
+
+    /**
+     * Returns the catalog shared by all games, loading it if necessary.
+     *
+     * @return the instance of {@code DiplomaCatalog}
+     */
+    public static DiplomaCatalog getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    public ArrayList<DiplomaGroup> getDiplomaGroups() {
+        return diplomaGroups;
+    }
+
+    public DiplomaIndex getDiplomaIndex() {
+        return diplomaIndex;
+    }
+
+    private static DiplomaCatalog load() {
+        try {
+            return new DiplomaCatalog(CatalogFile.getInstance().getDiplomaGroups());
+        } catch (InvalidGameObjectException e) {
+            e.printStackTrace();
+            System.err.println("DiplomaCatalog.load() : Failed to index diplomas.");
+            System.exit(-1);
+            return null;
+        }
+    }
+}
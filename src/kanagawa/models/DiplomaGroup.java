@@ -7,7 +7,9 @@ import kanagawa.utilities.InvalidGameObjectException;
 /**
  * Class implementing the diploma groups. Each {@code DiplomaGroup} contains 3
  * diplomas, each player can only obtain 1 diploma from each group.
- * Once a diploma has been attributed to a player, it is removed from its group.
+ * Once a diploma has been attributed to a player, it is no longer available to
+ * the other players, but it stays in its group : groups are never modified once
+ * loaded.
  */
 public class DiplomaGroup {
 
@@ -18,6 +20,21 @@ public class DiplomaGroup {
      */
     private ArrayList<Diploma> diplomas;
 
+    /**
+     * Constructor used by Gson.
+     */
+    private DiplomaGroup() {
+    }
+
+    /**
+     * Constructor of the {@code DiplomaGroup} class, used when reading the
+     * {@code CatalogFile}.
+     */
+    DiplomaGroup(String groupeName, ArrayList<Diploma> diplomas) {
+        this.groupeName = groupeName;
+        this.diplomas = diplomas;
+    }
+
     /**
      * Checks if the Object has been parsed and initialized correctly
      * 
@@ -0,0 +1,198 @@
+package kanagawa.models;
+
+import java.util.ArrayList;
+
+import kanagawa.models.enums.Skill;
+import kanagawa.models.enums.UVCategory;
+import kanagawa.utilities.InvalidGameObjectException;
+
+/**
+ * Index of the diplomas, built once after the diplomas have been loaded. Each
+ * diploma gets an id, which is its bit in the diploma masks, and its
+ * requirements are packed in a single {@code long} so that the diplomas
+ * satisfied by an inventory are found with a few bitwise operations.
+ *
+ * A packed value holds 12 lanes of 5 bits : one lane per {@code UVCategory},
+ * followed by one lane per {@code Skill}. The 4 lower bits of a lane hold a
+ * count (saturated at 15) and the upper bit is a guard bit, which stays set
+ * after subtracting a requirement from a lane if and only if the count is
+ * greater than or equal to the requirement.
+ */
+public class DiplomaIndex {
+
+    /**
+     * Number of bits of a lane, guard bit included.
+     */
+    private static final int LANE_WIDTH = 5;
+
+    /**
+     * Highest value that can be stored in a lane.
+     */
+    public static final int MAX_LANE_VALUE = 15;
+
+    /**
+     * Index of the lane of the first {@code Skill}.
+     */
+    private static final int SKILL_LANE = UVCategory.length;
+
+    /**
+     * Guard bit of every lane.
+     */
+    private static final long GUARDS;
+
+    static {
+        long guards = 0;
+        for (int i = 0; i < UVCategory.length + Skill.length; i++) {
+            guards |= 1L << (i * LANE_WIDTH + LANE_WIDTH - 1);
+        }
+        GUARDS = guards;
+    }
+
+    /**
+     * Diplomas of every group, in order. The id of a diploma is its index.
+     */
+    private final Diploma[] diplomas;
+
+    /**
+     * Packed requirements of each diploma.
+     */
+    private final long[] requirements;
+
+    /**
+     * Constructor of the {@code DiplomaIndex} class. Gives its id to each diploma.
+     *
+     * @param diplomaGroups the groups of diplomas to index
+     * @throws InvalidGameObjectException if there are more than 32 diplomas or if a
+     *                                    requirement does not fit in a lane
+     */
+    public DiplomaIndex(ArrayList<DiplomaGroup> diplomaGroups) throws InvalidGameObjectException {
+        ArrayList<Diploma> allDiplomas = new ArrayList<>();
+        for (DiplomaGroup diplomaGroup : diplomaGroups) {
+            allDiplomas.addAll(diplomaGroup.getDiplomas());
+        }
+        if (allDiplomas.size() > Integer.SIZE) {
+            throw new InvalidGameObjectException(allDiplomas);
+        }
+
+        diplomas = allDiplomas.toArray(new Diploma[0]);
+        requirements = new long[diplomas.length];
+
+        for (int i = 0; i < diplomas.length; i++) {
+            Diploma diploma = diplomas[i];
+            for (int value : diploma.getUVArray()) {
+                if (value > MAX_LANE_VALUE) {
+                    throw new InvalidGameObjectException(diploma, diploma.getGroup());
+                }
+            }
+            for (int value : diploma.getSkillArray()) {
+                if (value > MAX_LANE_VALUE) {
+                    throw new InvalidGameObjectException(diploma, diploma.getGroup());
+                }
+            }
+            requirements[i] = pack(diploma.getUVArray(), diploma.getSkillArray());
+        }
+
+        int firstOfGroup = 0;
+        for (DiplomaGroup diplomaGroup : diplomaGroups) {
+            int groupSize = diplomaGroup.getDiplomas().size();
+            int groupMask = (int) (((1L << groupSize) - 1) << firstOfGroup);
+            for (int i = firstOfGroup; i < firstOfGroup + groupSize; i++) {
+                diplomas[i].setIndex(i, groupMask);
+            }
+            firstOfGroup += groupSize;
+        }
+    }
+
+    /**
+     * Packs a number of UVs in each {@code UVCategory} and a number of points in
+     * each {@code Skill}. Values greater than {@code MAX_LANE_VALUE} are saturated.
+     *
+     * @param uvCounts    one value per {@code UVCategory}
+     * @param skillCounts one value per {@code Skill}
+     * @return the packed value
+     */
+    public static long pack(int[] uvCounts, int[] skillCounts) {
+        long packed = 0;
+        for (int i = 0; i < UVCategory.length; i++) {
+            packed = withLane(packed, i, uvCounts[i]);
+        }
+        for (int i = 0; i < Skill.length; i++) {
+            packed = withLane(packed, SKILL_LANE + i, skillCounts[i]);
+        }
+        return packed;
+    }
+
+    /**
+     * Replaces the value of a {@code UVCategory} in a packed value.
+     */
+    static long withUvCategory(long packed, UVCategory uvCategory, int count) {
+        return withLane(packed, uvCategory.toInt(), count);
+    }
+
+    /**
+     * Replaces the value of a {@code Skill} in a packed value.
+     */
+    static long withSkill(long packed, Skill skill, int count) {
+        return withLane(packed, SKILL_LANE + skill.toInt(), count);
+    }
+
+    private static long withLane(long packed, int lane, int value) {
+        int shift = lane * LANE_WIDTH;
+        long saturated = Math.min(value, MAX_LANE_VALUE);
+        return (packed & ~((long) MAX_LANE_VALUE << shift)) | (saturated << shift);
+    }
+
+    /**
+     * Finds the diplomas whose requirements are met by packed counts.
+     *
+     * @param packedCounts counts packed with {@code pack()}
+     * @return the mask of the satisfied diplomas
+     */
+    public int satisfiedMask(long packedCounts) {
+        long counts = packedCounts | GUARDS;
+        int mask = 0;
+        for (int i = 0; i < requirements.length; i++) {
+            // A lane borrows its guard bit only if its count is lower than the requirement
+            if (((counts - requirements[i]) & GUARDS) == GUARDS) {
+                mask |= 1 << i;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the diploma of the given id.
+     */
+    public Diploma getDiploma(int id) {
+        return diplomas[id];
+    }
+
+    /**
+     * Number of indexed diplomas.
+     */
+    public int size() {
+        return diplomas.length;
+    }
+
+    /**
+     * Mask with the bit of every indexed diploma set.
+     */
+    public int allDiplomasMask() {
+        return diplomas.length == Integer.SIZE ? -1 : (1 << diplomas.length) - 1;
+    }
+
+    /**
+     * Builds the list of the diplomas of a mask, in the order of their ids.
+     *
+     * @param mask a mask of diplomas
+     * @return an {@code ArrayList<Diploma>}
+     */
+    public ArrayList<Diploma> toList(int mask) {
+        ArrayList<Diploma> list = new ArrayList<>(Integer.bitCount(mask));
+        while (mask != 0) {
+            list.add(diplomas[Integer.numberOfTrailingZeros(mask)]);
+            mask &= mask - 1;
+        }
+        return list;
+    }
+}
@@ -1,19 +1,21 @@
 package kanagawa.models;
 
-import java.io.File;
-import java.io.FileReader;
-import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
-import kanagawa.utilities.InvalidGameObjectException;
+import kanagawa.metrics.DealEvent;
+import kanagawa.metrics.EngineMetrics;
+import kanagawa.metrics.GameEvent;
+import kanagawa.metrics.RoundEvent;
+import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.CardChoice;
+import kanagawa.models.enums.GameEventType;
 
 /**
  * Game class. Contains all game objects and the main methods to play the game.
- * The Game class is singleton, in order to have only one instance of the game
+ * The JavaFX views share a single instance through {@link #getGameInstance()},
+ * but any number of independent games can be created with the public
+ * constructor and played headlessly in the same JVM.
  */
 public class Game {
 
@@ -33,32 +35,125 @@ public class Game {
     private ArrayList<Player> players;
 
     /**
-     * List of the cards that have not been distributed yet.
+     * Cards that have not been distributed yet.
      */
-    private ArrayList<Card> cardDeck;
+    private Deck cardDeck;
+
+    /**
+     * Generator of all the random events of the game. Games created with the same
+     * seed and played with the same decisions are identical.
+     */
+    private SplittableRandom random;
+
+    /**
+     * Seed of {@code random}.
+     */
+    private long seed;
+
+    /**
+     * Log of the events of the game, or {@code null} if they are not recorded.
+     */
+    private GameLog eventLog;
 
     private ArrayList<DiplomaGroup> diplomaGroups;
 
+    /**
+     * Packed requirements of the diplomas of {@code diplomaGroups}.
+     */
+    private DiplomaIndex diplomaIndex;
+
+    /**
+     * Buffer of the cards dealt by {@code distributeCards()}, reused by every
+     * distribution.
+     */
+    private final Card[] dealBuffer = new Card[4];
+
+    /**
+     * Id of the game in the process, shared by its forks, see
+     * {@link #getSessionId()}.
+     */
+    private long sessionId;
+
+    /**
+     * Number of modifications of the game, see {@code ModelListener}.
+     */
+    private long version;
+
+    private ModelListener listener;
+
+    private static final AtomicLong NEXT_SESSION_ID = new AtomicLong(1);
+
     private static Game gameInstance = null;
 
     /**
-     * Private constructor for singleton pattern.
+     * Constructor of the {@code Game} class.
      * Initializes game objects.
      */
-    private Game() {
+    public Game() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor of the {@code Game} class.
+     * Initializes game objects. The events of the game are not recorded unless
+     * a log is set by {@link #setEventLog(GameLog)} before adding the players.
+     *
+     * @param seed seed of the generator of the random events of the game
+     */
+    public Game(long seed) {
+        this.seed = seed;
+        this.sessionId = NEXT_SESSION_ID.getAndIncrement();
+        this.random = new SplittableRandom(seed);
+        this.eventLog = null;
         players = new ArrayList<>();
-        cardDeck = new ArrayList<>();
-        diplomaGroups = new ArrayList<>();
+        cardDeck = new Deck(CardCatalog.getInstance());
+        diplomaGroups = DiplomaCatalog.getInstance().getDiplomaGroups();
+        diplomaIndex = DiplomaCatalog.getInstance().getDiplomaIndex();
 
-        currentRound = new Round();
+        currentRound = new Round(players);
 
         roundCount = 1;
-        loadCards();
-        loadDiplomas();
     }
 
     /**
-     * Initializes the game instance if null and returns it.
+     * Constructor of a copy of a {@code Game}, see {@link #fork(long)}.
+     *
+     * @param game the {@code Game} to copy
+     * @param seed seed of the generator of the random events of the copy
+     */
+    private Game(Game game, long seed) {
+        this.seed = seed;
+        this.sessionId = game.sessionId;
+        this.random = new SplittableRandom(seed);
+        this.eventLog = null;
+        this.roundCount = game.roundCount;
+        this.cardDeck = new Deck(game.cardDeck);
+        this.diplomaGroups = game.diplomaGroups;
+        this.diplomaIndex = game.diplomaIndex;
+
+        this.players = new ArrayList<>(game.players.size());
+        for (Player player : game.players) {
+            players.add(new Player(player, this));
+        }
+        this.currentRound = new Round(game.currentRound, game.players, players);
+    }
+
+    /**
+     * Creates an independent copy of the game in its current state, which can be
+     * played without modifying this game. The cards, diplomas and diploma groups
+     * are immutable and shared, everything else is copied. The copy does not
+     * record its events nor notify the listener, and its random events
+     * (shuffles of the deck) are driven by its own generator.
+     *
+     * @param seed seed of the generator of the random events of the copy
+     * @return the copy of the {@code Game}
+     */
+    public Game fork(long seed) {
+        return new Game(this, seed);
+    }
+
+    /**
+     * Initializes the instance shared by the views if null and returns it.
      * 
      * @return the instance of {@code Game}
      */
@@ -81,6 +176,27 @@ public class Game {
         return this.diplomaGroups;
     }
 
+    /**
+     * Packed requirements of the diplomas of {@code getDiplomaGroups()}.
+     */
+    public DiplomaIndex getDiplomaIndex() {
+        return diplomaIndex;
+    }
+
+    /**
+     * Computes the mask of the diplomas that have already been obtained by a
+     * player.
+     *
+     * @return a mask of diplomas
+     */
+    public int getTakenDiplomaMask() {
+        int mask = 0;
+        for (int i = 0; i < players.size(); i++) {
+            mask |= players.get(i).getInventory().getDiplomaPossessedMask();
+        }
+        return mask;
+    }
+
     /**
      * Number of rounds that have been played since the game started.
      */
@@ -88,83 +204,115 @@ public class Game {
         return roundCount;
     }
 
+    /**
+     * Sets the number of rounds played, used by {@code PackedState.decode()}.
+     */
+    void setRoundCount(int roundCount) {
+        this.roundCount = roundCount;
+    }
+
     public ArrayList<Player> getPlayers() {
         return players;
     }
 
     /**
-     * Load cards data from the json files and checks if they have been parsed
-     * correctly
+     * Cards that have not been distributed yet.
      */
-    private void loadCards() {
-        File file = new File("./cards.json");
-        Gson gson = new GsonBuilder().serializeNulls().create();
-        Type cardListType = new TypeToken<ArrayList<Card>>() {
-        }.getType();
-        JsonReader jsonReader;
+    public Deck getCardDeck() {
+        return cardDeck;
+    }
 
-        try {
-            jsonReader = new JsonReader(new FileReader(file));
-            // We read all cards inside the file
-            cardDeck = gson.fromJson(jsonReader, cardListType);
-            for (Card card : cardDeck) {
-                // We check if each card has been initialized correctly
-                card.checkInitialization();
-            }
-            jsonReader.close();
+    /**
+     * Generator of all the random events of the game.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
 
-        } catch (InvalidGameObjectException e) {
-            System.out.println("Game.loadCards() : Failed to load cards.");
-            if (e.getObject() != null) {
-                System.err.println("Index in cardDeck : " + cardDeck.indexOf(e.getObject()));
-            }
-            System.exit(-1);
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Game.loadCards() : Failed to load cards.");
-            System.exit(-1);
+    /**
+     * Seed of the generator of the random events of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Id of the game, unique in the process and shared by the forks of the game.
+     * It identifies the game in the Java Flight Recorder events.
+     */
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    /**
+     * Log of the events of the game, or {@code null} if they are not recorded.
+     */
+    public GameLog getEventLog() {
+        return eventLog;
+    }
+
+    /**
+     * Sets the log in which the events of the game are recorded. To be replayed,
+     * the log must be created with the seed of the game and set before adding
+     * the players.
+     *
+     * @param eventLog a {@code GameLog}, or {@code null} to stop recording events
+     */
+    public void setEventLog(GameLog eventLog) {
+        this.eventLog = eventLog;
+    }
+
+    /**
+     * Number of modifications of the game since it was created : steps of the
+     * game, not the modifications of its round and inventories which have their
+     * own version. Copies start again from 0.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Listener notified of the modifications of the game, or {@code null}.
+     */
+    public ModelListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the listener notified of the modifications of the game, of its round
+     * and of the inventories of its players, including the players added later.
+     *
+     * @param listener a {@code ModelListener}, or {@code null} to stop notifying
+     *                 the modifications
+     */
+    public void setListener(ModelListener listener) {
+        this.listener = listener;
+        currentRound.setListener(listener);
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).getInventory().setListener(listener);
         }
     }
 
     /**
-     * Load diplomas data from the json files and checks if they have been parsed
-     * correctly
+     * Counts a modification of the game and notifies the listener.
      */
-    private void loadDiplomas() {
-        File file = new File("./diplomas.json");
-        Gson gson = new GsonBuilder().serializeNulls().create();
-        Type diplomaGroupListType = new TypeToken<ArrayList<DiplomaGroup>>() {
-        }.getType();
-        JsonReader jsonReader;
+    private void changed() {
+        version++;
+        if (listener != null) {
+            listener.gameChanged(this, version);
+        }
+    }
 
-        try {
-            jsonReader = new JsonReader(new FileReader(file));
-            // We read all diplomas inside the file
-            diplomaGroups = gson.fromJson(jsonReader, diplomaGroupListType);
-            for (DiplomaGroup diplomaGroup : diplomaGroups) {
-                // We check if each diploma has been initialized correctly
-                diplomaGroup.checkInitialization();
-            }
-            jsonReader.close();
-
-        } catch (InvalidGameObjectException e) {
-            Object object = e.getObject();
-            Object parent = e.getParent();
-            System.out.println("Game.loadDiplomas() : Failed to load diplomas.");
-            if (object != null)
-                if (parent == null) {
-                    System.err.println("Index in diplomaGroups : " + diplomaGroups.indexOf(object));
-                } else {
-                    int index = diplomaGroups.indexOf(parent);
-                    System.err.println("Index in diplomaGroups : " + index);
-                    System.err.println(
-                            "Index of diploma in diplomas : " + diplomaGroups.get(index).getDiplomas().indexOf(object));
-                }
-            System.exit(-1);
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("Game.loadCards() : Failed to load cards.");
-            System.exit(-1);
+    /**
+     * Records an event in the log of the game, if any.
+     *
+     * @param type     type of the event
+     * @param subject  player or column concerned by the event
+     * @param argument argument of the event
+     */
+    void record(GameEventType type, int subject, int argument) {
+        if (eventLog != null) {
+            eventLog.append(type, subject, argument);
         }
     }
 
@@ -173,28 +321,209 @@ public class Game {
      * {@code Round} class
      */
     public void distributeCards() {
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        DealEvent event = DealEvent.start();
+        int cardCount = currentRound.getRemainingColumns();
 
-        Card[] cardsToDeal = new Card[currentRound.getRemainingColumns()];
-
-        for (int i = 0; i < cardsToDeal.length; i++) {
+        for (int i = 0; i < cardCount; i++) {
             if (cardDeck.isEmpty()) {
-                loadCards();
+                // Every card of the catalog goes back in the deck
+                cardDeck.refill();
                 shuffleCards();
+                if (EngineMetrics.ENABLED) {
+                    EngineMetrics.DECK_REFILLS.increment();
+                }
+            }
+            dealBuffer[i] = cardDeck.draw();
+        }
+
+        currentRound.addCards(dealBuffer, cardCount);
+
+        if (eventLog != null) {
+            ArrayList<Card>[] gameBoard = currentRound.getGameBoard();
+            for (int i = 0, column = 0; i < cardCount; i++, column++) {
+                while (gameBoard[column] == null) {
+                    column++;
+                }
+                record(GameEventType.DEAL, column, dealBuffer[i].getId());
+            }
+        }
+        changed();
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.DEAL.record(System.nanoTime() - start);
+        }
+        GameEvent.finish(event, sessionId, roundCount, players.size());
+    }
+
+    /**
+     * Prepares the game once the players have been added : shuffles the deck,
+     * gives a starter card to each player and deals the first cards on the board.
+     */
+    public void start() {
+        shuffleCards();
+        randomFirstCardForPlayers();
+        currentRound.setRemainingPlayers(players);
+        currentRound.initBoardWithPlayersCount();
+        distributeCards();
+        record(GameEventType.START, GameLog.NO_SUBJECT, players.size());
+        changed();
+    }
+
+    /**
+     * Removes the specified column from the board for the current player. The
+     * current player cannot take another column until the next round.
+     *
+     * @param index index of the column to take
+     * @return the {@code ArrayList<Card>} of the column
+     */
+    public ArrayList<Card> takeColumn(int index) {
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        record(GameEventType.TAKE_COLUMN, players.indexOf(currentRound.getCurrentPlayer()), index);
+        ArrayList<Card> column = currentRound.removeColumn(index);
+        currentRound.removePlayer(currentRound.getCurrentPlayer());
+        currentRound.setTurnCount(currentRound.getTurnCount() - 1);
+        changed();
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.TAKE_COLUMN.record(System.nanoTime() - start);
+        }
+        return column;
+    }
+
+    /**
+     * Zobrist hash of the position, without the order of the deck which is hidden
+     * to the players : cards on the board, inventory of each player, round,
+     * current player, players who have not taken a column yet, turns and
+     * distributions of the round. The diplomas left in each group are given by
+     * the diploma masks of the inventories. Positions reached by different
+     * sequences of decisions have the same hash.
+     *
+     * @return the hash of the position
+     */
+    public long getPublicHash() {
+        // The board, the players and the turns are hashed by the round as they change
+        long hash = currentRound.getHash() ^ currentRound.getStateHash() ^ Zobrist.key(Zobrist.ROUND, 0, roundCount);
+        for (int i = 0; i < players.size(); i++) {
+            // Rotated so that exchanging the inventories of two players changes the hash
+            hash ^= Long.rotateLeft(players.get(i).getInventory().getHash(), i * 16);
+        }
+        return hash;
+    }
+
+    /**
+     * Zobrist hash of the full position, which is {@code getPublicHash()} with
+     * the cards left in the deck and their order.
+     *
+     * @return the hash of the position
+     */
+    public long getZobristHash() {
+        return getPublicHash() ^ cardDeck.getHash();
+    }
+
+    /**
+     * Checks if the current player can play a turn, see
+     * {@link MoveGenerator#isLegal(Game, int)}.
+     *
+     * @param turn the turn packed by {@code Turn}
+     * @return {@code true} if the turn is legal
+     */
+    public boolean isLegalTurn(int turn) {
+        return MoveGenerator.isLegal(this, turn);
+    }
+
+    /**
+     * Plays the column part of the turn of the current player : takes the column
+     * and adds each of its cards to the inventory according to its choice, or
+     * does nothing if the player passes. The cards of a column can be taken in
+     * any order, so the personal works are added first : the personal works
+     * without pen, whose pen bonuses can be used by the other cards, then the
+     * personal works with a pen and a pen bonus, the other personal works with a
+     * pen, and finally the UVs. Nothing is allocated, apart from the growth of
+     * the lists of the inventory and of the event log.
+     *
+     * The diplomas are not claimed and the turn is not ended : the caller
+     * accepts or refuses each diploma of
+     * {@code Player.findAvailableDiplomaMask()}, found with
+     * {@code getDiplomaIndex().getDiploma()} without allocating, then calls
+     * {@code nextTurn()}.
+     *
+     * @param turn the turn packed by {@code Turn}
+     * @return {@code false} if the turn is not legal, in which case the game is
+     *         unchanged
+     */
+    public boolean playTurn(int turn) {
+        if (!isLegalTurn(turn)) {
+            return false;
+        }
+        if (Turn.isPass(turn)) {
+            return true;
+        }
+
+        Player player = currentRound.getCurrentPlayer();
+        ArrayList<Card> cards = takeColumn(Turn.column(turn));
+        addCards(player, cards, turn, CardChoice.PERSONAL_WORK, true);
+        addCards(player, cards, turn, CardChoice.PERSONAL_WORK_WITH_PEN, true);
+        addCards(player, cards, turn, CardChoice.PERSONAL_WORK_WITH_PEN, false);
+        addCards(player, cards, turn, CardChoice.UV, false);
+        return true;
+    }
+
+    /**
+     * Adds the cards of a column with a given choice to the inventory of a
+     * player.
+     *
+     * @param penBonus {@code true} to add only the personal works with a pen
+     *                 bonus, {@code false} to add only the other ones, ignored
+     *                 for the choices other than
+     *                 {@code PERSONAL_WORK_WITH_PEN}
+     */
+    private static void addCards(Player player, ArrayList<Card> cards, int turn, CardChoice choice,
+            boolean penBonus) {
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            if (Turn.choice(turn, i) == choice && (choice != CardChoice.PERSONAL_WORK_WITH_PEN
+                    || (card.getPersonalWork().getBonus() == Bonus.PEN) == penBonus)) {
+                player.addCard(card, choice);
             }
-            cardsToDeal[i] = cardDeck.remove(0);
+        }
+    }
+
+    /**
+     * Ends the turn of the current player. Deals new cards once every remaining
+     * player has played since the last distribution, and starts a new round when
+     * all the columns have been taken.
+     */
+    public void nextTurn() {
+        record(GameEventType.NEXT_TURN, players.indexOf(currentRound.getCurrentPlayer()), 0);
+        currentRound.setTurnCount(currentRound.getTurnCount() + 1);
+
+        if (currentRound.getTurnCount() == currentRound.getPlayers().size() && currentRound.canPass()) {
+            distributeCards();
+            currentRound.setTurnCount(0);
         }
 
-        currentRound.addCards(cardsToDeal);
+        currentRound.getCurrentPlayer().setPlaying(false);
+        if (!currentRound.getPlayers().isEmpty()) {
+            currentRound.nextPlayer();
+        } else {
+            nextRound();
+            currentRound.initBoardWithPlayersCount();
+            distributeCards();
+        }
+        changed();
     }
 
     /**
      * Allows to end current round and to start a new one
      */
     public void nextRound() {
-        currentRound = new Round();
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        RoundEvent event = RoundEvent.start();
+        currentRound.reset();
         roundCount++;
+        record(GameEventType.NEXT_ROUND, GameLog.NO_SUBJECT, roundCount);
         currentRound.setRemainingPlayers(players);
-        for (Player player : players) {
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
             player.setFirstPlayer(false);
             if (player.getInventory().hasProfessor()) {
                 currentRound.setCurrentPlayer(player);
@@ -202,6 +531,11 @@ public class Game {
             }
         }
         currentRound.getCurrentPlayer().setPlaying(true);
+        changed();
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.ROUND_TRANSITION.record(System.nanoTime() - start);
+        }
+        GameEvent.finish(event, sessionId, roundCount, players.size());
     }
 
     /**
@@ -220,6 +554,17 @@ public class Game {
 
         if (player4 != null)
             players.add(player4);
+
+        String[] playerNames = new String[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            players.get(i).setGame(this);
+            players.get(i).getInventory().setListener(listener);
+            playerNames[i] = players.get(i).getUsername();
+        }
+        if (eventLog != null) {
+            eventLog.setPlayerNames(playerNames);
+        }
+        changed();
     }
 
     /**
@@ -227,14 +572,15 @@ public class Game {
      * This player will be the first one to play on the first round
      */
     public void chooseRandomFirstPlayer() {
-        Random rand = new Random();
-        int i = rand.nextInt(players.size());
+        int i = random.nextInt(players.size());
+        record(GameEventType.FIRST_PLAYER, i, 0);
         Player player = players.get(i);
         player.setPlaying(true);
         player.setFirstPlayer(true);
         player.getInventory().setHasProfessor(true);
 
         currentRound.setCurrentPlayer(players.get(i));
+        changed();
     }
 
     /**
@@ -242,20 +588,22 @@ public class Game {
      * Each starter card is randomly assigned to each player
      */
     public void randomFirstCardForPlayers() {
-        ArrayList<Card> starterCards = new ArrayList<>();
-        for (Card card : cardDeck) {
-            if (card.isStarterCard()) {
-                starterCards.add(card);
-            }
+        CardCatalog catalog = CardCatalog.getInstance();
+        int[] starterCardIds = new int[catalog.getStarterCardCount()];
+        for (int i = 0; i < starterCardIds.length; i++) {
+            starterCardIds[i] = catalog.getStarterCardId(i);
         }
 
-        for (Player player : players) {
-            Random rand = new Random();
-            Card randomCard = starterCards.remove(rand.nextInt(starterCards.size()));
-            cardDeck.remove(randomCard);
+        for (int i = 0; i < players.size(); i++) {
+            // Partial shuffle : each player gets one of the starter cards not given yet
+            int j = i + random.nextInt(starterCardIds.length - i);
+            int cardId = starterCardIds[j];
+            starterCardIds[j] = starterCardIds[i];
+            cardDeck.remove(cardId);
 
-            player.addToPersonalWork(randomCard);
-            player.addToUv(randomCard);
+            Card randomCard = catalog.getCard(cardId);
+            players.get(i).addToPersonalWork(randomCard);
+            players.get(i).addToUv(randomCard);
         }
     }
 
@@ -263,7 +611,7 @@ public class Game {
      * Allows to shuffle the values of the card deck
      */
     public void shuffleCards() {
-        Collections.shuffle(cardDeck);
+        cardDeck.shuffle(random);
     }
 
     /**
@@ -279,13 +627,8 @@ public class Game {
         if (roundCount >= 15) {
             gameOver = true;
         } else {
-            for (Player player : players) {
-                int uvCount = 0;
-                for (UV uv : player.getInventory().getUvPossessed()) {
-                    uvCount++;
-                }
-
-                if (uvCount >= 11) {
+            for (int i = 0; i < players.size(); i++) {
+                if (players.get(i).getInventory().getUvCount() >= 11) {
                     gameOver = true;
                     break;
                 }
@@ -0,0 +1,168 @@
+package kanagawa.models;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import kanagawa.models.enums.GameEventType;
+
+/**
+ * Append-only log of every event of a game. Each event is packed in an
+ * {@code int} : its {@code GameEventType} in the upper 8 bits, its subject (a
+ * player index, or a column index for {@code DEAL}) in the next 8 bits and its
+ * argument (a card id, a column index, a personal work index, a diploma id or a
+ * round number) in the lower 16 bits.
+ * Together with the seed of the game, the log is enough to replay the game
+ * with {@code GameReplay}.
+ */
+public class GameLog {
+
+    /**
+     * Identifies the binary format of the log.
+     */
+    private static final int MAGIC = 0x4B4C4F47;
+
+    private static final int VERSION = 1;
+
+    private static final GameEventType[] TYPES = GameEventType.values();
+
+    /**
+     * Subject of the events which do not concern a player.
+     */
+    public static final int NO_SUBJECT = 0xFF;
+
+    /**
+     * Seed of the random generator of the game.
+     */
+    private final long seed;
+
+    private String[] playerNames;
+
+    private int[] events;
+
+    private int size;
+
+    /**
+     * Constructor of the {@code GameLog} class.
+     *
+     * @param seed seed of the random generator of the game
+     */
+    public GameLog(long seed) {
+        this.seed = seed;
+        this.playerNames = new String[0];
+        this.events = new int[256];
+    }
+
+    /**
+     * Appends an event to the log.
+     *
+     * @param type     type of the event
+     * @param subject  player or column concerned by the event
+     * @param argument argument of the event
+     */
+    public void append(GameEventType type, int subject, int argument) {
+        if (size == events.length) {
+            events = Arrays.copyOf(events, size * 2);
+        }
+        events[size++] = type.ordinal() << 24 | (subject & 0xFF) << 16 | (argument & 0xFFFF);
+    }
+
+    /**
+     * Seed of the random generator of the game.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    public String[] getPlayerNames() {
+        return playerNames;
+    }
+
+    void setPlayerNames(String[] playerNames) {
+        this.playerNames = playerNames;
+    }
+
+    /**
+     * Number of events in the log.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the packed event at the given position.
+     */
+    public int getEvent(int index) {
+        return events[index];
+    }
+
+    public static GameEventType getType(int event) {
+        return TYPES[event >>> 24];
+    }
+
+    public static int getSubject(int event) {
+        return (event >>> 16) & 0xFF;
+    }
+
+    public static int getArgument(int event) {
+        return event & 0xFFFF;
+    }
+
+    /**
+     * Writes the log in a compact binary format.
+     *
+     * @param out the stream to write to
+     * @throws IOException
+     */
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(seed);
+        out.writeByte(playerNames.length);
+        for (String playerName : playerNames) {
+            out.writeUTF(playerName);
+        }
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeInt(events[i]);
+        }
+    }
+
+    /**
+     * Reads a log written by {@code write()}.
+     *
+     * @param in the stream to read from
+     * @return the {@code GameLog}
+     * @throws IOException if the stream does not contain a valid log
+     */
+    public static GameLog read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("GameLog.read() : Invalid game log.");
+        }
+
+        GameLog log = new GameLog(in.readLong());
+        String[] playerNames = new String[in.readByte()];
+        for (int i = 0; i < playerNames.length; i++) {
+            playerNames[i] = in.readUTF();
+        }
+        log.setPlayerNames(playerNames);
+
+        log.size = in.readInt();
+        log.events = new int[Math.max(log.size, 1)];
+        for (int i = 0; i < log.size; i++) {
+            log.events[i] = in.readInt();
+        }
+        return log;
+    }
+
+    /**
+     * Checks if two logs contain the same events.
+     *
+     * @param other the {@code GameLog} to compare
+     * @return a {@code boolean}
+     */
+    public boolean hasSameEvents(GameLog other) {
+        return Arrays.equals(events, 0, size, other.events, 0, other.size);
+    }
+}
@@ -0,0 +1,133 @@
+package kanagawa.models;
+
+import kanagawa.models.enums.CardChoice;
+import kanagawa.models.enums.GameEventType;
+
+/**
+ * Rebuilds a game from its {@code GameLog}. The game is created with the seed
+ * of the log, so that the random events (first player, shuffles and deals) are
+ * the same, and the decisions of the players are applied one by one.
+ */
+public class GameReplay {
+
+    private final GameLog log;
+
+    private final Game game;
+
+    /**
+     * Position of the next event to apply in the log.
+     */
+    private int position;
+
+    /**
+     * Constructor of the {@code GameReplay} class. Prepares the game up to the
+     * first decision of the players.
+     *
+     * @param log the {@code GameLog} to replay
+     */
+    public GameReplay(GameLog log) {
+        this.log = log;
+        this.game = new Game(log.getSeed());
+
+        String[] playerNames = log.getPlayerNames();
+        Player[] players = new Player[4];
+        for (int i = 0; i < playerNames.length; i++) {
+            players[i] = new Player(playerNames[i]);
+        }
+        game.addPlayers(players[0], players[1], players[2], players[3]);
+        game.chooseRandomFirstPlayer();
+        game.start();
+
+        // The events before the start of the game are produced again by start()
+        while (position < log.size() && GameLog.getType(log.getEvent(position)) != GameEventType.START) {
+            position++;
+        }
+        position++;
+    }
+
+    /**
+     * Replays a whole log.
+     *
+     * @param log the {@code GameLog} to replay
+     * @return the {@code Game} in the state it had at the end of the log
+     */
+    public static Game replay(GameLog log) {
+        GameReplay replay = new GameReplay(log);
+        while (replay.hasNext()) {
+            replay.step();
+        }
+        return replay.getGame();
+    }
+
+    /**
+     * The {@code Game} being rebuilt.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Position of the next event to apply in the log.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    public boolean hasNext() {
+        return position < log.size();
+    }
+
+    /**
+     * Applies the next event of the log. Events which are not decisions are
+     * skipped, they are produced again by the game itself.
+     *
+     * @return the {@code GameEventType} of the event
+     */
+    public GameEventType step() {
+        int event = log.getEvent(position++);
+        GameEventType type = GameLog.getType(event);
+        int argument = GameLog.getArgument(event);
+        Player player = type.isDecision() ? game.getPlayers().get(GameLog.getSubject(event)) : null;
+        CardCatalog catalog = CardCatalog.getInstance();
+
+        switch (type) {
+            case TAKE_COLUMN:
+                game.takeColumn(argument);
+                break;
+            case PERSONAL_WORK:
+                player.addToPersonalWork(catalog.getCard(argument), false);
+                break;
+            case PERSONAL_WORK_WITH_PEN:
+                player.removePen();
+                player.addToPersonalWork(catalog.getCard(argument), true);
+                break;
+            case UV:
+                player.addToUv(catalog.getCard(argument));
+                break;
+            case REMOVE_PERSONAL_WORK:
+                player.removeCard(catalog.getCard(argument), CardChoice.PERSONAL_WORK);
+                break;
+            case REMOVE_UV:
+                player.removeCard(catalog.getCard(argument), CardChoice.UV);
+                break;
+            case PLACE_PEN:
+                player.placePen(argument);
+                break;
+            case TAKE_BACK_PEN:
+                player.takeBackPen(argument);
+                break;
+            case ACCEPT_DIPLOMA:
+                player.acceptDiploma(game.getDiplomaIndex().getDiploma(argument));
+                break;
+            case REFUSE_DIPLOMA:
+                player.refuseDiploma(game.getDiplomaIndex().getDiploma(argument));
+                break;
+            case NEXT_TURN:
+                game.nextTurn();
+                break;
+            default:
+                break;
+        }
+        return type;
+    }
+}
@@ -1,13 +1,20 @@
 package kanagawa.models;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import kanagawa.models.enums.Bonus;
 import kanagawa.models.enums.Skill;
+import kanagawa.models.enums.UVCategory;
 
 /**
  * Class implementing the inventory of the {@code Player}. The inventory
  * contains all the items possessed by the player.
+ * The number of skill points, of UVs in each category and of pens placed on
+ * each skill are counted as the personal works and UVs are added or removed, so
+ * that they can be queried in constant time.
  */
 public class Inventory {
 
@@ -20,8 +27,51 @@ public class Inventory {
 
     private ArrayList<PersonalWork> pwPossessed;
 
+    /**
+     * Indicates if a pen is placed on the personal work at the same index in
+     * {@code pwPossessed}.
+     */
+    private boolean[] pens;
+
     private ArrayList<UV> uvPossessed;
 
+    /**
+     * Read-only views of {@code pwPossessed} and {@code uvPossessed}.
+     */
+    private List<PersonalWork> pwView;
+
+    private List<UV> uvView;
+
+    /**
+     * Number of personal works possessed in each {@code Skill}.
+     */
+    private int[] skillCounts;
+
+    /**
+     * Number of personal works with a pen on them in each {@code Skill}.
+     */
+    private int[] penPlacedCounts;
+
+    /**
+     * Number of UVs possessed in each {@code UVCategory}.
+     */
+    private int[] uvCategoryCounts;
+
+    /**
+     * UV and skill counts packed by {@code DiplomaIndex.pack()}.
+     */
+    private long packedCounts;
+
+    /**
+     * Masks of the diplomas possessed, refused, and belonging to a group in which
+     * the player already has got a diploma.
+     */
+    private int diplomaPossessedMask;
+
+    private int refusedDiplomaMask;
+
+    private int unavailableDiplomaMask;
+
     private ArrayList<Diploma> diplomaPossessed;
 
     /**
@@ -40,29 +90,93 @@ public class Inventory {
     private boolean hasProfessor;
 
     /**
-     * Constructor of {@code Card} class.
+     * Zobrist hash of the counts, pens, credits, professor and diploma masks of
+     * the inventory, updated by every modification.
+     */
+    private long hash;
+
+    /**
+     * Number of modifications of the inventory, see {@code ModelListener}.
+     */
+    private long version;
+
+    private ModelListener listener;
+
+    /**
+     * Initial capacity of the lists of personal works and UVs, enough for most
+     * games so that adding a card does not allocate.
+     */
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * Constructor of {@code Inventory} class.
      */
     public Inventory() {
         this.credits = 0;
         this.penCount = 2;
-        this.pwPossessed = new ArrayList<PersonalWork>();
-        this.uvPossessed = new ArrayList<UV>();
-        this.diplomaPossessed = new ArrayList<Diploma>();
-        this.refusedDiplomas = new ArrayList<Diploma>();
-        this.unavailableDiplomaGroups = new ArrayList<DiplomaGroup>();
+        this.pwPossessed = new ArrayList<PersonalWork>(INITIAL_CAPACITY);
+        this.pens = new boolean[INITIAL_CAPACITY];
+        this.uvPossessed = new ArrayList<UV>(INITIAL_CAPACITY);
+        this.pwView = Collections.unmodifiableList(pwPossessed);
+        this.uvView = Collections.unmodifiableList(uvPossessed);
+        this.skillCounts = new int[Skill.length];
+        this.penPlacedCounts = new int[Skill.length];
+        this.uvCategoryCounts = new int[UVCategory.length];
+        // The diploma masks limit the game to Integer.SIZE diplomas
+        this.diplomaPossessed = new ArrayList<Diploma>(Integer.SIZE);
+        this.refusedDiplomas = new ArrayList<Diploma>(Integer.SIZE);
+        this.unavailableDiplomaGroups = new ArrayList<DiplomaGroup>(Integer.SIZE);
         this.hasProfessor = false;
+        this.hash = Zobrist.key(Zobrist.PENS, 0, penCount);
+    }
+
+    /**
+     * Constructor of a copy of an {@code Inventory}. Personal works, UVs and
+     * diplomas are immutable and shared with the copy, the listener is not.
+     *
+     * @param inventory the {@code Inventory} to copy
+     */
+    public Inventory(Inventory inventory) {
+        this.credits = inventory.credits;
+        this.penCount = inventory.penCount;
+        this.pwPossessed = new ArrayList<PersonalWork>(Math.max(INITIAL_CAPACITY, inventory.pwPossessed.size()));
+        this.pwPossessed.addAll(inventory.pwPossessed);
+        this.pens = inventory.pens.clone();
+        this.uvPossessed = new ArrayList<UV>(Math.max(INITIAL_CAPACITY, inventory.uvPossessed.size()));
+        this.uvPossessed.addAll(inventory.uvPossessed);
+        this.pwView = Collections.unmodifiableList(pwPossessed);
+        this.uvView = Collections.unmodifiableList(uvPossessed);
+        this.skillCounts = inventory.skillCounts.clone();
+        this.penPlacedCounts = inventory.penPlacedCounts.clone();
+        this.uvCategoryCounts = inventory.uvCategoryCounts.clone();
+        this.packedCounts = inventory.packedCounts;
+        this.diplomaPossessed = new ArrayList<Diploma>(inventory.diplomaPossessed);
+        this.refusedDiplomas = new ArrayList<Diploma>(inventory.refusedDiplomas);
+        this.unavailableDiplomaGroups = new ArrayList<DiplomaGroup>(inventory.unavailableDiplomaGroups);
+        this.diplomaPossessedMask = inventory.diplomaPossessedMask;
+        this.refusedDiplomaMask = inventory.refusedDiplomaMask;
+        this.unavailableDiplomaMask = inventory.unavailableDiplomaMask;
+        this.hasProfessor = inventory.hasProfessor;
+        this.hash = inventory.hash;
     }
 
     public int getCredits() {
         return credits;
     }
 
-    public ArrayList<PersonalWork> getPwPossessed() {
-        return pwPossessed;
+    /**
+     * Returns a read-only view of the personal works possessed, in the order they
+     * were added.
+     */
+    public List<PersonalWork> getPwPossessed() {
+        return pwView;
     }
 
-    public ArrayList<UV> getUvPossessed() {
-        return uvPossessed;
+    /**
+     * Returns a read-only view of the UVs possessed, in the order they were added.
+     */
+    public List<UV> getUvPossessed() {
+        return uvView;
     }
 
     public ArrayList<Diploma> getDiplomaPossessed() {
@@ -99,11 +213,15 @@ public class Inventory {
 
     // Setters
     public void setCredits(int credits) {
+        hash ^= Zobrist.key(Zobrist.CREDITS, 0, this.credits) ^ Zobrist.key(Zobrist.CREDITS, 0, credits);
         this.credits = credits;
+        changed();
     }
 
     public void setPenCount(int penCount) {
+        hash ^= Zobrist.key(Zobrist.PENS, 0, this.penCount) ^ Zobrist.key(Zobrist.PENS, 0, penCount);
         this.penCount = penCount;
+        changed();
     }
 
     /**
@@ -113,13 +231,18 @@ public class Inventory {
      *                     next round
      */
     public void setHasProfessor(boolean hasProfessor) {
+        if (this.hasProfessor != hasProfessor) {
+            hash ^= Zobrist.key(Zobrist.PROFESSOR, 0, 1);
+        }
         this.hasProfessor = hasProfessor;
+        changed();
     }
 
     /**
-     * Adds a diploma to the inventory of the player, adds the group of the added
-     * diploma to the list of unavailable diploma groups and removes the diploma
-     * from its {@code DiplomaGroup} so that it is no longer available.
+     * Adds a diploma to the inventory of the player and adds the group of the
+     * added diploma to the list of unavailable diploma groups. The diploma is no
+     * longer available to the other players of the game, see
+     * {@code Game.getTakenDiplomaMask()}.
      * 
      * @param diploma
      */
@@ -130,8 +253,13 @@ public class Inventory {
         }
         this.diplomaPossessed.add(diploma);
         this.unavailableDiplomaGroups.add(diploma.getGroup());
-        diploma.getGroup().getDiplomas().remove(diploma);
-        credits += diploma.getCredit();
+        hash ^= Zobrist.maskKeys(Zobrist.DIPLOMA_POSSESSED, diplomaPossessedMask,
+                diplomaPossessedMask | diploma.getMask());
+        hash ^= Zobrist.maskKeys(Zobrist.DIPLOMA_UNAVAILABLE, unavailableDiplomaMask,
+                unavailableDiplomaMask | diploma.getGroupMask());
+        diplomaPossessedMask |= diploma.getMask();
+        unavailableDiplomaMask |= diploma.getGroupMask();
+        setCredits(credits + diploma.getCredit());
     }
 
     /**
@@ -144,6 +272,9 @@ public class Inventory {
             System.err.println("Inventory.addRefusedDiploma() : Diploma already refused.");
         }
         this.refusedDiplomas.add(diploma);
+        hash ^= Zobrist.maskKeys(Zobrist.DIPLOMA_REFUSED, refusedDiplomaMask, refusedDiplomaMask | diploma.getMask());
+        refusedDiplomaMask |= diploma.getMask();
+        changed();
     }
 
     @Override
@@ -157,15 +288,166 @@ public class Inventory {
                 '}';
     }
 
+    /**
+     * Adds a personal work without a pen to the inventory.
+     *
+     * @param pw the {@code PersonalWork} to add
+     */
     public void addPersonalWork(PersonalWork pw) {
+        addPersonalWork(pw, false);
+    }
+
+    /**
+     * Adds a personal work to the inventory.
+     *
+     * @param pw     the {@code PersonalWork} to add
+     * @param hasPen {@code true} if a pen is placed on it
+     */
+    public void addPersonalWork(PersonalWork pw, boolean hasPen) {
+        int index = pwPossessed.size();
+        if (index == pens.length) {
+            pens = Arrays.copyOf(pens, index * 2);
+        }
         pwPossessed.add(pw);
+        pens[index] = hasPen;
+        setSkillCount(pw.getSkill(), skillCounts[pw.getSkill().toInt()] + 1);
+        if (hasPen) {
+            addPenPlaced(pw.getSkill(), 1);
+        }
+
         if (pw.getBonus() == Bonus.PROFESSOR) {
             setHasProfessor(true);
         }
+        changed();
+    }
+
+    /**
+     * Removes the last occurrence of a personal work from the inventory.
+     *
+     * @param pw the {@code PersonalWork} to remove
+     * @return {@code true} if a pen was placed on the removed personal work
+     */
+    public boolean removePersonalWork(PersonalWork pw) {
+        int index = pwPossessed.lastIndexOf(pw);
+        if (index < 0) {
+            System.err.println("Inventory.removePersonalWork() : Personal work not possessed.");
+            return false;
+        }
+
+        boolean hadPen = pens[index];
+        pwPossessed.remove(index);
+        System.arraycopy(pens, index + 1, pens, index, pwPossessed.size() - index);
+        setSkillCount(pw.getSkill(), skillCounts[pw.getSkill().toInt()] - 1);
+        if (hadPen) {
+            addPenPlaced(pw.getSkill(), -1);
+        }
+        changed();
+        return hadPen;
     }
 
     public void addUv(UV uv) {
         uvPossessed.add(uv);
+        setUvCategoryCount(uv.getUvCategory(), uvCategoryCounts[uv.getUvCategory().toInt()] + 1);
+        changed();
+    }
+
+    /**
+     * Removes the last occurrence of a UV from the inventory.
+     *
+     * @param uv the {@code UV} to remove
+     */
+    public void removeUv(UV uv) {
+        int index = uvPossessed.lastIndexOf(uv);
+        if (index < 0) {
+            System.err.println("Inventory.removeUv() : UV not possessed.");
+            return;
+        }
+        uvPossessed.remove(index);
+        setUvCategoryCount(uv.getUvCategory(), uvCategoryCounts[uv.getUvCategory().toInt()] - 1);
+        changed();
+    }
+
+    /**
+     * Indicates if a pen is placed on the personal work at the given index of
+     * {@code getPwPossessed()}.
+     *
+     * @param index index of the personal work
+     * @return a {@code boolean}
+     */
+    public boolean hasPen(int index) {
+        return pens[index];
+    }
+
+    /**
+     * Places or removes a pen on the personal work at the given index of
+     * {@code getPwPossessed()}. The number of pens left is not modified.
+     *
+     * @param index  index of the personal work
+     * @param hasPen {@code true} to place a pen
+     */
+    public void setHasPen(int index, boolean hasPen) {
+        if (pens[index] != hasPen) {
+            pens[index] = hasPen;
+            addPenPlaced(pwPossessed.get(index).getSkill(), hasPen ? 1 : -1);
+            changed();
+        }
+    }
+
+    /**
+     * Number of modifications of the inventory since it was created. Copies
+     * start again from 0.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the listener called after each modification of the inventory, see
+     * {@link Game#setListener(ModelListener)}.
+     */
+    void setListener(ModelListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Counts a modification of the inventory and notifies the listener.
+     */
+    private void changed() {
+        version++;
+        if (listener != null) {
+            listener.inventoryChanged(this, version);
+        }
+    }
+
+    /**
+     * Updates the number of points in a skill and its packed value and hash.
+     */
+    private void setSkillCount(Skill skill, int count) {
+        int i = skill.toInt();
+        hash ^= Zobrist.key(Zobrist.SKILL, i, skillCounts[i]) ^ Zobrist.key(Zobrist.SKILL, i, count);
+        skillCounts[i] = count;
+        packedCounts = DiplomaIndex.withSkill(packedCounts, skill, count);
+    }
+
+    /**
+     * Updates the number of UVs in a category and its packed value and hash.
+     */
+    private void setUvCategoryCount(UVCategory uvCategory, int count) {
+        int i = uvCategory.toInt();
+        hash ^= Zobrist.key(Zobrist.UV_CATEGORY, i, uvCategoryCounts[i]) ^ Zobrist.key(Zobrist.UV_CATEGORY, i, count);
+        uvCategoryCounts[i] = count;
+        packedCounts = DiplomaIndex.withUvCategory(packedCounts, uvCategory, count);
+    }
+
+    /**
+     * Updates the number of pens placed on the personal works of a skill and its
+     * hash.
+     */
+    private void addPenPlaced(Skill skill, int delta) {
+        int i = skill.toInt();
+        int count = penPlacedCounts[i] + delta;
+        hash ^= Zobrist.key(Zobrist.PEN_PLACED, i, penPlacedCounts[i]) ^ Zobrist.key(Zobrist.PEN_PLACED, i, count);
+        penPlacedCounts[i] = count;
     }
 
     /**
@@ -175,12 +457,96 @@ public class Inventory {
      * @return an {@code int}
      */
     public int getSkillCount(Skill skill) {
-        int count = 0;
-        for (PersonalWork pw : pwPossessed) {
-            if (pw.getSkill() == skill) {
-                count++;
+        return skillCounts[skill.toInt()];
+    }
+
+    /**
+     * Number of personal works with a pen on them in a given {@code Skill}.
+     *
+     * @param skill The {@code Skill} category to analyse
+     * @return an {@code int}
+     */
+    public int getPenPlacedCount(Skill skill) {
+        return penPlacedCounts[skill.toInt()];
+    }
+
+    /**
+     * Number of UVs the player possesses in a given {@code UVCategory}.
+     *
+     * @param uvCategory The {@code UVCategory} to analyse
+     * @return an {@code int}
+     */
+    public int getUvCategoryCount(UVCategory uvCategory) {
+        return uvCategoryCounts[uvCategory.toInt()];
+    }
+
+    /**
+     * Number of UVs the player possesses.
+     */
+    public int getUvCount() {
+        return uvPossessed.size();
+    }
+
+    /**
+     * UV and skill counts packed by {@code DiplomaIndex.pack()}.
+     */
+    public long getPackedCounts() {
+        return packedCounts;
+    }
+
+    /**
+     * Zobrist hash of the inventory. Two inventories with the same counts in each
+     * skill and UV category, the same pens placed per skill, pens left, credits,
+     * professor and diploma masks have the same hash, whatever the order in which
+     * their cards were added.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Mask of the diplomas possessed.
+     */
+    public int getDiplomaPossessedMask() {
+        return diplomaPossessedMask;
+    }
+
+    /**
+     * Mask of the diplomas that the player has already refused.
+     */
+    public int getRefusedDiplomaMask() {
+        return refusedDiplomaMask;
+    }
+
+    /**
+     * Mask of the diplomas belonging to a group in which the player already has
+     * got a diploma.
+     */
+    public int getUnavailableDiplomaMask() {
+        return unavailableDiplomaMask;
+    }
+
+    /**
+     * Checks if the player has enough UVs in each category and enough points in
+     * each skill to obtain a diploma.
+     *
+     * @param diploma the {@code Diploma} to test
+     * @return a {@code boolean}
+     */
+    public boolean meetsRequirements(Diploma diploma) {
+        int[] necessaryUVs = diploma.getUVArray();
+        for (int i = 0; i < necessaryUVs.length; i++) {
+            if (uvCategoryCounts[i] < necessaryUVs[i]) {
+                return false;
+            }
+        }
+
+        int[] necessarySkills = diploma.getSkillArray();
+        for (int i = 0; i < necessarySkills.length; i++) {
+            if (skillCounts[i] < necessarySkills[i]) {
+                return false;
             }
         }
-        return count;
+        return true;
     }
 }
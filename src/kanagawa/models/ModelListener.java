@@ -0,0 +1,41 @@
+package kanagawa.models;
+
+/**
+ * Interface receiving the modifications of a {@code Game}, of its
+ * {@code Round} and of the {@code Inventory} of its players, see
+ * {@link Game#setListener(ModelListener)}. Each modification increments the
+ * version of the modified object, and the listener is called with the new
+ * version on the thread modifying the game. Copies of the game made by
+ * {@code Game.fork()} have no listener.
+ */
+public interface ModelListener {
+
+    /**
+     * Called after each modification of the inventory of a player.
+     *
+     * @param inventory the modified {@code Inventory}
+     * @param version   its version, see {@link Inventory#getVersion()}
+     */
+    default void inventoryChanged(Inventory inventory, long version) {
+    }
+
+    /**
+     * Called after each modification of the board, of the current player or of
+     * the remaining players of the round.
+     *
+     * @param round   the modified {@code Round}
+     * @param version its version, see {@link Round#getVersion()}
+     */
+    default void roundChanged(Round round, long version) {
+    }
+
+    /**
+     * Called after each step of the game : start, column taken, end of a turn,
+     * new round...
+     *
+     * @param game    the modified {@code Game}
+     * @param version its version, see {@link Game#getVersion()}
+     */
+    default void gameChanged(Game game, long version) {
+    }
+}
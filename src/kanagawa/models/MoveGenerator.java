@@ -0,0 +1,191 @@
+package kanagawa.models;
+
+import java.util.ArrayList;
+
+import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.CardChoice;
+import kanagawa.models.enums.Skill;
+
+/**
+ * Class enumerating and checking the complete turns of the current player,
+ * packed by {@code Turn} : passing, or taking a column with a choice for each
+ * of its cards. The rules are the ones of the game window, where the cards of
+ * a column can be taken in any order : a player who has taken a column has no
+ * turn left until the next round, a column must still be on the board, a
+ * UV needs a pen placed on a personal work of its skill, possibly by another
+ * card of the column, a pen can only be placed if the player has one left,
+ * possibly given by the pen bonus of another card of the column, and passing
+ * is only possible while the columns are not full. A personal work with a pen
+ * is only generated if the player has a pen, so that no two turns have the
+ * same effect.
+ *
+ * Nothing is allocated : the turns are written to a buffer provided by the
+ * caller.
+ */
+public final class MoveGenerator {
+
+    /**
+     * Maximum number of turns available to a player : passing, or taking one of 4
+     * columns with 3 choices for each of its 3 cards. Size of the buffers given to
+     * {@code generate()}.
+     */
+    public static final int MAX_TURNS = 1 + 4 * 27;
+
+    private static final Skill[] SKILLS = Skill.values();
+
+    private MoveGenerator() {
+    }
+
+    /**
+     * Generates every legal turn of the current player.
+     *
+     * @param game  the {@code Game} being played
+     * @param turns buffer of at least {@code MAX_TURNS} elements receiving the
+     *              turns
+     * @return the number of turns generated
+     */
+    public static int generate(Game game, int[] turns) {
+        Round round = game.getCurrentRound();
+        ArrayList<Card>[] gameBoard = round.getGameBoard();
+        Player player = round.getCurrentPlayer();
+        int pens = player.getPenCount();
+        int penSkills = penSkillMask(player.getInventory());
+        int count = 0;
+
+        if (!round.getPlayers().contains(player)) {
+            // The player has already taken a column this round
+            return 0;
+        }
+        if (round.canPass()) {
+            turns[count++] = Turn.PASS;
+        }
+        for (int column = 0; column < gameBoard.length; column++) {
+            if (gameBoard[column] != null) {
+                count = generateChoices(gameBoard[column], 0, column, pens, penSkills, turns, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Generates the choices of the cards of a column from the card
+     * {@code index}, the previous cards being already chosen in {@code turn},
+     * and keeps the complete choices which are legal.
+     *
+     * @param pens      pens of the player
+     * @param penSkills mask of the skills with a pen placed before the turn
+     * @return the number of turns in the buffer
+     */
+    private static int generateChoices(ArrayList<Card> cards, int index, int turn, int pens, int penSkills,
+            int[] turns, int count) {
+        if (index == cards.size()) {
+            if (isLegalChoices(cards, turn, pens, penSkills)) {
+                turns[count++] = turn;
+            }
+            return count;
+        }
+
+        count = generateChoices(cards, index + 1, Turn.withChoice(turn, index, CardChoice.PERSONAL_WORK), pens,
+                penSkills, turns, count);
+        count = generateChoices(cards, index + 1, Turn.withChoice(turn, index, CardChoice.PERSONAL_WORK_WITH_PEN),
+                pens, penSkills, turns, count);
+        return generateChoices(cards, index + 1, Turn.withChoice(turn, index, CardChoice.UV), pens, penSkills,
+                turns, count);
+    }
+
+    /**
+     * Checks if the current player can play a turn.
+     *
+     * @param game the {@code Game} being played
+     * @param turn the turn packed by {@code Turn}
+     * @return {@code true} if the turn is legal
+     */
+    public static boolean isLegal(Game game, int turn) {
+        Round round = game.getCurrentRound();
+        if (!round.getPlayers().contains(round.getCurrentPlayer())) {
+            return false;
+        }
+        int column = Turn.column(turn);
+        if (column == Turn.PASS) {
+            return turn == Turn.PASS && round.canPass();
+        }
+
+        ArrayList<Card>[] gameBoard = round.getGameBoard();
+        if (column >= gameBoard.length || gameBoard[column] == null) {
+            return false;
+        }
+        ArrayList<Card> cards = gameBoard[column];
+        if (turn >>> (3 + 2 * cards.size()) != 0) {
+            return false;
+        }
+        for (int i = 0; i < cards.size(); i++) {
+            if ((turn >>> (3 + 2 * i) & 3) == 3) {
+                return false;
+            }
+        }
+
+        Player player = round.getCurrentPlayer();
+        return isLegalChoices(cards, turn, player.getPenCount(), penSkillMask(player.getInventory()));
+    }
+
+    /**
+     * Checks the choices of the cards of a column. The cards can be taken in any
+     * order, so the personal works are placed first : the pen bonuses of the
+     * personal works without pen can be used by the others, a personal work with
+     * a pen and a pen bonus only needs one pen to give it back, and each UV is
+     * checked against the pens placed by the whole column.
+     *
+     * @param pens      pens of the player
+     * @param penSkills mask of the skills with a pen placed before the turn
+     * @return {@code true} if the choices are legal
+     */
+    private static boolean isLegalChoices(ArrayList<Card> cards, int turn, int pens, int penSkills) {
+        int withPen = 0;
+        int withPenAndBonus = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            PersonalWork personalWork = cards.get(i).getPersonalWork();
+            boolean penBonus = personalWork.getBonus() == Bonus.PEN;
+            switch (Turn.choice(turn, i)) {
+                case PERSONAL_WORK:
+                    if (penBonus) {
+                        pens++;
+                    }
+                    break;
+                case PERSONAL_WORK_WITH_PEN:
+                    withPen++;
+                    if (penBonus) {
+                        withPenAndBonus++;
+                    }
+                    penSkills |= 1 << personalWork.getSkill().toInt();
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (withPen > 0 && pens < Math.max(1, withPen - withPenAndBonus)) {
+            return false;
+        }
+
+        for (int i = 0; i < cards.size(); i++) {
+            if (Turn.choice(turn, i) == CardChoice.UV
+                    && (penSkills & 1 << cards.get(i).getUv().getSkill().toInt()) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Mask of the skills with at least one pen placed on a personal work : bit
+     * {@code i} is set for the skill {@code i}.
+     */
+    private static int penSkillMask(Inventory inventory) {
+        int penSkills = 0;
+        for (int i = 0; i < SKILLS.length; i++) {
+            if (inventory.getPenPlacedCount(SKILLS[i]) > 0) {
+                penSkills |= 1 << i;
+            }
+        }
+        return penSkills;
+    }
+}
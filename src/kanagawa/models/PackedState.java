@@ -0,0 +1,366 @@
+package kanagawa.models;
+
+import java.util.ArrayList;
+
+import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.Skill;
+import kanagawa.models.enums.UVCategory;
+
+/**
+ * Class packing the state of a {@code Game} between two turns in a fixed number
+ * of {@code long}s, so that positions can be stored by millions or sent over
+ * the network without their object graph. The state contains :
+ * <ul>
+ * <li>the number of players, the round, the current and first players, the
+ * players who have not taken a column yet, and the turns and distributions of
+ * the round,</li>
+ * <li>the card ids of each column of the board,</li>
+ * <li>the cards left in the deck, without their order,</li>
+ * <li>for each player, the points in each skill, the UVs in each category, the
+ * pens placed on each skill, the pens left, the credits, the professor and the
+ * masks of the diplomas obtained and refused.</li>
+ * </ul>
+ * The inventories are stored by counts, as the rules only depend on them : the
+ * decoded inventories contain cards of the catalog with the right skills and
+ * categories, not necessarily the cards that were played. The order of the
+ * deck is hidden to the players and is shuffled by the decoded game, and the
+ * names of the players and the event log are not kept.
+ */
+public final class PackedState {
+
+    private static final int PLAYER_COUNT_BITS = 3;
+
+    private static final int ROUND_BITS = 5;
+
+    /**
+     * Seats are stored plus one, 0 meaning no player.
+     */
+    private static final int SEAT_BITS = 3;
+
+    private static final int TURN_COUNT_BITS = 4;
+
+    private static final int DISTRIBUTION_COUNT_BITS = 2;
+
+    private static final int COLUMN_COUNT = 4;
+
+    /**
+     * Number of personal works, UVs or pens of a player in a skill or category.
+     */
+    private static final int COUNT_BITS = 6;
+
+    private static final int CREDIT_BITS = 8;
+
+    private static final int MAX_PLAYERS = 4;
+
+    /**
+     * Bits of the inventory of a player, left at 0 for the missing players.
+     */
+    private static final int INVENTORY_BITS = (2 * Skill.length + UVCategory.length + 1) * COUNT_BITS + CREDIT_BITS
+            + 1 + 2 * Integer.SIZE;
+
+    private PackedState() {
+    }
+
+    /**
+     * Number of {@code long}s of a packed state, the same for every game.
+     */
+    public static int length() {
+        CardCatalog catalog = CardCatalog.getInstance();
+        int bits = PLAYER_COUNT_BITS + ROUND_BITS + 2 * SEAT_BITS + MAX_PLAYERS + TURN_COUNT_BITS
+                + DISTRIBUTION_COUNT_BITS + COLUMN_COUNT
+                + COLUMN_COUNT * Round.COLUMN_HEIGHT * cardIdBits(catalog)
+                + catalog.size()
+                + MAX_PLAYERS * INVENTORY_BITS;
+        return (bits + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    /**
+     * Packs the state of a game. The game must have started, and be between two
+     * turns : the current player has not taken a column yet.
+     *
+     * @param game the {@code Game} to pack
+     * @return the packed state, of {@code length()} {@code long}s
+     * @throws IllegalArgumentException if the game is not between two turns or
+     *                                  does not fit in the packed state
+     */
+    public static long[] encode(Game game) {
+        CardCatalog catalog = CardCatalog.getInstance();
+        ArrayList<Player> players = game.getPlayers();
+        Round round = game.getCurrentRound();
+        ArrayList<Card>[] board = round.getGameBoard();
+        int distributionCount = round.getDistributionCount();
+        if (round.getCurrentPlayer() == null || round.getTurnCount() < 0) {
+            throw new IllegalArgumentException("The game must be between two turns to be packed.");
+        }
+
+        Bits out = new Bits(new long[length()]);
+        out.write(players.size(), PLAYER_COUNT_BITS);
+        out.write(game.getRoundCount(), ROUND_BITS);
+        out.write(players.indexOf(round.getCurrentPlayer()) + 1, SEAT_BITS);
+        int firstSeat = 0;
+        int remainingPlayers = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).isFirstPlayer()) {
+                firstSeat = i + 1;
+            }
+            if (round.getPlayers().contains(players.get(i))) {
+                remainingPlayers |= 1 << i;
+            }
+        }
+        out.write(firstSeat, SEAT_BITS);
+        out.write(remainingPlayers, MAX_PLAYERS);
+        out.write(round.getTurnCount(), TURN_COUNT_BITS);
+        out.write(distributionCount, DISTRIBUTION_COUNT_BITS);
+
+        // Every column left has been dealt one card per distribution
+        int columnMask = 0;
+        for (int j = 0; j < COLUMN_COUNT; j++) {
+            if (board[j] != null) {
+                if (board[j].size() != distributionCount) {
+                    throw new IllegalArgumentException("The column " + j + " has not been dealt every card.");
+                }
+                columnMask |= 1 << j;
+            }
+        }
+        out.write(columnMask, COLUMN_COUNT);
+        int idBits = cardIdBits(catalog);
+        for (int row = 0; row < Round.COLUMN_HEIGHT; row++) {
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                boolean dealt = board[j] != null && row < distributionCount;
+                out.write(dealt ? board[j].get(row).getId() : 0, idBits);
+            }
+        }
+
+        Deck deck = game.getCardDeck();
+        for (int id = 0; id < catalog.size(); id++) {
+            out.write(deck.contains(id) ? 1 : 0, 1);
+        }
+
+        for (int i = 0; i < players.size(); i++) {
+            Inventory inventory = players.get(i).getInventory();
+            for (Skill skill : Skill.values()) {
+                out.write(inventory.getSkillCount(skill), COUNT_BITS);
+                out.write(inventory.getPenPlacedCount(skill), COUNT_BITS);
+            }
+            for (UVCategory uvCategory : UVCategory.values()) {
+                out.write(inventory.getUvCategoryCount(uvCategory), COUNT_BITS);
+            }
+            out.write(inventory.getPenCount(), COUNT_BITS);
+            out.write(inventory.getCredits(), CREDIT_BITS);
+            out.write(inventory.hasProfessor() ? 1 : 0, 1);
+            out.write(inventory.getDiplomaPossessedMask() & 0xFFFFFFFFL, Integer.SIZE);
+            out.write(inventory.getRefusedDiplomaMask() & 0xFFFFFFFFL, Integer.SIZE);
+        }
+        return out.state;
+    }
+
+    /**
+     * Creates a game in a packed state. The players are named "Player 1" to
+     * "Player n", the deck is shuffled by the generator of the game, which does
+     * not record its events.
+     *
+     * @param state the state packed by {@code encode()}
+     * @param seed  seed of the generator of the random events of the game
+     * @return the {@code Game}
+     * @throws IllegalArgumentException if the state is not valid
+     */
+    public static Game decode(long[] state, long seed) {
+        if (state.length != length()) {
+            throw new IllegalArgumentException("A packed state has " + length() + " longs, not " + state.length + ".");
+        }
+        CardCatalog catalog = CardCatalog.getInstance();
+        Bits in = new Bits(state);
+        int playerCount = (int) in.read(PLAYER_COUNT_BITS);
+        if (playerCount < 2 || playerCount > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Invalid number of players " + playerCount + ".");
+        }
+
+        Game game = new Game(seed);
+        game.setEventLog(null);
+        Player[] players = new Player[MAX_PLAYERS];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player("Player " + (i + 1));
+        }
+        game.addPlayers(players[0], players[1], players[2], players[3]);
+
+        int roundCount = (int) in.read(ROUND_BITS);
+        int currentSeat = (int) in.read(SEAT_BITS);
+        int firstSeat = (int) in.read(SEAT_BITS);
+        int remainingPlayers = (int) in.read(MAX_PLAYERS);
+        int turnCount = (int) in.read(TURN_COUNT_BITS);
+        int distributionCount = (int) in.read(DISTRIBUTION_COUNT_BITS);
+        int columnMask = (int) in.read(COLUMN_COUNT);
+        if (roundCount == 0 || currentSeat == 0 || currentSeat > playerCount || firstSeat > playerCount) {
+            throw new IllegalArgumentException("Invalid round, current or first player.");
+        }
+        game.setRoundCount(roundCount);
+
+        Round round = game.getCurrentRound();
+        round.setRemainingPlayers(game.getPlayers());
+        round.initBoardWithPlayersCount();
+        for (int j = 0; j < COLUMN_COUNT; j++) {
+            if ((columnMask & 1 << j) == 0) {
+                round.removeColumn(j);
+            }
+        }
+        // The board is dealt again row by row, like distributeCards() does
+        int idBits = cardIdBits(catalog);
+        Card[] row = new Card[COLUMN_COUNT];
+        for (int r = 0; r < Round.COLUMN_HEIGHT; r++) {
+            int count = 0;
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                int id = (int) in.read(idBits);
+                if (round.getGameBoard()[j] != null && r < distributionCount) {
+                    row[count++] = catalog.getCard(checkCardId(catalog, id));
+                }
+            }
+            if (r < distributionCount) {
+                round.addCards(row, count);
+            }
+        }
+        for (int i = playerCount - 1; i >= 0; i--) {
+            if ((remainingPlayers & 1 << i) == 0) {
+                round.removePlayer(players[i]);
+            }
+        }
+        round.setTurnCount(turnCount);
+        round.setCurrentPlayer(players[currentSeat - 1]);
+        players[currentSeat - 1].setPlaying(true);
+        if (firstSeat > 0) {
+            players[firstSeat - 1].setFirstPlayer(true);
+        }
+
+        Deck deck = game.getCardDeck();
+        for (int id = 0; id < catalog.size(); id++) {
+            if (in.read(1) == 0) {
+                deck.remove(id);
+            }
+        }
+        game.shuffleCards();
+
+        PersonalWork[] personalWorks = findPersonalWorks(catalog);
+        UV[] uvs = findUvs(catalog);
+        DiplomaIndex diplomaIndex = game.getDiplomaIndex();
+        for (int i = 0; i < playerCount; i++) {
+            Inventory inventory = new Inventory();
+            for (Skill skill : Skill.values()) {
+                int count = (int) in.read(COUNT_BITS);
+                int penPlaced = (int) in.read(COUNT_BITS);
+                if (penPlaced > count) {
+                    throw new IllegalArgumentException("More pens than personal works in " + skill + ".");
+                }
+                for (int k = 0; k < count; k++) {
+                    inventory.addPersonalWork(personalWorks[skill.toInt()], k < penPlaced);
+                }
+            }
+            for (UVCategory uvCategory : UVCategory.values()) {
+                int count = (int) in.read(COUNT_BITS);
+                for (int k = 0; k < count; k++) {
+                    inventory.addUv(uvs[uvCategory.toInt()]);
+                }
+            }
+            inventory.setPenCount((int) in.read(COUNT_BITS));
+            int credits = (int) in.read(CREDIT_BITS);
+            boolean hasProfessor = in.read(1) != 0;
+            int possessed = (int) in.read(Integer.SIZE);
+            int refused = (int) in.read(Integer.SIZE);
+            if (((possessed | refused) & ~diplomaIndex.allDiplomasMask()) != 0) {
+                throw new IllegalArgumentException("Invalid diploma mask.");
+            }
+            for (int mask = possessed; mask != 0; mask &= mask - 1) {
+                inventory.addDiploma(diplomaIndex.getDiploma(Integer.numberOfTrailingZeros(mask)));
+            }
+            for (int mask = refused; mask != 0; mask &= mask - 1) {
+                inventory.addRefusedDiploma(diplomaIndex.getDiploma(Integer.numberOfTrailingZeros(mask)));
+            }
+            // Set last, the diplomas added their credits
+            inventory.setCredits(credits);
+            inventory.setHasProfessor(hasProfessor);
+            players[i].setInventory(inventory);
+        }
+        return game;
+    }
+
+    /**
+     * Number of bits of a card id.
+     */
+    private static int cardIdBits(CardCatalog catalog) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(catalog.size() - 1);
+    }
+
+    private static int checkCardId(CardCatalog catalog, int id) {
+        if (id >= catalog.size()) {
+            throw new IllegalArgumentException("Invalid card id " + id + ".");
+        }
+        return id;
+    }
+
+    /**
+     * Finds a personal work of each skill in the catalog, preferably without a
+     * bonus so that adding it does not give the professor.
+     */
+    private static PersonalWork[] findPersonalWorks(CardCatalog catalog) {
+        PersonalWork[] personalWorks = new PersonalWork[Skill.length];
+        for (int id = 0; id < catalog.size(); id++) {
+            PersonalWork pw = catalog.getCard(id).getPersonalWork();
+            int i = pw.getSkill().toInt();
+            if (personalWorks[i] == null || personalWorks[i].getBonus() != Bonus.NONE) {
+                personalWorks[i] = pw;
+            }
+        }
+        return personalWorks;
+    }
+
+    /**
+     * Finds a UV of each category in the catalog.
+     */
+    private static UV[] findUvs(CardCatalog catalog) {
+        UV[] uvs = new UV[UVCategory.length];
+        for (int id = 0; id < catalog.size(); id++) {
+            UV uv = catalog.getCard(id).getUv();
+            if (uvs[uv.getUvCategory().toInt()] == null) {
+                uvs[uv.getUvCategory().toInt()] = uv;
+            }
+        }
+        return uvs;
+    }
+
+    /**
+     * Reads or writes fields of a given number of bits one after another in a
+     * {@code long[]}, a field possibly spanning two {@code long}s.
+     */
+    private static final class Bits {
+
+        private final long[] state;
+
+        private int position;
+
+        Bits(long[] state) {
+            this.state = state;
+        }
+
+        void write(long value, int bits) {
+            if (value < 0 || value >>> bits != 0) {
+                throw new IllegalArgumentException("The value " + value + " does not fit in " + bits + " bits.");
+            }
+            int index = position >>> 6;
+            int shift = position & 63;
+            state[index] |= value << shift;
+            if (shift + bits > Long.SIZE) {
+                state[index + 1] |= value >>> (Long.SIZE - shift);
+            }
+            position += bits;
+        }
+
+        long read(int bits) {
+            int index = position >>> 6;
+            int shift = position & 63;
+            long value = state[index] >>> shift;
+            if (shift + bits > Long.SIZE) {
+                value |= state[index + 1] << (Long.SIZE - shift);
+            }
+            position += bits;
+            return bits == Long.SIZE ? value : value & ((1L << bits) - 1);
+        }
+    }
+}
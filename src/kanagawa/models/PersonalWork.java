@@ -6,19 +6,30 @@ import kanagawa.utilities.InvalidGameObjectException;
 
 /**
  * Class implementing the personal work part of the card. The personal work
- * contains a {@code Skill} and a {@code Bonus}.
+ * contains a {@code Skill} and a {@code Bonus}. The pens placed on personal
+ * works are stored in the {@code Inventory} of their owner.
  */
 public class PersonalWork {
 
-    /**
-     * Indicates if the skill of this {@code PersonalWork} is being used of not
-     */
-    private boolean hasPen;
-
     private Skill skill;
 
     private Bonus bonus;
 
+    /**
+     * Constructor used by Gson.
+     */
+    private PersonalWork() {
+    }
+
+    /**
+     * Constructor of the {@code PersonalWork} class, used when reading the
+     * {@code CatalogFile}.
+     */
+    PersonalWork(Skill skill, Bonus bonus) {
+        this.skill = skill;
+        this.bonus = bonus;
+    }
+
     /**
      * Checks if the Object has been parsed and initialized correctly
      * 
@@ -26,7 +37,7 @@ public class PersonalWork {
      * @throws InvalidGameObjectException
      */
     public void checkInitialization(Card parent) throws InvalidGameObjectException {
-        if (hasPen != false || skill == null || bonus == null) {
+        if (skill == null || bonus == null) {
             throw new InvalidGameObjectException(parent);
         }
     }
@@ -34,19 +45,11 @@ public class PersonalWork {
     @Override
     public String toString() {
         return "PersonalWork{" +
-                "hasPen=" + hasPen +
-                ", skill=" + skill +
+                "skill=" + skill +
                 ", bonus=" + bonus +
                 '}';
     }
 
-    /**
-     * Indicates if the skill of this {@code PersonalWork} is being used of not
-     */
-    public boolean hasPen() {
-        return hasPen;
-    }
-
     public Skill getSkill() {
         return skill;
     }
@@ -54,13 +57,4 @@ public class PersonalWork {
     public Bonus getBonus() {
         return bonus;
     }
-
-    /**
-     * Sets if the skill of this {@code PersonalWork} is being used of not.
-     * 
-     * @param hasPen
-     */
-    public void setHasPen(boolean hasPen) {
-        this.hasPen = hasPen;
-    }
 }
@@ -1,9 +1,14 @@
 package kanagawa.models;
 
 import java.util.ArrayList;
+
+import kanagawa.metrics.DiplomaQueryEvent;
+import kanagawa.metrics.EngineMetrics;
+import kanagawa.metrics.GameEvent;
 import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.CardChoice;
+import kanagawa.models.enums.GameEventType;
 import kanagawa.models.enums.Skill;
-import kanagawa.models.enums.UVCategory;
 
 /**
  * Class representing a player of the game.
@@ -36,8 +41,20 @@ public class Player {
         this.isFirstPlayer = false;
         this.isPlaying = false;
         this.inventory = new Inventory();
+    }
 
-        game = Game.getGameInstance();
+    /**
+     * Constructor of a copy of a {@code Player}, for a copy of its game.
+     *
+     * @param player the {@code Player} to copy
+     * @param game   the copy of the game of {@code player}
+     */
+    Player(Player player, Game game) {
+        this.username = player.username;
+        this.isFirstPlayer = player.isFirstPlayer;
+        this.isPlaying = player.isPlaying;
+        this.inventory = new Inventory(player.inventory);
+        this.game = game;
     }
 
     // Getters et setters
@@ -63,12 +80,22 @@ public class Player {
         isFirstPlayer = firstPlayer;
     }
 
+    /**
+     * Sets the {@code Game} this player takes part in.
+     */
+    void setGame(Game game) {
+        this.game = game;
+    }
+
     public Inventory getInventory() {
         return inventory;
     }
 
     public void setInventory(Inventory inventory) {
         this.inventory = inventory;
+        if (game != null) {
+            inventory.setListener(game.getListener());
+        }
     }
 
     /**
@@ -92,7 +119,20 @@ public class Player {
      * @param card
      */
     public void addToPersonalWork(Card card) {
-        inventory.addPersonalWork(card.getPersonalWork());
+        addToPersonalWork(card, false);
+    }
+
+    /**
+     * Adds the {@code PersonalWork} part of a {@code Card} to the inventory of the
+     * player.
+     * 
+     * @param card
+     * @param withPen {@code true} if a pen is placed on the personal work, the pen
+     *                must already have been taken from the player
+     */
+    public void addToPersonalWork(Card card, boolean withPen) {
+        record(withPen ? GameEventType.PERSONAL_WORK_WITH_PEN : GameEventType.PERSONAL_WORK, card.getId());
+        inventory.addPersonalWork(card.getPersonalWork(), withPen);
 
         if (card.getPersonalWork().getBonus() == Bonus.PEN) {
             inventory.setPenCount(inventory.getPenCount() + 1);
@@ -104,8 +144,9 @@ public class Player {
             this.inventory.setCredits(inventory.getCredits() + 2);
         }
         if (card.getPersonalWork().getBonus() == Bonus.PROFESSOR) {
-            for (Player player : game.getPlayers())
-                player.getInventory().setHasProfessor(false);
+            ArrayList<Player> players = game.getPlayers();
+            for (int i = 0; i < players.size(); i++)
+                players.get(i).getInventory().setHasProfessor(false);
             this.inventory.setHasProfessor(true);
         }
     }
@@ -117,9 +158,42 @@ public class Player {
      * @param card
      */
     public void addToUv(Card card) {
+        record(GameEventType.UV, card.getId());
         inventory.addUv(card.getUv());
     }
 
+    /**
+     * Adds a {@code Card} taken from the board to the inventory of the player
+     * according to the choice made for it. A pen is only placed on the personal
+     * work if the player has one left.
+     *
+     * @param card   the {@code Card} to add
+     * @param choice what the player keeps from the card
+     * @return {@code false} if the UV cannot be added because the required skill is
+     *         not available, {@code true} otherwise
+     */
+    public boolean addCard(Card card, CardChoice choice) {
+        switch (choice) {
+            case UV:
+                if (!hasSkillAvailable(card.getUv().getSkill())) {
+                    return false;
+                }
+                addToUv(card);
+                break;
+            case PERSONAL_WORK_WITH_PEN:
+                boolean withPen = checkPenCount();
+                if (withPen) {
+                    removePen();
+                }
+                addToPersonalWork(card, withPen);
+                break;
+            default:
+                addToPersonalWork(card);
+                break;
+        }
+        return true;
+    }
+
     /**
      * Checks if the player possesses the required {@code Skill} and if a pen is on
      * it.
@@ -128,26 +202,86 @@ public class Player {
      * @return a {@code boolean}
      */
     public boolean hasSkillAvailable(Skill skill) {
-        int i = 0;
-        boolean isSkillAvailable = false;
-        PersonalWork pwToTest;
-        boolean foundSkill = false;
-
-        while (!foundSkill) {
-            if (i < inventory.getPwPossessed().size()) {
-                pwToTest = inventory.getPwPossessed().get(i);
-                if (pwToTest.getSkill() == skill) {
-                    if (pwToTest.hasPen()) {
-                        isSkillAvailable = true;
-                        foundSkill = true;
-                    }
-                }
-                i++;
-            } else {
-                foundSkill = true;
+        return inventory.getPenPlacedCount(skill) > 0;
+    }
+
+    /**
+     * Takes back a card added by {@code addCard()}, when the player cancels the
+     * choice of a column. The pen placed on the personal work is given back, but
+     * not its bonus.
+     *
+     * @param card   the {@code Card} to take back
+     * @param choice the {@code CardChoice} made for the card
+     */
+    public void removeCard(Card card, CardChoice choice) {
+        if (choice == CardChoice.UV) {
+            record(GameEventType.REMOVE_UV, card.getId());
+            inventory.removeUv(card.getUv());
+        } else {
+            record(GameEventType.REMOVE_PERSONAL_WORK, card.getId());
+            if (inventory.removePersonalWork(card.getPersonalWork())) {
+                addPen();
             }
         }
-        return isSkillAvailable;
+    }
+
+    /**
+     * Places one of the pens of the player on a personal work of its inventory.
+     *
+     * @param index index of the personal work in the inventory
+     * @return {@code false} if the player has no pen left
+     */
+    public boolean placePen(int index) {
+        if (!checkPenCount() || inventory.hasPen(index)) {
+            return false;
+        }
+        record(GameEventType.PLACE_PEN, index);
+        removePen();
+        inventory.setHasPen(index, true);
+        return true;
+    }
+
+    /**
+     * Takes back the pen placed on a personal work of the inventory.
+     *
+     * @param index index of the personal work in the inventory
+     */
+    public void takeBackPen(int index) {
+        if (inventory.hasPen(index)) {
+            record(GameEventType.TAKE_BACK_PEN, index);
+            addPen();
+            inventory.setHasPen(index, false);
+        }
+    }
+
+    /**
+     * Adds an available diploma to the inventory of the player.
+     *
+     * @param diploma the {@code Diploma} to accept
+     */
+    public void acceptDiploma(Diploma diploma) {
+        record(GameEventType.ACCEPT_DIPLOMA, diploma.getId());
+        inventory.addDiploma(diploma);
+    }
+
+    /**
+     * Refuses an available diploma, it will not be available to the player
+     * anymore.
+     *
+     * @param diploma the {@code Diploma} to refuse
+     */
+    public void refuseDiploma(Diploma diploma) {
+        record(GameEventType.REFUSE_DIPLOMA, diploma.getId());
+        inventory.addRefusedDiploma(diploma);
+    }
+
+    /**
+     * Records an event concerning this player in the log of its game.
+     */
+    private void record(GameEventType type, int argument) {
+        if (game != null) {
+            game.record(type, game.getPlayers().indexOf(this), argument);
+        }
     }
 
     /**
@@ -195,65 +329,28 @@ public class Player {
      *         {@code null} if no diplomas are available.
      */
     public ArrayList<Diploma> findAvailableDiplomas() {
-        ArrayList<Diploma> availableDiplomas = new ArrayList<Diploma>();
-
-        ArrayList<DiplomaGroup> diplomaGroups = game.getDiplomaGroups();
-
-        ArrayList<Diploma> refusedDiplomas = inventory.getRefusedDiplomas();
-        ArrayList<DiplomaGroup> unavailableDiplomaGroups = inventory.getUnavailableDiplomaGroups();
-
-        int[] totalUVsPossessed = new int[UVCategory.length];
-        int[] totalSkillsPossessed = new int[Skill.length];
-
-        // We compute the total of UVs the user possesses in each ECTS category
-        for (UV currentUV : inventory.getUvPossessed()) {
-            totalUVsPossessed[currentUV.getUvCategory().toInt()] += 1;
-        }
-
-        // We compute the total of skills the user possesses in each category
-        for (PersonalWork currentPW : inventory.getPwPossessed()) {
-            totalSkillsPossessed[currentPW.getSkill().toInt()] += 1;
-        }
+        int availableDiplomas = findAvailableDiplomaMask();
+        return availableDiplomas == 0 ? null : game.getDiplomaIndex().toList(availableDiplomas);
+    }
 
-        for (DiplomaGroup diplomaGroup : diplomaGroups) {
-            // We check if the user does not possess a diploma of this group yet
-            if (!unavailableDiplomaGroups.contains(diplomaGroup)) {
-
-                for (Diploma diploma : diplomaGroup.getDiplomas()) {
-                    // We check if the diploma is available and if the user has not refused or taken
-                    // this diploma yet
-
-                    if (!refusedDiplomas.contains(diploma) && !inventory.getDiplomaPossessed().contains(diploma)) {
-                        int[] necessaryUVs = diploma.getUVArray();
-                        int[] necessarySkills = diploma.getSkillArray();
-
-                        // We check if he has enough UVs in each category
-                        boolean hasRequiredUVs = true;
-                        for (int i = 0; i < necessaryUVs.length; i++) {
-                            if (totalUVsPossessed[i] < necessaryUVs[i]) {
-                                hasRequiredUVs = false;
-                                break;
-                            }
-                        }
-
-                        // We check if he has enough skills in each category
-                        boolean hasRequiredSkills = true;
-                        for (int i = 0; i < necessarySkills.length; i++) {
-                            if (totalSkillsPossessed[i] < necessarySkills[i]) {
-                                hasRequiredSkills = false;
-                                break;
-                            }
-                        }
-
-                        // If all conditions are fulfilled, we add the diploma to the list of available
-                        // diplomas
-                        if (hasRequiredUVs && hasRequiredSkills)
-                            availableDiplomas.add(diploma);
-                    }
-                }
-            }
+    /**
+     * Finds all diplomas available to the user according to the content of its
+     * {@code Inventory} : the diplomas whose requirements are met, that have not
+     * been refused or taken yet, and whose group does not contain a diploma of the
+     * user.
+     * 
+     * @return the mask of the available diplomas in the {@code DiplomaIndex}
+     */
+    public int findAvailableDiplomaMask() {
+        long start = EngineMetrics.ENABLED ? System.nanoTime() : 0;
+        DiplomaQueryEvent event = DiplomaQueryEvent.start();
+        int excludedDiplomas = inventory.getUnavailableDiplomaMask() | inventory.getRefusedDiplomaMask()
+                | game.getTakenDiplomaMask();
+        int availableDiplomas = game.getDiplomaIndex().satisfiedMask(inventory.getPackedCounts()) & ~excludedDiplomas;
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.DIPLOMA_QUERY.record(System.nanoTime() - start);
         }
-
-        return availableDiplomas.isEmpty() ? null : availableDiplomas;
+        GameEvent.finish(event, game.getSessionId(), game.getRoundCount(), game.getPlayers().size());
+        return availableDiplomas;
     }
 }
@@ -3,9 +3,9 @@ package kanagawa.models;
 import java.util.*;
 
 /**
- * Class handling the rounds of the game. A new instance of {@code Round} is
- * created everytime all columns of the game board have been taken. The
- * {@code Round} class is responsible for managing the game board where the
+ * Class handling the rounds of the game. The {@code Round} of a game is reset
+ * everytime all columns of the game board have been taken, reusing its lists.
+ * The {@code Round} class is responsible for managing the game board where the
  * cards are and the turn of each player.
  */
 public class Round {
@@ -20,16 +20,130 @@ public class Round {
      */
     private ArrayList<Card>[] gameBoard;
 
-    private ArrayList<Player> players;
+    /**
+     * Lists of the columns, kept when a column is taken so that they can be
+     * reused by the next round.
+     */
+    private final ArrayList<Card>[] columns;
+
+    private final ArrayList<Player> players;
+
+    /**
+     * Players of the game, whose index is the seat used by the hash.
+     */
+    private final ArrayList<Player> seats;
+
+    /**
+     * Zobrist hash of the cards of each column, computed when they are dealt.
+     */
+    private final long[] columnHashes;
+
+    /**
+     * Zobrist hash of the cards on the board.
+     */
+    private long hash;
+
+    /**
+     * Zobrist hash of the current player, the players who have not taken a
+     * column yet and the turns and distributions of the round, updated with
+     * each of them.
+     */
+    private long stateHash;
+
+    /**
+     * Seat of the current player plus one, or {@code 0} if there is none.
+     */
+    private int currentSeat;
+
+    /**
+     * Mask of the seats of {@code players}.
+     */
+    private int remainingSeats;
+
+    /**
+     * Number of turns played since cards were last dealt on the board.
+     */
+    private int turnCount;
+
+    /**
+     * Number of times cards have been dealt on the board during this round.
+     */
+    private int distributionCount;
+
+    /**
+     * Number of modifications of the round, see {@code ModelListener}.
+     */
+    private long version;
+
+    private ModelListener listener;
+
+    /**
+     * Maximum number of cards that can be dealt in a column.
+     */
+    public static final int COLUMN_HEIGHT = 3;
 
     /**
      * Constructor of {@code Round} class.
+     *
+     * @param seats the list of the players of the game, which the round reads
+     *              as they are added
      */
-    Round() {
-        gameBoard = new ArrayList[4];
+    Round(ArrayList<Player> seats) {
+        this.seats = seats;
+        gameBoard = newColumns(4);
+        columns = newColumns(4);
         for (int i = 0; i < 4; i++) {
-            gameBoard[i] = new ArrayList<Card>();
+            columns[i] = new ArrayList<Card>(COLUMN_HEIGHT);
+            gameBoard[i] = columns[i];
+        }
+        players = new ArrayList<>(4);
+        columnHashes = new long[4];
+    }
+
+    /**
+     * Constructor of a copy of a {@code Round}, for a copy of its game. The
+     * listener is not copied.
+     *
+     * @param round       the {@code Round} to copy
+     * @param players     the players of the game of {@code round}
+     * @param copyPlayers the copies of {@code players}, in the same order
+     */
+    Round(Round round, ArrayList<Player> players, ArrayList<Player> copyPlayers) {
+        gameBoard = newColumns(round.gameBoard.length);
+        columns = newColumns(round.columns.length);
+        for (int i = 0; i < gameBoard.length; i++) {
+            columns[i] = new ArrayList<Card>(COLUMN_HEIGHT);
+            columns[i].addAll(round.columns[i]);
+            if (round.gameBoard[i] != null) {
+                gameBoard[i] = columns[i];
+            }
         }
+
+        this.players = new ArrayList<>(4);
+        for (Player player : round.players) {
+            this.players.add(copyPlayers.get(players.indexOf(player)));
+        }
+        if (round.currentPlayer != null) {
+            currentPlayer = copyPlayers.get(players.indexOf(round.currentPlayer));
+        }
+        seats = copyPlayers;
+
+        turnCount = round.turnCount;
+        distributionCount = round.distributionCount;
+        columnHashes = round.columnHashes.clone();
+        hash = round.hash;
+        stateHash = round.stateHash;
+        currentSeat = round.currentSeat;
+        remainingSeats = round.remainingSeats;
+    }
+
+    /**
+     * Creates an array of columns, an array of a generic type cannot be created
+     * directly.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static ArrayList<Card>[] newColumns(int length) {
+        return new ArrayList[length];
     }
 
     /**
@@ -41,6 +155,30 @@ public class Round {
             gameBoard[i] = null;
 
         }
+        changed();
+    }
+
+    /**
+     * Empties the board and the players for a new round, reusing their lists. The
+     * columns returned by {@code removeColumn()} during the previous round are
+     * emptied too.
+     */
+    void reset() {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].clear();
+            gameBoard[i] = columns[i];
+        }
+        players.clear();
+        currentPlayer = null;
+        Arrays.fill(columnHashes, 0);
+        hash = 0;
+        // Every feature of the state is back to 0, which has no key
+        stateHash = 0;
+        currentSeat = 0;
+        remainingSeats = 0;
+        turnCount = 0;
+        distributionCount = 0;
+        changed();
     }
 
     /**
@@ -49,20 +187,39 @@ public class Round {
      * @param cards a pointer on the array of cards to add
      */
     public void addCards(Card[] cards) {
+        addCards(cards, cards.length);
+    }
+
+    /**
+     * Deals 1 card to each column of the board
+     *
+     * @param cards a buffer containing the cards to add
+     * @param count number of cards to add from the buffer
+     */
+    public void addCards(Card[] cards, int count) {
         int index = -1;
-        for (int i = 0; i < cards.length; i++) {
+        for (int i = 0; i < count; i++) {
             for (int j = index + 1; j < gameBoard.length; j++) {
                 if (gameBoard[j] != null) {
                     gameBoard[j].add(cards[i]);
+                    long key = Zobrist.key(Zobrist.BOARD, j * COLUMN_HEIGHT + gameBoard[j].size() - 1,
+                            cards[i].getId() + 1);
+                    columnHashes[j] ^= key;
+                    hash ^= key;
                     index = j;
                     break;
                 }
             }
         }
+        stateHash ^= Zobrist.key(Zobrist.DISTRIBUTION_COUNT, 0, distributionCount)
+                ^ Zobrist.key(Zobrist.DISTRIBUTION_COUNT, 0, distributionCount + 1);
+        distributionCount++;
+        changed();
     }
 
     /**
-     * Removes the specified column of cards from the board and returns it
+     * Removes the specified column of cards from the board and returns it. The
+     * list is reused by the next round, it must be copied to be kept longer.
      * 
      * @return an {@code ArrayList<Card>}
      */
@@ -71,10 +228,13 @@ public class Round {
         if (index >= 0) {
             temp = this.gameBoard[index];
             this.gameBoard[index] = null;
+            hash ^= columnHashes[index];
+            columnHashes[index] = 0;
         } else {
             System.err.println("Round.removeColumn() : Invalid index value.");
             System.exit(-1);
         }
+        changed();
         return temp;
     }
 
@@ -97,6 +257,8 @@ public class Round {
      */
     public void setCurrentPlayer(Player player) {
         currentPlayer = player;
+        updateCurrentSeat();
+        changed();
     }
 
     /**
@@ -106,18 +268,86 @@ public class Round {
         return currentPlayer;
     }
 
+    /**
+     * Players who have not taken a column yet. The list must not be modified
+     * directly, see {@link #removePlayer(Player)}.
+     */
     public ArrayList<Player> getPlayers() {
         return players;
     }
 
     public void setRemainingPlayers(ArrayList<Player> players) {
-        this.players = new ArrayList<>(players);
+        this.players.clear();
+        int remaining = 0;
+        // Indexed loop, addAll() would copy the list to an array
+        for (int i = 0; i < players.size(); i++) {
+            this.players.add(players.get(i));
+            remaining |= 1 << seats.indexOf(players.get(i));
+        }
+        setRemainingSeats(remaining);
+        changed();
+    }
+
+    /**
+     * Removes a player who has taken a column from the players of the round.
+     */
+    void removePlayer(Player player) {
+        if (players.remove(player)) {
+            setRemainingSeats(remainingSeats & ~(1 << seats.indexOf(player)));
+        }
+        changed();
     }
 
     public ArrayList<Card>[] getGameBoard() {
         return gameBoard;
     }
 
+    /**
+     * Checks if the current player can end its turn without taking a column, which
+     * is only possible while the columns are not full.
+     *
+     * @return a {@code boolean}
+     */
+    public boolean canPass() {
+        return distributionCount < COLUMN_HEIGHT;
+    }
+
+    /**
+     * Zobrist hash of the cards on the board, by column and position in the
+     * column.
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Zobrist hash of the current player, the players who have not taken a
+     * column yet, and the turns and distributions of the round.
+     */
+    long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Number of times cards have been dealt on the board during this round.
+     */
+    int getDistributionCount() {
+        return distributionCount;
+    }
+
+    /**
+     * Number of turns played since cards were last dealt on the board.
+     */
+    int getTurnCount() {
+        return turnCount;
+    }
+
+    void setTurnCount(int turnCount) {
+        stateHash ^= Zobrist.key(Zobrist.TURN_COUNT, 0, this.turnCount) ^ Zobrist.key(Zobrist.TURN_COUNT, 0, turnCount);
+        this.turnCount = turnCount;
+        changed();
+    }
+
     /**
      * Sets the next player as the current player
      *
@@ -126,5 +356,48 @@ public class Round {
     public void nextPlayer() {
         currentPlayer = players.get((players.indexOf(currentPlayer) + 1) % players.size());
         currentPlayer.setPlaying(true);
+        updateCurrentSeat();
+        changed();
+    }
+
+    /**
+     * Updates the seat of the current player and its key in the hash.
+     */
+    private void updateCurrentSeat() {
+        int seat = seats.indexOf(currentPlayer) + 1;
+        stateHash ^= Zobrist.key(Zobrist.CURRENT_PLAYER, 0, currentSeat) ^ Zobrist.key(Zobrist.CURRENT_PLAYER, 0, seat);
+        currentSeat = seat;
+    }
+
+    private void setRemainingSeats(int remaining) {
+        stateHash ^= Zobrist.key(Zobrist.REMAINING_PLAYERS, 0, remainingSeats)
+                ^ Zobrist.key(Zobrist.REMAINING_PLAYERS, 0, remaining);
+        remainingSeats = remaining;
+    }
+
+    /**
+     * Number of modifications of the round since it was created. Copies start
+     * again from 0.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the listener called after each modification of the round, see
+     * {@link Game#setListener(ModelListener)}.
+     */
+    void setListener(ModelListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Counts a modification of the round and notifies the listener.
+     */
+    private void changed() {
+        version++;
+        if (listener != null) {
+            listener.roundChanged(this, version);
+        }
     }
 }
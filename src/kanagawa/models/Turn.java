@@ -0,0 +1,78 @@
+package kanagawa.models;
+
+import kanagawa.models.enums.CardChoice;
+
+/**
+ * Class packing the decisions of a turn in an {@code int}, so that turns can be
+ * played, stored and compared without allocating. The 3 lower bits hold the
+ * index of the column taken, or {@code PASS}, and each card of the
+ * column uses 2 more bits for its {@code CardChoice}, in the order of the
+ * column.
+ */
+public final class Turn {
+
+    /**
+     * Turn ended without taking a column, which is also its column value.
+     */
+    public static final int PASS = 7;
+
+    private static final int COLUMN_BITS = 3;
+
+    private static final int CHOICE_BITS = 2;
+
+    private static final CardChoice[] CHOICES = CardChoice.values();
+
+    private Turn() {
+    }
+
+    /**
+     * Packs a turn taking a column.
+     *
+     * @param column  index of the column taken
+     * @param choices the {@code CardChoice} of each card, in the order of the
+     *                column
+     * @return the packed turn
+     */
+    public static int of(int column, CardChoice... choices) {
+        int turn = column;
+        for (int i = 0; i < choices.length; i++) {
+            turn = withChoice(turn, i, choices[i]);
+        }
+        return turn;
+    }
+
+    /**
+     * Replaces the choice of a card in a packed turn.
+     *
+     * @param turn   the packed turn
+     * @param card   index of the card in the column
+     * @param choice the {@code CardChoice} of the card
+     * @return the packed turn
+     */
+    public static int withChoice(int turn, int card, CardChoice choice) {
+        int shift = COLUMN_BITS + CHOICE_BITS * card;
+        return (turn & ~(3 << shift)) | (choice.ordinal() << shift);
+    }
+
+    /**
+     * Index of the column taken, or {@code PASS}.
+     */
+    public static int column(int turn) {
+        return turn & 7;
+    }
+
+    public static boolean isPass(int turn) {
+        return column(turn) == PASS;
+    }
+
+    /**
+     * Choice made for a card of the column.
+     *
+     * @param turn the packed turn
+     * @param card index of the card in the column
+     * @return the {@code CardChoice} of the card
+     */
+    public static CardChoice choice(int turn, int card) {
+        return CHOICES[(turn >>> (COLUMN_BITS + CHOICE_BITS * card)) & 3];
+    }
+}
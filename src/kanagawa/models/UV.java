@@ -16,6 +16,22 @@ public class UV {
 
     private Skill skill;
 
+    /**
+     * Constructor used by Gson.
+     */
+    private UV() {
+    }
+
+    /**
+     * Constructor of the {@code UV} class, used when reading the
+     * {@code CatalogFile}.
+     */
+    UV(String code, UVCategory uvCategory, Skill skill) {
+        this.code = code;
+        this.uvCategory = uvCategory;
+        this.skill = skill;
+    }
+
     /**
      * Checks if the Object has been parsed and initialized correctly
      * 
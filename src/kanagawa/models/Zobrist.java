@@ -0,0 +1,69 @@
+package kanagawa.models;
+
+/**
+ * Keys of the Zobrist hashing of the positions. The hash of a position is the
+ * exclusive or of one key per feature of the position, such as the card in a
+ * slot of the board or the number of points of a player in a skill, so that
+ * changing a feature only costs two exclusive ors. The keys are computed by
+ * mixing the feature, its index and its value instead of being stored in
+ * tables, which has the same effect with unbounded values.
+ */
+final class Zobrist {
+
+    static final int SKILL = 1;
+    static final int PEN_PLACED = 2;
+    static final int UV_CATEGORY = 3;
+    static final int CREDITS = 4;
+    static final int PENS = 5;
+    static final int PROFESSOR = 6;
+    static final int DIPLOMA_POSSESSED = 7;
+    static final int DIPLOMA_REFUSED = 8;
+    static final int DIPLOMA_UNAVAILABLE = 9;
+    static final int BOARD = 10;
+    static final int DECK = 11;
+    static final int ROUND = 12;
+    static final int CURRENT_PLAYER = 13;
+    static final int REMAINING_PLAYERS = 14;
+    static final int TURN_COUNT = 15;
+    static final int DISTRIBUTION_COUNT = 16;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Key of a feature having a given value. A feature whose value is {@code 0}
+     * has no key, so that an empty inventory or board hashes to {@code 0}.
+     *
+     * @param feature the kind of feature
+     * @param index   index of the feature among those of its kind
+     * @param value   value of the feature
+     * @return the key
+     */
+    static long key(int feature, int index, int value) {
+        if (value == 0) {
+            return 0;
+        }
+        return mix((((long) feature << 56) ^ ((long) index << 32) ^ (value & 0xFFFFFFFFL)) * 0x9E3779B97F4A7C15L);
+    }
+
+    /**
+     * Keys of the bits that differ between two masks.
+     */
+    static long maskKeys(int feature, int oldMask, int newMask) {
+        long keys = 0;
+        for (int changed = oldMask ^ newMask; changed != 0; changed &= changed - 1) {
+            keys ^= key(feature, Integer.numberOfTrailingZeros(changed), 1);
+        }
+        return keys;
+    }
+
+    /**
+     * Finalizer of the SplitMix64 generator, a bijection spreading every bit of
+     * its input over the whole output.
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
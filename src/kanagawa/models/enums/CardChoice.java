@@ -0,0 +1,12 @@
+package kanagawa.models.enums;
+
+/**
+ * CardChoice represents what a player decides to do with a card taken from the
+ * board : keeping its personal work part, with or without a pen on it, or
+ * keeping its UV part.
+ */
+public enum CardChoice {
+    PERSONAL_WORK,
+    PERSONAL_WORK_WITH_PEN,
+    UV;
+}
@@ -0,0 +1,62 @@
+package kanagawa.models.enums;
+
+/**
+ * Types of the events recorded in a {@code GameLog}. Decisions are the events
+ * taken by the players, the other events are consequences of the decisions and
+ * of the random generator of the game, recorded for analysis.
+ */
+public enum GameEventType {
+    /**
+     * A player has been chosen to begin the game.
+     */
+    FIRST_PLAYER(false),
+    /**
+     * A card has been dealt on a column of the board.
+     */
+    DEAL(false),
+    /**
+     * The starter cards have been given and the first cards have been dealt.
+     */
+    START(false),
+    TAKE_COLUMN(true),
+    PERSONAL_WORK(true),
+    PERSONAL_WORK_WITH_PEN(true),
+    UV(true),
+    /**
+     * A personal work has been taken back because the choice of a column was
+     * cancelled.
+     */
+    REMOVE_PERSONAL_WORK(true),
+    /**
+     * A UV has been taken back because the choice of a column was cancelled.
+     */
+    REMOVE_UV(true),
+    PLACE_PEN(true),
+    TAKE_BACK_PEN(true),
+    ACCEPT_DIPLOMA(true),
+    REFUSE_DIPLOMA(true),
+    /**
+     * The current player has ended its turn.
+     */
+    NEXT_TURN(true),
+    /**
+     * A new round has begun.
+     */
+    NEXT_ROUND(false);
+
+    /**
+     * Indicates if the event is a decision of a player.
+     */
+    private final boolean decision;
+
+    private GameEventType(boolean decision) {
+        this.decision = decision;
+    }
+
+    /**
+     * Indicates if the event is a decision of a player.
+     */
+    public boolean isDecision() {
+        return decision;
+    }
+}
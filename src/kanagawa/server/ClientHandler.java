@@ -0,0 +1,151 @@
+package kanagawa.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import kanagawa.models.enums.CardChoice;
+
+/**
+ * Task reading the commands of a client on its own thread and forwarding them
+ * to its {@code GameSession}. An invalid command is answered by {@code ERR}
+ * followed by the reason, and leaves the session unchanged. When the client
+ * leaves, the sessions it created that nobody has joined are removed from the
+ * server.
+ */
+class ClientHandler implements Runnable {
+
+    private final GameServer server;
+
+    private final Connection connection;
+
+    private GameSession session;
+
+    private int seat = -1;
+
+    /**
+     * Sessions created by the client and not over yet, removed when it leaves if
+     * nobody has joined them.
+     */
+    private final ArrayList<GameSession> createdSessions = new ArrayList<>();
+
+    ClientHandler(GameServer server, Connection connection) {
+        this.server = server;
+        this.connection = connection;
+    }
+
+    @Override
+    public void run() {
+        try {
+            String line;
+            while ((line = connection.readLine()) != null) {
+                String[] words = line.trim().split("\\s+");
+                if (words[0].equalsIgnoreCase("QUIT")) {
+                    connection.writeLine("BYE");
+                    break;
+                }
+                try {
+                    execute(words);
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    connection.writeLine("ERR " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            // The client is gone, the session is left below
+        } finally {
+            if (session != null) {
+                session.leave(seat);
+            }
+            for (GameSession created : createdSessions) {
+                created.abandonIfEmpty();
+            }
+            connection.close();
+        }
+    }
+
+    private void execute(String[] words) throws IOException {
+        switch (words[0].toUpperCase()) {
+            case "CREATE":
+                checkArguments(words, 2);
+                GameSession created = server.createSession(parseInt(words[1]));
+                createdSessions.removeIf(GameSession::isOver);
+                createdSessions.add(created);
+                connection.writeLine("OK " + created.getId());
+                break;
+            case "JOIN":
+                checkArguments(words, 3);
+                if (session != null) {
+                    throw new IllegalStateException("Already in session " + session.getId() + ".");
+                }
+                GameSession joined = server.getSession(parseInt(words[1]));
+                if (joined == null) {
+                    throw new IllegalArgumentException("No session " + words[1] + ".");
+                }
+                seat = joined.join(connection, words[2]);
+                session = joined;
+                break;
+            case "STATE":
+                checkSession().sendBoard(seat);
+                break;
+            case "TAKE":
+                if (words.length < 2) {
+                    throw new IllegalArgumentException("Usage : TAKE <column> <PW|PEN|UV>...");
+                }
+                CardChoice[] choices = new CardChoice[words.length - 2];
+                for (int i = 0; i < choices.length; i++) {
+                    choices[i] = parseChoice(words[i + 2]);
+                }
+                checkSession().takeColumn(seat, parseInt(words[1]), choices);
+                break;
+            case "TURNS":
+                checkSession().sendTurns(seat);
+                break;
+            case "PASS":
+                checkSession().pass(seat);
+                break;
+            case "ACCEPT":
+            case "REFUSE":
+                checkArguments(words, 2);
+                checkSession().decideDiploma(seat, parseInt(words[1]), words[0].equalsIgnoreCase("ACCEPT"));
+                break;
+            case "END":
+                checkSession().endTurn(seat);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown command " + words[0] + ".");
+        }
+    }
+
+    private GameSession checkSession() {
+        if (session == null) {
+            throw new IllegalStateException("Join a session first.");
+        }
+        return session;
+    }
+
+    private static void checkArguments(String[] words, int count) {
+        if (words.length != count) {
+            throw new IllegalArgumentException(words[0] + " expects " + (count - 1) + " arguments.");
+        }
+    }
+
+    private static int parseInt(String word) {
+        try {
+            return Integer.parseInt(word);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(word + " is not a number.");
+        }
+    }
+
+    private static CardChoice parseChoice(String word) {
+        switch (word.toUpperCase()) {
+            case "PW":
+                return CardChoice.PERSONAL_WORK;
+            case "PEN":
+                return CardChoice.PERSONAL_WORK_WITH_PEN;
+            case "UV":
+                return CardChoice.UV;
+            default:
+                throw new IllegalArgumentException(word + " is not PW, PEN or UV.");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package kanagawa.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Interface of a bidirectional text connection between the {@code GameServer}
+ * and a client. The commands and the replies are exchanged one line at a time.
+ */
+public interface Connection extends Closeable {
+
+    /**
+     * Reads the next line sent by the other side, waiting for it if needed.
+     *
+     * @return the line without its line terminator, or {@code null} if the
+     *         connection is closed
+     * @throws IOException if the connection failed
+     */
+    String readLine() throws IOException;
+
+    /**
+     * Sends a line to the other side.
+     *
+     * @param line the line, without line terminator
+     * @throws IOException if the connection is closed or failed
+     */
+    void writeLine(String line) throws IOException;
+
+    /**
+     * Closes the connection. The other side reads {@code null} once the lines
+     * already sent have been read.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,148 @@
+package kanagawa.server;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import kanagawa.utilities.TaskExecutors;
+
+/**
+ * Server hosting many games at the same time in a single process, without the
+ * JavaFX interface. Each client connection is served by its own thread, a
+ * virtual thread when the runtime supports them, and plays in a
+ * {@code GameSession}.
+ *
+ * The clients send one command per line :
+ * <ul>
+ * <li>{@code CREATE <players>} creates a session, answered by
+ * {@code OK <session>}. The session is removed if its creator leaves before
+ * anybody has joined it</li>
+ * <li>{@code JOIN <session> <name>} takes the next seat, answered by
+ * {@code OK <seat>}. {@code START <names>} and {@code TURN <seat> <round>} are
+ * sent to all the players when the last seat is taken</li>
+ * <li>{@code STATE} is answered by {@code BOARD} and the card identifiers of
+ * each column</li>
+ * <li>{@code TURNS} is answered by {@code TURNS} and the legal turns of the
+ * player, such as {@code PASS} or {@code 2:PW,UV}</li>
+ * <li>{@code TAKE <column> <PW|PEN|UV>...} or {@code PASS}, then
+ * {@code ACCEPT <diploma>} or {@code REFUSE <diploma>}, and {@code END} to end
+ * the turn. Each of these commands but {@code END} is answered by {@code OK}
+ * followed by {@code DIPLOMAS} and the diplomas still available to the
+ * player</li>
+ * <li>{@code QUIT} leaves the server, answered by {@code BYE}</li>
+ * </ul>
+ * Invalid commands are answered by {@code ERR <reason>}. The end of a game is
+ * sent to its players as {@code OVER} with the credits of each seat, or
+ * {@code ABORTED} if a player left.
+ *
+ * Usage : {@code GameServer [port]}
+ */
+public class GameServer implements AutoCloseable {
+
+    private static final int DEFAULT_PORT = 7777;
+
+    private final ConcurrentHashMap<Integer, GameSession> sessions = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextSessionId = new AtomicInteger();
+
+    private final ExecutorService executor = TaskExecutors.newPerTaskExecutor("kanagawa-client");
+
+    private final long seed;
+
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Constructor of the {@code GameServer} class.
+     *
+     * @param seed seed from which the seed of each game is derived
+     */
+    public GameServer(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Serves a new client on its own thread.
+     *
+     * @param connection the {@code Connection} of the client
+     */
+    public void accept(Connection connection) {
+        executor.execute(new ClientHandler(this, connection));
+    }
+
+    /**
+     * Accepts TCP clients until the server is closed.
+     *
+     * @param port port to listen on
+     * @throws IOException if the port cannot be opened
+     */
+    public void listen(int port) throws IOException {
+        serverSocket = new ServerSocket(port);
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                // The server has been closed
+                break;
+            }
+            accept(new SocketConnection(socket));
+        }
+    }
+
+    /**
+     * Creates a new empty session.
+     *
+     * @param playerCount number of players of the game, between 2 and 4
+     * @return the new {@code GameSession}
+     */
+    public GameSession createSession(int playerCount) {
+        int id = nextSessionId.getAndIncrement();
+        GameSession session = new GameSession(this, id, playerCount, seed + id * 0x9E3779B97F4A7C15L);
+        sessions.put(id, session);
+        return session;
+    }
+
+    /**
+     * Returns the session with the specified identifier, or {@code null} if it
+     * does not exist or is over.
+     */
+    public GameSession getSession(int id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Number of sessions waiting for players or being played.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    void removeSession(int id) {
+        sessions.remove(id);
+    }
+
+    @Override
+    public void close() {
+        ServerSocket socket = serverSocket;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Nothing to do, the server is stopping
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        try (GameServer server = new GameServer(System.nanoTime())) {
+            System.out.println("Kanagawa server listening on port " + port
+                    + (TaskExecutors.isVirtual() ? " with virtual threads" : ""));
+            server.listen(port);
+        }
+    }
+}
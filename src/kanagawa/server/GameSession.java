@@ -0,0 +1,424 @@
+package kanagawa.server;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+
+import kanagawa.metrics.EngineMetrics;
+import kanagawa.models.Card;
+import kanagawa.models.Diploma;
+import kanagawa.models.Game;
+import kanagawa.models.MoveGenerator;
+import kanagawa.models.Player;
+import kanagawa.models.Round;
+import kanagawa.models.Turn;
+import kanagawa.models.enums.CardChoice;
+
+/**
+ * Class implementing a table of the {@code GameServer}. A session owns its
+ * {@code Game} and a connection per seat. The commands of its players are
+ * received on their own threads, so every access to the game is guarded by
+ * the lock of the session.
+ *
+ * A player first takes a column or passes, then can accept or refuse the
+ * available diplomas, and gives the hand to the next player by ending the
+ * turn. The events of the session are sent to all its players.
+ */
+public class GameSession {
+
+    private final int id;
+
+    private final int playerCount;
+
+    private final GameServer server;
+
+    private final Game game;
+
+    /**
+     * A {@code ReentrantLock} rather than {@code synchronized}, which would pin
+     * the virtual threads of the players while they write to their connections.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Connection[] connections;
+
+    private final Player[] players;
+
+    private int joinedCount;
+
+    /**
+     * Tells if the current player has already taken a column or passed.
+     */
+    private boolean columnChosen;
+
+    private boolean over;
+
+    /**
+     * Buffer of the legal turns sent by {@code sendTurns()}.
+     */
+    private final int[] turns = new int[MoveGenerator.MAX_TURNS];
+
+    /**
+     * Constructor of the {@code GameSession} class.
+     *
+     * @param server      the {@code GameServer} hosting the session
+     * @param id          identifier of the session in the server
+     * @param playerCount number of players of the game, between 2 and 4
+     * @param seed        seed of the {@code Game}
+     */
+    GameSession(GameServer server, int id, int playerCount, long seed) {
+        if (playerCount < 2 || playerCount > 4) {
+            throw new IllegalArgumentException("A game is played by 2 to 4 players.");
+        }
+        this.server = server;
+        this.id = id;
+        this.playerCount = playerCount;
+        this.game = new Game(seed);
+        this.connections = new Connection[playerCount];
+        this.players = new Player[4];
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    /**
+     * Tells if the game of the session is over or has been aborted.
+     */
+    public boolean isOver() {
+        lock.lock();
+        try {
+            return over;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Seats a new player. The game starts when the last seat is taken.
+     *
+     * @param connection the {@code Connection} of the player
+     * @param username   name of the player
+     * @return the seat of the player
+     */
+    int join(Connection connection, String username) {
+        lock.lock();
+        try {
+            if (joinedCount == playerCount) {
+                throw new IllegalStateException("The session is full.");
+            }
+            int seat = joinedCount++;
+            connections[seat] = connection;
+            players[seat] = new Player(username);
+            send(seat, "OK " + seat);
+
+            if (joinedCount == playerCount) {
+                game.addPlayers(players[0], players[1], players[2], players[3]);
+                game.chooseRandomFirstPlayer();
+                game.start();
+                StringBuilder start = new StringBuilder("START");
+                for (int i = 0; i < playerCount; i++) {
+                    start.append(' ').append(players[i].getUsername());
+                }
+                broadcast(start.toString());
+                broadcastTurn();
+            }
+            return seat;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Describes the board to a player : the card identifiers of each column
+     * separated by commas, or {@code -} for a taken column.
+     */
+    void sendBoard(int seat) {
+        lock.lock();
+        try {
+            checkStarted();
+            StringBuilder board = new StringBuilder("BOARD");
+            for (ArrayList<Card> column : game.getCurrentRound().getGameBoard()) {
+                board.append(' ');
+                if (column == null || column.isEmpty()) {
+                    board.append('-');
+                    continue;
+                }
+                for (int i = 0; i < column.size(); i++) {
+                    if (i > 0) {
+                        board.append(',');
+                    }
+                    board.append(column.get(i).getId());
+                }
+            }
+            send(seat, board.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends the legal turns of the current player, each one as {@code PASS} or as
+     * the column followed by the choices of its cards, such as {@code 2:PW,UV}.
+     */
+    void sendTurns(int seat) {
+        lock.lock();
+        try {
+            checkTurn(seat);
+            StringBuilder legalTurns = new StringBuilder("TURNS");
+            if (!columnChosen) {
+                int count = MoveGenerator.generate(game, turns);
+                for (int i = 0; i < count; i++) {
+                    int turn = turns[i];
+                    legalTurns.append(' ');
+                    if (Turn.isPass(turn)) {
+                        legalTurns.append("PASS");
+                        continue;
+                    }
+                    legalTurns.append(Turn.column(turn)).append(':');
+                    int cardCount = game.getCurrentRound().getGameBoard()[Turn.column(turn)].size();
+                    for (int j = 0; j < cardCount; j++) {
+                        if (j > 0) {
+                            legalTurns.append(',');
+                        }
+                        legalTurns.append(toWord(Turn.choice(turn, j)));
+                    }
+                }
+            }
+            send(seat, legalTurns.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a column for the current player and adds its cards to the inventory.
+     *
+     * @param seat    seat of the player
+     * @param column  index of the column
+     * @param choices the {@code CardChoice} of each card of the column
+     */
+    void takeColumn(int seat, int column, CardChoice[] choices) {
+        lock.lock();
+        try {
+            checkTurn(seat);
+            checkColumnNotChosen();
+            ArrayList<Card>[] gameBoard = game.getCurrentRound().getGameBoard();
+            if (column < 0 || column >= gameBoard.length || gameBoard[column] == null) {
+                throw new IllegalArgumentException("No column " + column + " on the board.");
+            }
+            if (choices.length != gameBoard[column].size()) {
+                throw new IllegalArgumentException("Expected " + gameBoard[column].size() + " choices.");
+            }
+            if (!game.playTurn(Turn.of(column, choices))) {
+                throw new IllegalArgumentException("Illegal choices for this column.");
+            }
+            columnChosen = true;
+            send(seat, "OK");
+            sendDiplomas(seat);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ends the turn of the current player without taking a column.
+     */
+    void pass(int seat) {
+        lock.lock();
+        try {
+            checkTurn(seat);
+            checkColumnNotChosen();
+            if (!game.getCurrentRound().canPass()) {
+                throw new IllegalStateException("A column must be taken.");
+            }
+            columnChosen = true;
+            send(seat, "OK");
+            sendDiplomas(seat);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Accepts or refuses an available diploma for the current player.
+     *
+     * @param seat      seat of the player
+     * @param diplomaId identifier of the {@code Diploma}
+     * @param accept    {@code true} to accept the diploma
+     */
+    void decideDiploma(int seat, int diplomaId, boolean accept) {
+        lock.lock();
+        try {
+            checkTurn(seat);
+            if (!columnChosen) {
+                throw new IllegalStateException("Take a column or pass first.");
+            }
+            Player player = players[seat];
+            if (diplomaId < 0 || diplomaId >= game.getDiplomaIndex().size()
+                    || (player.findAvailableDiplomaMask() & (1 << diplomaId)) == 0) {
+                throw new IllegalArgumentException("Diploma " + diplomaId + " is not available.");
+            }
+            Diploma diploma = game.getDiplomaIndex().getDiploma(diplomaId);
+            if (accept) {
+                player.acceptDiploma(diploma);
+            } else {
+                player.refuseDiploma(diploma);
+            }
+            send(seat, "OK");
+            sendDiplomas(seat);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives the hand to the next player, or ends the game.
+     */
+    void endTurn(int seat) {
+        lock.lock();
+        try {
+            checkTurn(seat);
+            if (!columnChosen) {
+                throw new IllegalStateException("Take a column or pass first.");
+            }
+            send(seat, "OK");
+            game.nextTurn();
+            columnChosen = false;
+
+            if (game.checkGameIsOver()) {
+                if (EngineMetrics.ENABLED) {
+                    EngineMetrics.GAMES_FINISHED.increment();
+                }
+                StringBuilder result = new StringBuilder("OVER");
+                for (int i = 0; i < playerCount; i++) {
+                    result.append(' ').append(players[i].getInventory().getCredits());
+                }
+                finish(result.toString());
+            } else {
+                broadcastTurn();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a player from the session. A game left before its end is aborted
+     * for all the players.
+     */
+    void leave(int seat) {
+        lock.lock();
+        try {
+            if (connections[seat] != null && !over) {
+                connections[seat] = null;
+                finish("ABORTED");
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the session from the server if nobody has joined it, called when
+     * the connection which created it closes. A session left by one of its
+     * players is aborted by {@code leave()} instead.
+     */
+    void abandonIfEmpty() {
+        lock.lock();
+        try {
+            if (joinedCount == 0 && !over) {
+                over = true;
+                server.removeSession(id);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkStarted() {
+        if (over) {
+            throw new IllegalStateException("The game is over.");
+        }
+        if (joinedCount < playerCount) {
+            throw new IllegalStateException("Waiting for " + (playerCount - joinedCount) + " players.");
+        }
+    }
+
+    private void checkTurn(int seat) {
+        checkStarted();
+        if (game.getCurrentRound().getCurrentPlayer() != players[seat]) {
+            throw new IllegalStateException("This is not your turn.");
+        }
+    }
+
+    /**
+     * Checks that the current player has neither taken a column nor passed yet,
+     * the game does not change its current player before {@code endTurn()}.
+     */
+    private void checkColumnNotChosen() {
+        if (columnChosen) {
+            throw new IllegalStateException("The column has already been chosen.");
+        }
+    }
+
+    private void finish(String message) {
+        over = true;
+        broadcast(message);
+        server.removeSession(id);
+    }
+
+    private void broadcastTurn() {
+        Round round = game.getCurrentRound();
+        int seat = game.getPlayers().indexOf(round.getCurrentPlayer());
+        broadcast("TURN " + seat + " " + game.getRoundCount());
+    }
+
+    /**
+     * Sends the diplomas available to the player, possibly none.
+     */
+    private void sendDiplomas(int seat) {
+        int available = players[seat].findAvailableDiplomaMask();
+        StringBuilder diplomas = new StringBuilder("DIPLOMAS");
+        for (int mask = available; mask != 0; mask &= mask - 1) {
+            diplomas.append(' ').append(Integer.numberOfTrailingZeros(mask));
+        }
+        send(seat, diplomas.toString());
+    }
+
+    /**
+     * Word of a {@code CardChoice} in the protocol.
+     */
+    static String toWord(CardChoice choice) {
+        switch (choice) {
+            case PERSONAL_WORK_WITH_PEN:
+                return "PEN";
+            case UV:
+                return "UV";
+            default:
+                return "PW";
+        }
+    }
+
+    private void broadcast(String line) {
+        for (int seat = 0; seat < playerCount; seat++) {
+            send(seat, line);
+        }
+    }
+
+    private void send(int seat, String line) {
+        Connection connection = connections[seat];
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.writeLine(line);
+        } catch (IOException e) {
+            // The handler of the connection notices it is closed and leaves
+        }
+    }
+}
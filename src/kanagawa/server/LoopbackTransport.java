@@ -0,0 +1,103 @@
+package kanagawa.server;
+
+import java.io.IOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Transport connecting clients to a {@code GameServer} of the same process
+ * through in-memory queues. Used to drive the server without opening sockets,
+ * from the tests or from computer players.
+ */
+public class LoopbackTransport {
+
+    /**
+     * Line put in a queue when its writer closes the connection. Compared by
+     * reference, so a client cannot send it.
+     */
+    private static final String END_OF_STREAM = new String("END_OF_STREAM");
+
+    private LoopbackTransport() {
+    }
+
+    /**
+     * Opens a connection to the server.
+     *
+     * @param server the {@code GameServer} to connect to
+     * @return the client side of the connection
+     */
+    public static Connection connect(GameServer server) {
+        Connection[] connections = pair();
+        server.accept(connections[1]);
+        return connections[0];
+    }
+
+    /**
+     * Creates two connected ends of a connection.
+     *
+     * @return an array containing both ends
+     */
+    public static Connection[] pair() {
+        BlockingQueue<String> firstToSecond = new LinkedBlockingQueue<>();
+        BlockingQueue<String> secondToFirst = new LinkedBlockingQueue<>();
+        return new Connection[] {
+                new LoopbackConnection(secondToFirst, firstToSecond),
+                new LoopbackConnection(firstToSecond, secondToFirst)
+        };
+    }
+
+    /**
+     * One end of a loopback connection.
+     */
+    private static class LoopbackConnection implements Connection {
+
+        private final BlockingQueue<String> input;
+
+        private final BlockingQueue<String> output;
+
+        private volatile boolean closed;
+
+        private boolean endOfStream;
+
+        LoopbackConnection(BlockingQueue<String> input, BlockingQueue<String> output) {
+            this.input = input;
+            this.output = output;
+        }
+
+        @Override
+        public String readLine() throws IOException {
+            if (endOfStream || closed) {
+                return null;
+            }
+            try {
+                String line = input.take();
+                if (line == END_OF_STREAM) {
+                    endOfStream = true;
+                    return null;
+                }
+                return line;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading", e);
+            }
+        }
+
+        @Override
+        public void writeLine(String line) throws IOException {
+            if (closed) {
+                throw new IOException("Connection closed");
+            }
+            output.add(line);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                output.add(END_OF_STREAM);
+                // Wakes up a thread of this side waiting for a line
+                input.add(END_OF_STREAM);
+            }
+        }
+    }
+}
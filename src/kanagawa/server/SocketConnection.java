@@ -0,0 +1,57 @@
+package kanagawa.server;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@code Connection} over a TCP socket, one UTF-8 line per command or reply.
+ */
+public class SocketConnection implements Connection {
+
+    private final Socket socket;
+
+    private final BufferedReader reader;
+
+    private final BufferedWriter writer;
+
+    /**
+     * Constructor of the {@code SocketConnection} class.
+     *
+     * @param socket a connected {@code Socket}
+     * @throws IOException if the streams of the socket cannot be opened
+     */
+    public SocketConnection(Socket socket) throws IOException {
+        this.socket = socket;
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String readLine() throws IOException {
+        return reader.readLine();
+    }
+
+    @Override
+    public void writeLine(String line) throws IOException {
+        // Several sessions threads can write to the same client
+        synchronized (writer) {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // The socket is unusable anyway
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package kanagawa.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Elo ratings of the entrants of a tournament, updated after each game. A game
+ * between several players counts as one match between each pair of players,
+ * the player with the most credits winning the match, and the factor K is
+ * divided by the number of opponents so that a game moves a rating as much as
+ * a 2-player game. Instances are not thread-safe.
+ */
+public class EloRatings {
+
+    public static final double INITIAL_RATING = 1500;
+
+    /**
+     * Maximum change of a rating after a 2-player game.
+     */
+    public static final double DEFAULT_K = 16;
+
+    private final double[] ratings;
+
+    private final double k;
+
+    /**
+     * Constructor of the {@code EloRatings} class.
+     *
+     * @param entrantCount number of rated entrants
+     * @param k            maximum change of a rating after a 2-player game
+     */
+    public EloRatings(int entrantCount, double k) {
+        this.ratings = new double[entrantCount];
+        this.k = k;
+        Arrays.fill(ratings, INITIAL_RATING);
+    }
+
+    /**
+     * Updates the ratings with the result of a game.
+     *
+     * @param entrants index of the entrant of each seat
+     * @param credits  credits of each seat at the end of the game
+     */
+    public void update(int[] entrants, int[] credits) {
+        int seatCount = entrants.length;
+        double[] deltas = new double[seatCount];
+        double factor = k / (seatCount - 1);
+        for (int i = 0; i < seatCount; i++) {
+            for (int j = i + 1; j < seatCount; j++) {
+                double expected = expectedScore(ratings[entrants[i]], ratings[entrants[j]]);
+                double score = credits[i] > credits[j] ? 1 : credits[i] < credits[j] ? 0 : 0.5;
+                deltas[i] += factor * (score - expected);
+                deltas[j] -= factor * (score - expected);
+            }
+        }
+        // Applied once every pair has been rated with the ratings before the game
+        for (int i = 0; i < seatCount; i++) {
+            ratings[entrants[i]] += deltas[i];
+        }
+    }
+
+    /**
+     * Probability that a player rated {@code rating} beats a player rated
+     * {@code opponentRating}.
+     */
+    public static double expectedScore(double rating, double opponentRating) {
+        return 1 / (1 + Math.pow(10, (opponentRating - rating) / 400));
+    }
+
+    public double getRating(int entrant) {
+        return ratings[entrant];
+    }
+}
@@ -0,0 +1,114 @@
+package kanagawa.simulation;
+
+import java.util.ArrayList;
+
+import kanagawa.ai.Strategy;
+import kanagawa.metrics.EngineMetrics;
+import kanagawa.metrics.GameEvent;
+import kanagawa.metrics.TurnEvent;
+import kanagawa.models.Card;
+import kanagawa.models.Diploma;
+import kanagawa.models.Game;
+import kanagawa.models.Player;
+import kanagawa.models.Round;
+import kanagawa.models.Turn;
+
+/**
+ * Class playing complete games without the JavaFX interface. Each player of the
+ * game is controlled by a {@code Strategy}, which is asked for the same
+ * decisions as a human player in {@code MainGameController}.
+ */
+public class GameDriver {
+
+    private GameDriver() {
+    }
+
+    /**
+     * Plays a game from the first distribution until it is over. The players must
+     * already have been added to the game.
+     *
+     * @param game       the {@code Game} to play
+     * @param strategies one {@code Strategy} per player, in the order of
+     *                   {@code game.getPlayers()}
+     * @return the {@code GameResult} of the game
+     */
+    public static GameResult play(Game game, Strategy[] strategies) {
+        game.chooseRandomFirstPlayer();
+        game.start();
+
+        while (!game.checkGameIsOver()) {
+            playTurn(game, strategies);
+        }
+        if (EngineMetrics.ENABLED) {
+            EngineMetrics.GAMES_FINISHED.increment();
+        }
+
+        return GameResult.of(game);
+    }
+
+    /**
+     * Plays the turn of the current player : takes a column or passes, adds the
+     * cards of the column to the inventory, claims the available diplomas and
+     * gives the hand to the next player. The choices of the strategy are played
+     * by {@code Game.playTurn()}, and replaced by personal works without pen if
+     * they are not legal.
+     *
+     * @param game       the {@code Game} being played
+     * @param strategies one {@code Strategy} per player
+     */
+    public static void playTurn(Game game, Strategy[] strategies) {
+        TurnEvent event = TurnEvent.start();
+        Round round = game.getCurrentRound();
+        Player player = round.getCurrentPlayer();
+        Strategy strategy = strategies[game.getPlayers().indexOf(player)];
+
+        int column = strategy.chooseColumn(game, player);
+        int turn = Turn.PASS;
+        if (column >= 0 || !round.canPass()) {
+            ArrayList<Card>[] gameBoard = round.getGameBoard();
+            if (column < 0 || column >= gameBoard.length || gameBoard[column] == null) {
+                // Invalid answer while a column must be taken, we take the first one left
+                column = 0;
+                while (gameBoard[column] == null) {
+                    column++;
+                }
+            }
+
+            ArrayList<Card> cards = gameBoard[column];
+            turn = column;
+            for (int i = 0; i < cards.size(); i++) {
+                turn = Turn.withChoice(turn, i, strategy.chooseCard(game, player, cards.get(i)));
+            }
+        }
+        if (!game.playTurn(turn)) {
+            // Illegal choices, the personal works of the column are always legal
+            game.playTurn(Turn.column(turn));
+        }
+
+        claimDiplomas(game, player, strategy);
+        game.nextTurn();
+        GameEvent.finish(event, game.getSessionId(), game.getRoundCount(), game.getPlayers().size());
+    }
+
+    /**
+     * Asks the strategy to accept or refuse each diploma available to the player.
+     *
+     * @param game     the {@code Game} being played
+     * @param player   the {@code Player} whose turn it is
+     * @param strategy the {@code Strategy} of the player
+     */
+    private static void claimDiplomas(Game game, Player player, Strategy strategy) {
+        ArrayList<Diploma> availableDiplomas;
+
+        // Accepting a diploma makes the other diplomas of its group unavailable, so
+        // the list is computed again after each decision
+        while ((availableDiplomas = player.findAvailableDiplomas()) != null) {
+            Diploma diploma = availableDiplomas.get(0);
+            if (strategy.acceptDiploma(game, player, diploma)) {
+                player.acceptDiploma(diploma);
+            } else {
+                player.refuseDiploma(diploma);
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package kanagawa.simulation;
+
+import java.util.ArrayList;
+
+import kanagawa.models.Game;
+import kanagawa.models.Player;
+
+/**
+ * Final outcome of a game played by the {@code GameDriver}.
+ */
+public class GameResult {
+
+    /**
+     * Credits of each player at the end of the game, in the order of the players.
+     */
+    private final int[] credits;
+
+    /**
+     * Index of the player with the most credits, or {@code -1} in case of a draw.
+     */
+    private final int winner;
+
+    private final int roundCount;
+
+    /**
+     * Constructor of the {@code GameResult} class.
+     *
+     * @param credits    credits of each player
+     * @param winner     index of the winner or {@code -1}
+     * @param roundCount number of rounds played
+     */
+    public GameResult(int[] credits, int winner, int roundCount) {
+        this.credits = credits;
+        this.winner = winner;
+        this.roundCount = roundCount;
+    }
+
+    /**
+     * Builds the result of a game that is over.
+     *
+     * @param game the {@code Game} that is over
+     * @return a {@code GameResult}
+     */
+    public static GameResult of(Game game) {
+        ArrayList<Player> players = game.getPlayers();
+        int[] credits = new int[players.size()];
+        int winner = -1;
+        int best = Integer.MIN_VALUE;
+
+        for (int i = 0; i < credits.length; i++) {
+            credits[i] = players.get(i).getInventory().getCredits();
+            if (credits[i] > best) {
+                best = credits[i];
+                winner = i;
+            } else if (credits[i] == best) {
+                winner = -1;
+            }
+        }
+
+        return new GameResult(credits, winner, game.getRoundCount());
+    }
+
+    /**
+     * Credits of each player at the end of the game, in the order of the players.
+     */
+    public int[] getCredits() {
+        return credits;
+    }
+
+    /**
+     * Index of the player with the most credits, or {@code -1} in case of a draw.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getRoundCount() {
+        return roundCount;
+    }
+}
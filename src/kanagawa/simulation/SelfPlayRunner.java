@@ -0,0 +1,142 @@
+package kanagawa.simulation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+import kanagawa.ai.Strategy;
+import kanagawa.ai.StrategyProvider;
+import kanagawa.ai.StrategyProviders;
+import kanagawa.metrics.EngineMetrics;
+import kanagawa.models.Game;
+import kanagawa.models.Player;
+
+/**
+ * Batch mode playing a large number of complete games between computer players
+ * on all the cores of the machine. The games are split between the workers of
+ * a work-stealing {@code ForkJoinPool} and their results are aggregated in a
+ * {@code SimulationStats}.
+ *
+ * Usage : {@code SelfPlayRunner [games] [players] [seed] [strategy]}, where the
+ * strategy is the name of a {@code StrategyProvider}.
+ */
+public class SelfPlayRunner {
+
+    /**
+     * Number of games under which a task is not split anymore.
+     */
+    private static final int GAMES_PER_TASK = 16;
+
+    private final int playerCount;
+
+    /**
+     * Creates the {@code Strategy} of a player from a seed.
+     */
+    private final LongFunction<Strategy> strategyFactory;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructor of the {@code SelfPlayRunner} class.
+     *
+     * @param playerCount     number of players in each game, between 2 and 4
+     * @param strategyFactory creates the {@code Strategy} of a player from a seed
+     * @param pool            the {@code ForkJoinPool} running the games
+     */
+    public SelfPlayRunner(int playerCount, LongFunction<Strategy> strategyFactory, ForkJoinPool pool) {
+        if (playerCount < 2 || playerCount > 4) {
+            throw new IllegalArgumentException("A game is played by 2 to 4 players.");
+        }
+        this.playerCount = playerCount;
+        this.strategyFactory = strategyFactory;
+        this.pool = pool;
+    }
+
+    /**
+     * Plays {@code gameCount} games and waits for their results.
+     *
+     * @param gameCount number of games to play
+     * @param seed      seed from which the seed of each game is derived
+     * @return the aggregated {@code SimulationStats}
+     */
+    public SimulationStats run(int gameCount, long seed) {
+        return pool.invoke(new SelfPlayTask(0, gameCount, seed));
+    }
+
+    /**
+     * Plays a single game.
+     *
+     * @param seed seed of the game
+     * @return the {@code GameResult} of the game
+     */
+    GameResult playGame(long seed) {
+        Game game = new Game(seed);
+        Player[] players = new Player[4];
+        Strategy[] strategies = new Strategy[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player("Bot " + (i + 1));
+            strategies[i] = strategyFactory.apply(seed * 31 + i);
+        }
+        game.addPlayers(players[0], players[1], players[2], players[3]);
+
+        return GameDriver.play(game, strategies);
+    }
+
+    /**
+     * Task playing the games of indexes {@code from} (inclusive) to {@code to}
+     * (exclusive), splitting itself while the range is large.
+     */
+    private class SelfPlayTask extends RecursiveTask<SimulationStats> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+
+        private final int to;
+
+        private final long seed;
+
+        SelfPlayTask(int from, int to, long seed) {
+            this.from = from;
+            this.to = to;
+            this.seed = seed;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                SimulationStats stats = new SimulationStats(playerCount);
+                for (int i = from; i < to; i++) {
+                    stats.add(playGame(seed + i));
+                }
+                return stats;
+            }
+
+            int middle = (from + to) >>> 1;
+            SelfPlayTask left = new SelfPlayTask(from, middle, seed);
+            left.fork();
+            SimulationStats right = new SelfPlayTask(middle, to, seed).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    public static void main(String[] args) {
+        int gameCount = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int playerCount = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        StrategyProvider provider = StrategyProviders.find(args.length > 3 ? args[3] : "random");
+
+        SelfPlayRunner runner = new SelfPlayRunner(playerCount, provider::create, ForkJoinPool.commonPool());
+
+        long start = System.nanoTime();
+        SimulationStats stats = runner.run(gameCount, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(stats);
+        System.out.printf("%d games in %.2f s : %.1f games/s on %d threads%n", gameCount, seconds,
+                gameCount / seconds, ForkJoinPool.commonPool().getParallelism());
+        if (EngineMetrics.ENABLED) {
+            System.out.print(EngineMetrics.describe());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package kanagawa.simulation;
+
+/**
+ * Aggregated outcome of a batch of games played with the same number of
+ * players. Instances are filled by a single thread and merged afterwards.
+ */
+public class SimulationStats {
+
+    private final int playerCount;
+
+    private long gameCount;
+
+    private long drawCount;
+
+    private long roundSum;
+
+    /**
+     * Number of games won by each seat.
+     */
+    private final long[] wins;
+
+    /**
+     * Sum of the credits obtained by each seat.
+     */
+    private final long[] creditSums;
+
+    /**
+     * Constructor of the {@code SimulationStats} class.
+     *
+     * @param playerCount number of players in each game
+     */
+    public SimulationStats(int playerCount) {
+        this.playerCount = playerCount;
+        this.wins = new long[playerCount];
+        this.creditSums = new long[playerCount];
+    }
+
+    /**
+     * Adds the result of one game to the statistics.
+     *
+     * @param result the {@code GameResult} to add
+     */
+    public void add(GameResult result) {
+        gameCount++;
+        roundSum += result.getRoundCount();
+        if (result.getWinner() < 0) {
+            drawCount++;
+        } else {
+            wins[result.getWinner()]++;
+        }
+
+        int[] credits = result.getCredits();
+        for (int i = 0; i < playerCount; i++) {
+            creditSums[i] += credits[i];
+        }
+    }
+
+    /**
+     * Adds the statistics of another batch to this one.
+     *
+     * @param other the {@code SimulationStats} to merge
+     * @return this instance
+     */
+    public SimulationStats merge(SimulationStats other) {
+        gameCount += other.gameCount;
+        drawCount += other.drawCount;
+        roundSum += other.roundSum;
+        for (int i = 0; i < playerCount; i++) {
+            wins[i] += other.wins[i];
+            creditSums[i] += other.creditSums[i];
+        }
+        return this;
+    }
+
+    public long getGameCount() {
+        return gameCount;
+    }
+
+    public long getDrawCount() {
+        return drawCount;
+    }
+
+    /**
+     * Number of games won by the given seat.
+     */
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+
+    /**
+     * Average number of credits obtained by the given seat.
+     */
+    public double getAverageCredits(int seat) {
+        return gameCount == 0 ? 0 : (double) creditSums[seat] / gameCount;
+    }
+
+    public double getAverageRounds() {
+        return gameCount == 0 ? 0 : (double) roundSum / gameCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("Games : ").append(gameCount)
+                .append(", draws : ").append(drawCount)
+                .append(String.format(", average rounds : %.2f%n", getAverageRounds()));
+        for (int i = 0; i < playerCount; i++) {
+            builder.append(String.format("Seat %d : %.2f%% wins, %.2f average credits%n", i + 1,
+                    gameCount == 0 ? 0 : 100.0 * wins[i] / gameCount, getAverageCredits(i)));
+        }
+        return builder.toString();
+    }
+}
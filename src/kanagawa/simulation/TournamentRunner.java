@@ -0,0 +1,296 @@
+package kanagawa.simulation;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import kanagawa.ai.DeadlineStrategy;
+import kanagawa.ai.Strategy;
+import kanagawa.ai.StrategyProvider;
+import kanagawa.ai.StrategyProviders;
+import kanagawa.models.Game;
+import kanagawa.models.Player;
+
+/**
+ * Tournament between several strategies, playing games of 2, 3 and 4 players
+ * on all the cores of the machine. The entrants of each game are drawn at
+ * random and seated in a random order. The games are handed out one by one to
+ * the workers, and each result is written to the output and added to the
+ * {@code EloRatings} as soon as the game is over, so that nothing grows with
+ * the number of games. The ratings depend on the order in which the games end.
+ *
+ * Usage : {@code TournamentRunner [games] [output file] [seed] [deadline in ms] [strategies...]}
+ * where the strategies are names of {@code StrategyProvider}s, each name adding
+ * an entrant, with at least 2 entrants. The budget of the {@code mcts} strategy
+ * is set by the system property {@code kanagawa.mcts.budget}.
+ */
+public class TournamentRunner {
+
+    /**
+     * Header of the result lines written to the output.
+     */
+    public static final String HEADER = "game,seed,players,entrants,credits,winner,rounds";
+
+    private final ArrayList<String> names = new ArrayList<>();
+
+    /**
+     * Creates the {@code Strategy} of each entrant from a seed.
+     */
+    private final ArrayList<LongFunction<Strategy>> factories = new ArrayList<>();
+
+    /**
+     * Number of players of the tables, used in turn by the successive games.
+     */
+    private final int[] tableSizes;
+
+    private final ForkJoinPool pool;
+
+    private EloRatings ratings;
+
+    /**
+     * Games played, won and credits obtained by each entrant, guarded by the
+     * lock of the output like the ratings.
+     */
+    private long[] gameCounts;
+
+    private long[] winCounts;
+
+    private long[] creditSums;
+
+    /**
+     * Constructor of the {@code TournamentRunner} class.
+     *
+     * @param tableSizes number of players of the tables, between 2 and 4, at
+     *                   least one table
+     * @param pool       the {@code ForkJoinPool} running the games
+     */
+    public TournamentRunner(int[] tableSizes, ForkJoinPool pool) {
+        if (tableSizes.length == 0) {
+            throw new IllegalArgumentException("At least one table size is needed.");
+        }
+        for (int tableSize : tableSizes) {
+            if (tableSize < 2 || tableSize > 4) {
+                throw new IllegalArgumentException("A game is played by 2 to 4 players.");
+            }
+        }
+        this.tableSizes = tableSizes.clone();
+        this.pool = pool;
+    }
+
+    /**
+     * Adds an entrant to the tournament.
+     *
+     * @param name    name of the entrant, without commas
+     * @param factory creates the {@code Strategy} of the entrant from a seed
+     */
+    public void addEntrant(String name, LongFunction<Strategy> factory) {
+        names.add(name);
+        factories.add(factory);
+    }
+
+    /**
+     * Plays the tournament and writes one line per game to the output, in the
+     * order in which the games end. The ratings start again from
+     * {@code EloRatings.INITIAL_RATING}.
+     *
+     * @param gameCount number of games to play
+     * @param seed      seed from which the seed of each game is derived
+     * @param out       the output of the results, not closed
+     * @throws IOException if the results cannot be written, in which case the
+     *                     games left are not played
+     */
+    public void run(long gameCount, long seed, Writer out) throws IOException {
+        for (int tableSize : tableSizes) {
+            if (tableSize > names.size()) {
+                throw new IllegalStateException("Not enough entrants for a table of " + tableSize + " players.");
+            }
+        }
+        ratings = new EloRatings(names.size(), EloRatings.DEFAULT_K);
+        gameCounts = new long[names.size()];
+        winCounts = new long[names.size()];
+        creditSums = new long[names.size()];
+
+        out.write(HEADER);
+        out.write(System.lineSeparator());
+        AtomicLong nextGame = new AtomicLong();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int i = 0; i < pool.getParallelism(); i++) {
+            workers.add(() -> {
+                long index;
+                while ((index = nextGame.getAndIncrement()) < gameCount) {
+                    long gameSeed = seed + index * 0x9E3779B97F4A7C15L;
+                    int[] entrants = drawEntrants(tableSizes[(int) (index % tableSizes.length)], gameSeed);
+                    GameResult result = playGame(entrants, gameSeed);
+                    try {
+                        record(index, gameSeed, entrants, result, out);
+                    } catch (IOException e) {
+                        // No more games are handed out to the workers
+                        nextGame.set(gameCount);
+                        throw e;
+                    }
+                }
+                return null;
+            });
+        }
+
+        for (Future<Void> worker : pool.invokeAll(workers)) {
+            try {
+                worker.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Tournament interrupted.", e);
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Draws distinct entrants for a table, in the order of their seats.
+     */
+    private int[] drawEntrants(int tableSize, long gameSeed) {
+        SplittableRandom random = new SplittableRandom(gameSeed);
+        int[] all = new int[names.size()];
+        for (int i = 0; i < all.length; i++) {
+            all[i] = i;
+        }
+        int[] entrants = new int[tableSize];
+        for (int i = 0; i < tableSize; i++) {
+            int j = i + random.nextInt(all.length - i);
+            entrants[i] = all[j];
+            all[j] = all[i];
+        }
+        return entrants;
+    }
+
+    /**
+     * Plays a single game between the given entrants.
+     */
+    private GameResult playGame(int[] entrants, long gameSeed) {
+        Game game = new Game(gameSeed);
+        game.setEventLog(null);
+        Player[] players = new Player[4];
+        Strategy[] strategies = new Strategy[entrants.length];
+        for (int i = 0; i < entrants.length; i++) {
+            players[i] = new Player(names.get(entrants[i]));
+            strategies[i] = factories.get(entrants[i]).apply(gameSeed * 31 + i);
+        }
+        game.addPlayers(players[0], players[1], players[2], players[3]);
+
+        return GameDriver.play(game, strategies);
+    }
+
+    /**
+     * Writes the result of a game and adds it to the ratings.
+     */
+    private void record(long index, long gameSeed, int[] entrants, GameResult result, Writer out)
+            throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        line.append(index).append(',').append(gameSeed).append(',').append(entrants.length).append(',');
+        for (int i = 0; i < entrants.length; i++) {
+            line.append(i == 0 ? "" : " ").append(names.get(entrants[i]));
+        }
+        line.append(',');
+        int[] credits = result.getCredits();
+        for (int i = 0; i < credits.length; i++) {
+            line.append(i == 0 ? "" : " ").append(credits[i]);
+        }
+        line.append(',').append(result.getWinner() < 0 ? "-" : names.get(entrants[result.getWinner()]));
+        line.append(',').append(result.getRoundCount()).append(System.lineSeparator());
+
+        synchronized (this) {
+            out.write(line.toString());
+            ratings.update(entrants, credits);
+            for (int i = 0; i < entrants.length; i++) {
+                gameCounts[entrants[i]]++;
+                creditSums[entrants[i]] += credits[i];
+            }
+            if (result.getWinner() >= 0) {
+                winCounts[entrants[result.getWinner()]]++;
+            }
+        }
+    }
+
+    /**
+     * Rating of an entrant after the last tournament.
+     *
+     * @param entrant index of the entrant, in the order they were added
+     */
+    public synchronized double getRating(int entrant) {
+        return ratings.getRating(entrant);
+    }
+
+    /**
+     * Standings of the last tournament, from the best rated entrant.
+     */
+    public synchronized String getStandings() {
+        Integer[] order = new Integer[names.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(ratings.getRating(b), ratings.getRating(a)));
+
+        StringBuilder builder = new StringBuilder();
+        for (int entrant : order) {
+            long games = gameCounts[entrant];
+            builder.append(String.format("%-16s %7.1f Elo, %d games, %.2f%% wins, %.2f average credits%n",
+                    names.get(entrant), ratings.getRating(entrant), games,
+                    games == 0 ? 0 : 100.0 * winCounts[entrant] / games,
+                    games == 0 ? 0 : (double) creditSums[entrant] / games));
+        }
+        return builder.toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        long gameCount = args.length > 0 ? Long.parseLong(args[0]) : 10000;
+        String output = args.length > 1 ? args[1] : "tournament.csv";
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        long deadlineMillis = args.length > 3 ? Long.parseLong(args[3]) : 1000;
+        String[] strategies = args.length > 4 ? Arrays.copyOfRange(args, 4, args.length)
+                : new String[] { "random", "random", "mcts", "mcts" };
+        if (strategies.length < 2) {
+            System.err.println("TournamentRunner.main() : At least 2 strategies are needed.");
+            System.err.println(
+                    "Usage : TournamentRunner [games] [output file] [seed] [deadline in ms] [strategies...]");
+            System.exit(-1);
+        }
+
+        int tableSize = Math.min(strategies.length, 4);
+        int[] tableSizes = new int[tableSize - 1];
+        for (int i = 0; i < tableSizes.length; i++) {
+            tableSizes[i] = i + 2;
+        }
+        TournamentRunner runner = new TournamentRunner(tableSizes, ForkJoinPool.commonPool());
+        for (int i = 0; i < strategies.length; i++) {
+            StrategyProvider provider = StrategyProviders.find(strategies[i]);
+            runner.addEntrant(provider.getName() + "-" + (i + 1),
+                    s -> new DeadlineStrategy(provider.create(s), deadlineMillis, s));
+        }
+
+        long start = System.nanoTime();
+        try (BufferedWriter out = Files.newBufferedWriter(Paths.get(output))) {
+            runner.run(gameCount, seed, out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.print(runner.getStandings());
+        System.out.printf("%d games in %.2f s : %.1f games/s on %d threads, results in %s%n", gameCount, seconds,
+                gameCount / seconds, ForkJoinPool.commonPool().getParallelism(), output);
+    }
+}
@@ -0,0 +1,161 @@
+package kanagawa.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import kanagawa.ai.WinProbabilities;
+import kanagawa.ai.WinProbabilityEstimator;
+import kanagawa.models.Game;
+import kanagawa.models.GameLog;
+import kanagawa.models.GameReplay;
+import kanagawa.models.enums.GameEventType;
+
+/**
+ * Headless mode replaying archived games and estimating the probability of
+ * winning of each player at the start of every turn with the
+ * {@code WinProbabilityEstimator}. One line is written per turn, with the
+ * swing of the estimate since the previous turn, and the largest swing of each
+ * game is printed once it has been replayed.
+ *
+ * Usage : {@code WinProbabilityReplay [playouts] [output file] [seed] [logs...]}
+ * where each log file contains one or more {@code GameLog}s written one after
+ * the other by {@code GameLog.write()}.
+ */
+public class WinProbabilityReplay {
+
+    /**
+     * Header of the lines written to the output.
+     */
+    public static final String HEADER = "file,game,turn,round,player,probabilities,swing";
+
+    private final WinProbabilityEstimator estimator;
+
+    private final int playoutCount;
+
+    private final long seed;
+
+    /**
+     * Constructor of the {@code WinProbabilityReplay} class.
+     *
+     * @param estimator    the {@code WinProbabilityEstimator}
+     * @param playoutCount number of playouts of each estimate
+     * @param seed         seed of the playouts
+     */
+    public WinProbabilityReplay(WinProbabilityEstimator estimator, int playoutCount, long seed) {
+        this.estimator = estimator;
+        this.playoutCount = playoutCount;
+        this.seed = seed;
+    }
+
+    /**
+     * Replays a game and writes the estimate of each of its turns.
+     *
+     * @param log       the {@code GameLog} of the game
+     * @param file      name of the log file, written in the output
+     * @param gameIndex index of the game in the file
+     * @param out       the output, not closed
+     * @return the largest swing of the estimate from a turn to the next
+     * @throws IOException if the output cannot be written
+     */
+    public double replay(GameLog log, String file, int gameIndex, Writer out) throws IOException {
+        GameReplay replay = new GameReplay(log);
+        Game game = replay.getGame();
+        WinProbabilities previous = null;
+        double maxSwing = 0;
+        int turn = 0;
+
+        while (true) {
+            WinProbabilities estimate = estimator.estimate(game, playoutCount, seed + turn);
+            double swing = previous == null ? 0 : estimate.maxDifference(previous);
+            maxSwing = Math.max(maxSwing, swing);
+            previous = estimate;
+            write(out, file, gameIndex, turn, game, estimate, swing);
+
+            // Next turn of the log
+            boolean ended = false;
+            while (replay.hasNext() && !ended) {
+                ended = replay.step() == GameEventType.NEXT_TURN;
+            }
+            if (!ended) {
+                return maxSwing;
+            }
+            turn++;
+        }
+    }
+
+    private void write(Writer out, String file, int gameIndex, int turn, Game game, WinProbabilities estimate,
+            double swing) throws IOException {
+        StringBuilder line = new StringBuilder(96);
+        line.append(file).append(',').append(gameIndex).append(',').append(turn).append(',');
+        line.append(game.getRoundCount()).append(',');
+        line.append(game.getPlayers().indexOf(game.getCurrentRound().getCurrentPlayer())).append(',');
+        for (int i = 0; i < estimate.getPlayerCount(); i++) {
+            line.append(i == 0 ? "" : " ").append(String.format(Locale.ROOT, "%.4f", estimate.getProbability(i)));
+        }
+        line.append(',').append(String.format(Locale.ROOT, "%.4f", swing)).append(System.lineSeparator());
+        out.write(line.toString());
+    }
+
+    /**
+     * Reads the next log of a file.
+     *
+     * @return the {@code GameLog}, or {@code null} at the end of the file
+     */
+    private static GameLog readLog(DataInputStream in) throws IOException {
+        in.mark(1);
+        if (in.read() < 0) {
+            return null;
+        }
+        in.reset();
+        try {
+            return GameLog.read(in);
+        } catch (EOFException e) {
+            throw new IOException("WinProbabilityReplay.readLog() : Truncated game log.", e);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int playoutCount = args.length > 0 ? Integer.parseInt(args[0]) : 2048;
+        String output = args.length > 1 ? args[1] : "win_probabilities.csv";
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        String[] files = args.length > 3 ? Arrays.copyOfRange(args, 3, args.length) : new String[0];
+        if (files.length == 0) {
+            System.err.println("WinProbabilityReplay.main() : No game log given.");
+            System.exit(-1);
+        }
+
+        WinProbabilityReplay replay = new WinProbabilityReplay(
+                new WinProbabilityEstimator(ForkJoinPool.commonPool()), playoutCount, seed);
+
+        long start = System.nanoTime();
+        int gameCount = 0;
+        try (Writer out = Files.newBufferedWriter(Paths.get(output))) {
+            out.write(HEADER);
+            out.write(System.lineSeparator());
+            for (String file : files) {
+                try (InputStream stream = Files.newInputStream(Paths.get(file));
+                        DataInputStream in = new DataInputStream(new BufferedInputStream(stream))) {
+                    GameLog log;
+                    for (int i = 0; (log = readLog(in)) != null; i++) {
+                        double maxSwing = replay.replay(log, file, i, out);
+                        System.out.printf("%s #%d : largest swing %.1f%%%n", file, i, 100 * maxSwing);
+                        gameCount++;
+                    }
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("%d games in %.2f s with %d playouts per turn on %d threads, results in %s%n", gameCount,
+                seconds, playoutCount, ForkJoinPool.commonPool().getParallelism(), output);
+    }
+}
@@ -0,0 +1,52 @@
+package kanagawa.utilities;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class creating the executors running one task per thread, such as a game
+ * session or a client connection. On Java 21 and later each task runs on its
+ * own virtual thread. On older runtimes the executor falls back to a cached
+ * pool of daemon platform threads.
+ */
+public class TaskExecutors {
+
+    private TaskExecutors() {
+    }
+
+    /**
+     * Creates an executor starting a new thread for each task.
+     *
+     * @param name prefix of the name of the platform threads
+     * @return an {@code ExecutorService}
+     */
+    public static ExecutorService newPerTaskExecutor(String name) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            ThreadFactory threadFactory = task -> {
+                Thread thread = new Thread(task, name + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            return Executors.newCachedThreadPool(threadFactory);
+        }
+    }
+
+    /**
+     * Tells if the executors created by this class run virtual threads.
+     */
+    public static boolean isVirtual() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
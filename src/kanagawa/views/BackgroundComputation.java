@@ -0,0 +1,133 @@
+package kanagawa.views;
+
+import javafx.application.Platform;
+import kanagawa.models.Game;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Class running a computation on the game off the JavaFX thread, so that the
+ * interface never waits for the model. The computation works on a fork of the
+ * game taken when it is started, and its result, which must be immutable, is
+ * published on the JavaFX thread with {@code Platform.runLater()}. A long
+ * computation can also publish intermediate results, refined as it goes.
+ * Each start or cancellation increments a generation counter : the result of
+ * a computation is only published if no other computation was started or
+ * cancelled in the meantime, so an outdated result never reaches the screen.
+ * The methods must be called on the JavaFX thread.
+ *
+ * @param <T> type of the result
+ */
+class BackgroundComputation<T> {
+
+    private final ExecutorService executor;
+
+    private final BiFunction<Game, Consumer<T>, T> computation;
+
+    private final Consumer<T> publisher;
+
+    /**
+     * Generation of the last computation started or cancelled
+     */
+    private long generation;
+
+    /**
+     * Last computation started, {@code null} if it was cancelled
+     */
+    private Future<?> running;
+
+    /**
+     * Constructor of the {@code BackgroundComputation} class
+     *
+     * @param executor    the {@code ExecutorService} running the computations
+     * @param computation the computation, called with a fork of the game
+     * @param publisher   called on the JavaFX thread with the result of the last
+     *                    computation started
+     */
+    BackgroundComputation(ExecutorService executor, Function<Game, T> computation, Consumer<T> publisher) {
+        this(executor, (game, progress) -> computation.apply(game), publisher);
+    }
+
+    /**
+     * Constructor of the {@code BackgroundComputation} class, for a computation
+     * publishing intermediate results
+     *
+     * @param executor    the {@code ExecutorService} running the computations
+     * @param computation the computation, called with a fork of the game and a
+     *                    {@code Consumer} publishing an intermediate result. It
+     *                    should stop early when its thread is interrupted.
+     * @param publisher   called on the JavaFX thread with the results of the
+     *                    last computation started
+     */
+    BackgroundComputation(ExecutorService executor, BiFunction<Game, Consumer<T>, T> computation,
+            Consumer<T> publisher) {
+        this.executor = executor;
+        this.computation = computation;
+        this.publisher = publisher;
+    }
+
+    /**
+     * Cancels the running computation, if any, and computes again on the
+     * current state of the game
+     *
+     * @param game the {@code Game} displayed
+     */
+    void restart(Game game) {
+        cancel();
+
+        long startedGeneration = generation;
+        Game fork = game.fork(game.getSeed());
+        running = executor.submit(() -> {
+            T result;
+            try {
+                result = computation.apply(fork, partial -> publish(partial, startedGeneration, false));
+            } catch (RuntimeException e) {
+                System.err.println("BackgroundComputation.restart() : " + e);
+                return;
+            }
+            publish(result, startedGeneration, true);
+        });
+    }
+
+    /**
+     * Publishes a result on the JavaFX thread, unless another computation was
+     * started or cancelled in the meantime
+     *
+     * @param result            the result
+     * @param startedGeneration generation of the computation
+     * @param last              true if the computation is over
+     */
+    private void publish(T result, long startedGeneration, boolean last) {
+        Platform.runLater(() -> {
+            if (generation == startedGeneration) {
+                if (last) {
+                    running = null;
+                }
+                publisher.accept(result);
+            }
+        });
+    }
+
+    /**
+     * Cancels the running computation, whose result will not be published.
+     * Called as soon as the game is modified.
+     */
+    void cancel() {
+        generation++;
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+    }
+
+    /**
+     * Tells if a computation is running or waiting to be published
+     */
+    boolean isRunning() {
+        return running != null;
+    }
+}
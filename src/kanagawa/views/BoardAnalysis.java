@@ -0,0 +1,50 @@
+package kanagawa.views;
+
+import kanagawa.models.Diploma;
+import kanagawa.models.Game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable result of the model computations needed by the main game screen
+ * after each action of the player : the diplomas available to the current
+ * player and the end of the game. It is computed by a
+ * {@code BackgroundComputation} on a fork of the game.
+ */
+final class BoardAnalysis {
+
+    private final List<Diploma> availableDiplomas;
+
+    private final boolean gameOver;
+
+    private BoardAnalysis(List<Diploma> availableDiplomas, boolean gameOver) {
+        this.availableDiplomas = availableDiplomas;
+        this.gameOver = gameOver;
+    }
+
+    /**
+     * Analyses a game. The diplomas are immutable and shared by the forks of a
+     * game, so the result can be used with the game it was forked from.
+     *
+     * @param game the {@code Game} to analyse, usually a fork
+     * @return a {@code BoardAnalysis}
+     */
+    static BoardAnalysis of(Game game) {
+        ArrayList<Diploma> diplomas = game.getCurrentRound().getCurrentPlayer().findAvailableDiplomas();
+        return new BoardAnalysis(diplomas == null ? Collections.emptyList() : Collections.unmodifiableList(diplomas),
+                game.checkGameIsOver());
+    }
+
+    /**
+     * Diplomas available to the current player, empty if there are none
+     */
+    List<Diploma> getAvailableDiplomas() {
+        return availableDiplomas;
+    }
+
+    boolean isGameOver() {
+        return gameOver;
+    }
+}
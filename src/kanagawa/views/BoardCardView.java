@@ -0,0 +1,144 @@
+package kanagawa.views;
+
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.text.Font;
+import kanagawa.models.Card;
+
+/**
+ * Class implementing the view of a card on the board. A view is created once
+ * for each position of the board and is then updated with the card at this
+ * position, so that a redraw only changes the positions whose card changed.
+ */
+class BoardCardView extends AnchorPane {
+
+    private final ImageView bonusImageView = new ImageView();
+
+    private final ImageView skillImageView = new ImageView();
+
+    private final Label uvCode = new Label();
+
+    private final Label category = new Label();
+
+    private final ImageView requiredSkillImageView = new ImageView();
+
+    /**
+     * Card displayed by the view, {@code null} if the position is empty
+     */
+    private Card card;
+
+    /**
+     * Constructor of the {@code BoardCardView} class, creating an empty view
+     */
+    BoardCardView() {
+        AnchorPane.setBottomAnchor(this, 0.0);
+        AnchorPane.setTopAnchor(this, 0.0);
+        AnchorPane.setLeftAnchor(this, 0.0);
+        AnchorPane.setRightAnchor(this, 0.0);
+
+        AnchorPane uv = new AnchorPane();
+        uv.setPrefWidth(164);
+        uv.setPrefHeight(200);
+        uv.setLayoutX(157.0);
+
+        AnchorPane.setBottomAnchor(uv, 0.0);
+        AnchorPane.setTopAnchor(uv, 0.0);
+        AnchorPane.setRightAnchor(uv, 0.0);
+        uv.setStyle("-fx-border-color: black;");
+
+        AnchorPane pw = new AnchorPane();
+        pw.setPrefWidth(155);
+        pw.setPrefHeight(200);
+        AnchorPane.setBottomAnchor(pw, 0.0);
+        AnchorPane.setTopAnchor(pw, 0.0);
+        AnchorPane.setLeftAnchor(pw, 0.0);
+
+        // Adding elements in the Personal Work section (left section)
+        Label bonus = new Label("Bonus");
+        bonus.setFont(new Font("Verdana Bold", 12));
+        AnchorPane.setRightAnchor(bonus, 106.33333333333334);
+        AnchorPane.setTopAnchor(bonus, 14.0);
+
+        bonusImageView.setFitWidth(30);
+        bonusImageView.setFitHeight(30);
+        bonusImageView.setPickOnBounds(true);
+        bonusImageView.setPreserveRatio(true);
+        AnchorPane.setRightAnchor(bonusImageView, 104.33333333333334);
+        AnchorPane.setTopAnchor(bonusImageView, 42.0);
+
+        Label skill = new Label("Compétence");
+        skill.setFont(new Font("Verdana Bold", 12));
+        AnchorPane.setRightAnchor(skill, 65.0);
+        AnchorPane.setTopAnchor(skill, 92.0);
+
+        skillImageView.setFitWidth(30);
+        skillImageView.setFitHeight(30);
+        skillImageView.setPickOnBounds(true);
+        skillImageView.setPreserveRatio(true);
+        AnchorPane.setRightAnchor(skillImageView, 104.33333333333334);
+        AnchorPane.setBottomAnchor(skillImageView, 42.66666666666666);
+
+        // Adding elements in the UV section (right section)
+        uvCode.setFont(new Font("Verdana Bold", 18));
+        AnchorPane.setRightAnchor(uvCode, 50.33333333333334);
+        AnchorPane.setTopAnchor(uvCode, 14.0);
+
+        Label categoryLabel = new Label("Catégorie :");
+        categoryLabel.setFont(new Font(13));
+        AnchorPane.setRightAnchor(categoryLabel, 86.33333333333333);
+        AnchorPane.setTopAnchor(categoryLabel, 52.0);
+
+        category.setFont(new Font(20));
+        AnchorPane.setBottomAnchor(category, 119.66666666666666);
+        AnchorPane.setRightAnchor(category, 18.0);
+        AnchorPane.setTopAnchor(category, 42.0);
+
+        Label requiredSkillLabel = new Label("Compétence requise");
+        requiredSkillLabel.setFont(new Font("Verdana Bold", 13));
+        AnchorPane.setRightAnchor(requiredSkillLabel, 21.666666666666657);
+        AnchorPane.setTopAnchor(requiredSkillLabel, 100.0);
+
+        requiredSkillImageView.setFitWidth(42);
+        requiredSkillImageView.setFitHeight(42);
+        requiredSkillImageView.setPickOnBounds(true);
+        requiredSkillImageView.setPreserveRatio(true);
+        AnchorPane.setRightAnchor(requiredSkillImageView, 64.33333333333334);
+        AnchorPane.setTopAnchor(requiredSkillImageView, 133.0);
+
+        pw.getChildren().addAll(bonus, bonusImageView, skill, skillImageView);
+        uv.getChildren().addAll(uvCode, categoryLabel, category, requiredSkillLabel, requiredSkillImageView);
+
+        getChildren().addAll(uv, pw);
+        setVisible(false);
+    }
+
+    /**
+     * Displays a card, or nothing if the card is {@code null}. Does nothing if
+     * the card is already displayed.
+     *
+     * @param card the card to display
+     */
+    void setCard(Card card) {
+        if (card == this.card) {
+            return;
+        }
+        this.card = card;
+
+        if (card == null) {
+            setVisible(false);
+            return;
+        }
+
+        bonusImageView.setImage(ImageCache.of(card.getPersonalWork().getBonus()));
+        skillImageView.setImage(ImageCache.of(card.getPersonalWork().getSkill()));
+        uvCode.setText(card.getUv().getCode());
+        category.setText(card.getUv().getUvCategory().toString());
+        requiredSkillImageView.setImage(ImageCache.of(card.getUv().getSkill()));
+        setVisible(true);
+    }
+
+    public Card getCard() {
+        return card;
+    }
+}
@@ -0,0 +1,109 @@
+package kanagawa.views;
+
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import kanagawa.models.Diploma;
+
+import java.util.function.Consumer;
+
+/**
+ * Class implementing the view of an available diploma, with the buttons
+ * accepting or refusing it. Views are reused from one redraw to the next and
+ * only updated when their diploma changes.
+ */
+class DiplomaView extends AnchorPane {
+
+    private final ImageView diplomaGroupImageView = new ImageView();
+
+    private final Label label = new Label();
+
+    /**
+     * Diploma displayed by the view
+     */
+    private Diploma diploma;
+
+    /**
+     * Constructor of the {@code DiplomaView} class, creating an empty view
+     *
+     * @param onAccept called with the diploma when the player accepts it
+     * @param onRefuse called with the diploma when the player refuses it
+     */
+    DiplomaView(Consumer<Diploma> onAccept, Consumer<Diploma> onRefuse) {
+        setPrefHeight(57);
+        setStyle("-fx-background-color: white; -fx-border-color: black;");
+
+        Button checkButton = new Button(" ");
+        checkButton.setLayoutX(233);
+        checkButton.setLayoutY(13);
+        checkButton.setPrefHeight(32);
+        checkButton.setPrefWidth(30);
+        checkButton.setStyle("-fx-background-color: #ffbe76;");
+        checkButton.setOnAction(actionEvent -> onAccept.accept(diploma));
+
+        ImageView checkImageView = new ImageView(ImageCache.CHECK);
+        checkImageView.setFitHeight(22);
+        checkImageView.setFitWidth(22);
+        checkImageView.setLayoutX(277);
+        checkImageView.setLayoutY(18);
+        checkImageView.setPickOnBounds(true);
+        checkImageView.setPreserveRatio(true);
+
+        checkButton.setGraphic(checkImageView);
+
+        Button waitButton = new Button(" ");
+        waitButton.setLayoutX(273);
+        waitButton.setLayoutY(13);
+        waitButton.setPrefHeight(32);
+        waitButton.setPrefWidth(30);
+        waitButton.setStyle("-fx-background-color: #6ab04c;");
+        waitButton.setOnAction(actionEvent -> onRefuse.accept(diploma));
+
+        ImageView waitImageView = new ImageView(ImageCache.HOURGLASS);
+        waitImageView.setFitHeight(22);
+        waitImageView.setFitWidth(22);
+        waitImageView.setLayoutX(237);
+        waitImageView.setLayoutY(18);
+        waitImageView.setPickOnBounds(true);
+        waitImageView.setPreserveRatio(true);
+
+        waitButton.setGraphic(waitImageView);
+
+        diplomaGroupImageView.setFitHeight(33);
+        diplomaGroupImageView.setFitWidth(33);
+        diplomaGroupImageView.setLayoutX(16);
+        diplomaGroupImageView.setLayoutY(12);
+        diplomaGroupImageView.setPickOnBounds(true);
+        diplomaGroupImageView.setPreserveRatio(true);
+
+        ImageView creditImageView = new ImageView(ImageCache.CREDIT);
+        creditImageView.setFitHeight(25);
+        creditImageView.setFitWidth(21);
+        creditImageView.setLayoutX(76);
+        creditImageView.setLayoutY(17);
+        creditImageView.setPickOnBounds(true);
+        creditImageView.setPreserveRatio(true);
+
+        label.setLayoutX(62);
+        label.setLayoutY(19);
+
+        getChildren().addAll(checkButton, waitButton, checkImageView, waitImageView, diplomaGroupImageView,
+                creditImageView, label);
+    }
+
+    /**
+     * Displays a diploma. Does nothing if the diploma is already displayed.
+     *
+     * @param diploma the diploma to display
+     */
+    void setDiploma(Diploma diploma) {
+        if (diploma == this.diploma) {
+            return;
+        }
+        this.diploma = diploma;
+
+        diplomaGroupImageView.setImage(ImageCache.ofDiplomaGroup(diploma.getGroup().getGroupeName()));
+        label.setText(String.valueOf(diploma.getCredit()));
+    }
+}
@@ -0,0 +1,102 @@
+package kanagawa.views;
+
+import javafx.scene.image.Image;
+import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.Skill;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+
+/**
+ * Class holding the icons of the game screen, decoded once when the class is
+ * loaded. An {@code Image} can be shown by any number of {@code ImageView}s, so
+ * the views share these instances instead of reading the assets again on every
+ * redraw.
+ */
+final class ImageCache {
+
+    static final Image MEDAL = load("medal.png");
+
+    static final Image PROFESSOR = load("professor.png");
+
+    static final Image GAME_CONTROLLER = load("game-controller.png");
+
+    static final Image CHECK = load("check.png");
+
+    static final Image HOURGLASS = load("hourglass.png");
+
+    static final Image CREDIT = load("credit.png");
+
+    static final Image EMPTY = load("empty.png");
+
+    private static final EnumMap<Skill, Image> SKILLS = new EnumMap<>(Skill.class);
+
+    private static final EnumMap<Bonus, Image> BONUSES = new EnumMap<>(Bonus.class);
+
+    /**
+     * Icons of the diploma groups, by group name.
+     */
+    private static final HashMap<String, Image> DIPLOMA_GROUPS = new HashMap<>();
+
+    static {
+        for (Skill skill : Skill.values()) {
+            SKILLS.put(skill, load(skill.name().toLowerCase(Locale.ROOT) + ".png"));
+        }
+
+        BONUSES.put(Bonus.PEN, load("pen.png"));
+        BONUSES.put(Bonus.PROFESSOR, PROFESSOR);
+        BONUSES.put(Bonus.CREDIT, CREDIT);
+        BONUSES.put(Bonus.DOUBLE_CREDIT, load("double_credits.png"));
+        BONUSES.put(Bonus.NONE, EMPTY);
+
+        for (Skill skill : new Skill[] { Skill.INFO, Skill.ENERGY, Skill.INDUSTRY, Skill.ERGO, Skill.MECHANICS }) {
+            DIPLOMA_GROUPS.put(skill.name(), SKILLS.get(skill));
+        }
+    }
+
+    private ImageCache() {
+    }
+
+    /**
+     * Returns the icon of a skill
+     */
+    static Image of(Skill skill) {
+        return SKILLS.get(skill);
+    }
+
+    /**
+     * Returns the icon of a bonus
+     */
+    static Image of(Bonus bonus) {
+        return BONUSES.getOrDefault(bonus, EMPTY);
+    }
+
+    /**
+     * Returns the icon of a diploma group, the empty icon if the group has none
+     *
+     * @param groupName name of the group, see {@code DiplomaGroup.getGroupeName()}
+     */
+    static Image ofDiplomaGroup(String groupName) {
+        return DIPLOMA_GROUPS.getOrDefault(groupName, EMPTY);
+    }
+
+    /**
+     * Decodes an image of the assets directory.
+     */
+    private static Image load(String name) {
+        try (InputStream in = ImageCache.class.getResourceAsStream("assets/" + name)) {
+            if (in == null) {
+                System.err.println("ImageCache.load() : missing asset " + name);
+                System.exit(-1);
+            }
+            return new Image(in);
+        } catch (IOException e) {
+            System.err.println("ImageCache.load() : " + e.getMessage());
+            System.exit(-1);
+            return null;
+        }
+    }
+}
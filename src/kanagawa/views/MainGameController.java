@@ -1,32 +1,36 @@
 package kanagawa.views;
 
-import javafx.beans.value.ObservableValue;
-import javafx.event.ActionEvent;
+import javafx.application.Platform;
 import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.geometry.Point2D;
+import javafx.scene.Node;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.*;
-import javafx.scene.shape.Line;
-import javafx.scene.text.Font;
 import javafx.util.Callback;
+import kanagawa.utilities.TaskExecutors;
 import kanagawa.utils.Utils;
+import kanagawa.ai.WinProbabilities;
+import kanagawa.ai.WinProbabilityEstimator;
 import kanagawa.models.*;
-import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.CardChoice;
 import kanagawa.models.enums.Skill;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
-public class MainGameController {
+public class MainGameController implements ModelListener {
 
     private Game game; // Game instance
 
     @FXML
-    private VBox playersList, availableDiplomasList;
+    private VBox playersList, availableDiplomasList, winProbabilityList;
+
+    @FXML
+    private Label winProbabilityLabel;
 
     @FXML
     private AnchorPane one, two, three, four, five, six, seven, eight, nine, ten, eleven, twelve;
@@ -53,8 +57,72 @@ public class MainGameController {
     @FXML
     private HBox cardsList;
 
-    private int countNewDistribution = 0; // count to know when to distribute again
-    private int countSpaceRemainingOnBoard = 0; // count to know if board is full
+    /**
+     * Views of the cards on the board, by position
+     */
+    private final BoardCardView[] boardViews = new BoardCardView[Round.COLUMN_HEIGHT * 4];
+
+    /**
+     * Views of the cards of the current player and of the available diplomas,
+     * reused from one redraw to the next
+     */
+    private final ArrayList<UvCardView> uvViews = new ArrayList<>();
+
+    private final ArrayList<PersonalWorkCardView> pwViews = new ArrayList<>();
+
+    private final ArrayList<DiplomaView> diplomaViews = new ArrayList<>();
+
+    private final ArrayList<PlayerView> playerViews = new ArrayList<>();
+
+    /**
+     * Regions of the screen to redraw at the next refresh
+     */
+    private static final int PLAYER_DATA = 1; // Skill counts and cards of the current player
+    private static final int DIPLOMAS = 1 << 1; // Available diplomas and next player button
+    private static final int BOARD = 1 << 2; // Cards on the board and column buttons
+    private static final int PLAYERS = 1 << 3; // Players list
+    private static final int GAME = 1 << 4; // Round count and end of the game
+    private static final int ALL = PLAYER_DATA | DIPLOMAS | BOARD | PLAYERS | GAME;
+
+    /**
+     * Regions modified since the last refresh
+     */
+    private int dirtyRegions;
+
+    /**
+     * True if a refresh has been requested to the JavaFX thread and has not run
+     * yet
+     */
+    private boolean refreshScheduled;
+
+    /**
+     * Threads running the model computations of the screen
+     */
+    private static final ExecutorService ENGINE_EXECUTOR = TaskExecutors.newPerTaskExecutor("engine");
+
+    /**
+     * Available diplomas and end of the game, computed off the JavaFX thread
+     */
+    private final BackgroundComputation<BoardAnalysis> analysis = new BackgroundComputation<>(ENGINE_EXECUTOR,
+            BoardAnalysis::of, this::showAnalysis);
+
+    /**
+     * Number of playouts of the estimate of the probabilities of winning
+     */
+    private static final int WIN_PROBABILITY_PLAYOUTS = 4096;
+
+    private final WinProbabilityEstimator estimator = new WinProbabilityEstimator(ForkJoinPool.commonPool());
+
+    /**
+     * Probabilities of winning of the players at the start of the turn, refined
+     * as the playouts go
+     */
+    private final BackgroundComputation<WinProbabilities> winProbabilities = new BackgroundComputation<>(
+            ENGINE_EXECUTOR,
+            (fork, progress) -> estimator.estimate(fork, WIN_PROBABILITY_PLAYOUTS, fork.getPublicHash(), progress),
+            this::showWinProbabilities);
+
+    private final ArrayList<WinProbabilityView> winProbabilityViews = new ArrayList<>();
 
     /**
      * This method is automatically called when the window is created
@@ -64,17 +132,21 @@ public class MainGameController {
     public void initialize() {
         game = Game.getGameInstance();
 
-        game.shuffleCards();
-        game.randomFirstCardForPlayers();
-        game.getCurrentRound().setRemainingPlayers(game.getPlayers());
-        game.getCurrentRound().initBoardWithPlayersCount();
+        game.start(); // Starter cards and first distribution
 
-        game.distributeCards(); // First distribution
+        for (int i = 0; i < boardViews.length; i++) {
+            boardViews[i] = new BoardCardView();
+            getAnchorPaneFromPositionNumber(i).getChildren().setAll(boardViews[i]);
+        }
 
         createPlayers(game.getPlayers());
+        availableDiplomasList.getChildren().clear();
 
-        updateData();
-        showCardsOnBoard();
+        // The modifications of the game are displayed by refresh()
+        game.setListener(this);
+        dirtyRegions = ALL;
+        refresh();
+        winProbabilities.restart(game);
     }
 
     /**
@@ -94,39 +166,9 @@ public class MainGameController {
      */
     @FXML
     public void onNextPlayerButtonClicked(MouseEvent event) {
-        countNewDistribution++;
-
-        if (countSpaceRemainingOnBoard >= 2 && countNewDistribution == game.getCurrentRound().getPlayers().size()) {
-            nextPlayerButton.setDisable(true);
-            if (game.getCurrentRound().getPlayers().isEmpty())
-                countSpaceRemainingOnBoard = 0;
-
-        }
-
-        if (countNewDistribution == game.getCurrentRound().getPlayers().size() && countSpaceRemainingOnBoard < 2) {
-            {
-                game.distributeCards();
-                countNewDistribution = 0;
-                countSpaceRemainingOnBoard++;
-            }
-
-        }
-
-        game.getCurrentRound().getCurrentPlayer().setPlaying(false);
-        if (!game.getCurrentRound().getPlayers().isEmpty()) {
-            game.getCurrentRound().nextPlayer();
-        } else {
-
-            game.nextRound();
-            game.getCurrentRound().initBoardWithPlayersCount();
-            game.distributeCards();
-            roundCountLabel.setText("Tour n°" + game.getRoundCount());
-            countNewDistribution = 0;
-            countSpaceRemainingOnBoard = 0;
-        }
+        game.nextTurn();
         enableButtons();
-        updateData();
-        showCardsOnBoard();
+        winProbabilities.restart(game);
     }
 
     /**
@@ -187,53 +229,46 @@ public class MainGameController {
 
         int columnSize = firstColumnCards.size();
 
-        HashMap<Card, Boolean> takenCards = new HashMap<>();
+        // Cards added to the inventory and their choices, to put them back if the
+        // choice sequence is cancelled
+        Card[] takenCards = new Card[columnSize];
+        CardChoice[] takenChoices = new CardChoice[columnSize];
+        int takenCount = 0;
+        Card[] selectedCard = new Card[1];
 
         for (int i = 0; i < columnSize; i++) {
-            HashMap<Card, Boolean> result = createChoiceDialog(firstColumnCards); // Create dialog box
-            if (result != null) {// If button pressed is other than "cancel" button
+            CardChoice choice = createChoiceDialog(firstColumnCards, selectedCard); // Create dialog box
+            if (choice != null) {// If button pressed is other than "cancel" button
                 deleteColumn = true;
-                Map.Entry<Card, Boolean> entry = result.entrySet().iterator().next();
-                if (result.get(entry.getKey())) { // if player wants to add card to personal work
-                    game.getCurrentRound().getCurrentPlayer().addToPersonalWork(entry.getKey());
-                    takenCards.put(entry.getKey(), true);
-                } else { // if player wants to add card to UV
-                    Player currentPlayer = game.getCurrentRound().getCurrentPlayer();
-                    boolean hasSkill = currentPlayer.hasSkillAvailable(entry.getKey().getUv().getSkill());
-                    if (hasSkill) { // Checks if player has necessary skill to add UV
-                        game.getCurrentRound().getCurrentPlayer().addToUv(entry.getKey());
-                        takenCards.put(entry.getKey(), false);
-                    } else { // If the player does not has the necessary skill, show an error dialog box
-                        Alert errorDialog = new Alert(Alert.AlertType.ERROR);
-                        errorDialog.setTitle("Erreur");
-                        errorDialog.setHeaderText("Impossible d'ajouter l'UV");
-                        errorDialog.setContentText("Vérifier les compétences disponibles et les stylos");
-                        errorDialog.showAndWait();
-
-                        fireEventButtonEvent(colIndex); // Come back to column choice
-
-                        deleteColumn = false;
-
-                        break;
-                    }
+                Card card = selectedCard[0];
+                Player currentPlayer = game.getCurrentRound().getCurrentPlayer();
+                // Checks if player has necessary skill to add UV
+                if (currentPlayer.addCard(card, choice)) {
+                    takenCards[takenCount] = card;
+                    takenChoices[takenCount] = choice;
+                    takenCount++;
+                } else { // If the player does not has the necessary skill, show an error dialog box
+                    Alert errorDialog = new Alert(Alert.AlertType.ERROR);
+                    errorDialog.setTitle("Erreur");
+                    errorDialog.setHeaderText("Impossible d'ajouter l'UV");
+                    errorDialog.setContentText("Vérifier les compétences disponibles et les stylos");
+                    errorDialog.showAndWait();
+
+                    fireEventButtonEvent(colIndex); // Come back to column choice
+
+                    deleteColumn = false;
+
+                    break;
                 }
 
-                firstColumnCards.remove(entry.getKey()); // Delete card from list
-
-                updateData(); // Update data on interface
+                firstColumnCards.remove(card); // Delete card from list
             } else { // If the cancel button is clicked
                 deleteColumn = false;
                 // Put back taken cards in the list (because the choice sequence was cancelled)
-                for (Map.Entry<Card, Boolean> entry : takenCards.entrySet()) {
-                    if (entry.getValue()) {
-                        game.getCurrentRound().getCurrentPlayer().getInventory().getPwPossessed()
-                                .remove(entry.getKey().getPersonalWork());
-                    } else {
-                        game.getCurrentRound().getCurrentPlayer().getInventory().getUvPossessed()
-                                .remove(entry.getKey().getUv());
-                    }
-
-                    firstColumnCards.add(0, entry.getKey());
+                for (int j = 0; j < takenCount; j++) {
+                    game.getCurrentRound().getCurrentPlayer().removeCard(takenCards[j], takenChoices[j]);
+
+                    firstColumnCards.add(0, takenCards[j]);
                 }
 
                 break;
@@ -241,28 +276,23 @@ public class MainGameController {
         }
 
         if (deleteColumn) { // If the column was taken
-            game.getCurrentRound().removeColumn(colIndex); // remove the column from the board
-            showCardsOnBoard(); // Update card display on the interface
+            game.takeColumn(colIndex); // remove the column from the board, the current player cannot play
+                                       // anymore (for this round)
             disableAllButtons();
-            game.getCurrentRound().getPlayers().remove(game.getCurrentRound().getCurrentPlayer()); // Current player
-                                                                                                   // cannot play
-                                                                                                   // anymore (for this
-                                                                                                   // round)
-            countNewDistribution--;
-            nextPlayerButton.setDisable(false);
+            // The next player button stays disabled until showAnalysis() has checked
+            // the diplomas available to the player
         }
-
-        updateData(); // Update data on the interface
     }
 
     /**
      * Creates a choice dialog box for the taking column choice sequence and
      * displays it on the screen
      * 
-     * @param data the data to add to combo list in the dialog box
-     * @return the choice made by the player
+     * @param data         the data to add to combo list in the dialog box
+     * @param selectedCard array receiving the card selected by the player
+     * @return the choice made by the player, or {@code null} if cancelled
      */
-    private HashMap<Card, Boolean> createChoiceDialog(ArrayList<Card> data) {
+    private CardChoice createChoiceDialog(ArrayList<Card> data, Card[] selectedCard) {
         ChoiceDialog dialog = new ChoiceDialog(data.get(0), data);
         dialog.setTitle("Faites votre choix !");
         dialog.setHeaderText("Faites votre choix !");
@@ -277,34 +307,21 @@ public class MainGameController {
         dialog.getDialogPane().getButtonTypes().addAll(travailPersonelPen, travailPersonelNoPen, UV);
 
         // Apply event listeners on the choice dialog's buttons
-        dialog.setResultConverter(new Callback<ButtonType, HashMap<Card, Boolean>>() {
+        dialog.setResultConverter(new Callback<ButtonType, CardChoice>() {
             @Override
-            public HashMap<Card, Boolean> call(ButtonType b) {
+            public CardChoice call(ButtonType b) {
+                selectedCard[0] = (Card) dialog.getSelectedItem();
+
                 if (b == travailPersonelNoPen) {
-                    HashMap<Card, Boolean> res = new HashMap<>();
-                    res.put((Card) dialog.getSelectedItem(), true);
-                    updateData();
-                    return res;
+                    return CardChoice.PERSONAL_WORK;
                 }
 
                 if (b == travailPersonelPen) {
-                    HashMap<Card, Boolean> res = new HashMap<>();
-                    Card selectedCard = (Card) dialog.getSelectedItem();
-                    if (game.getCurrentRound().getCurrentPlayer().checkPenCount()) {
-                        selectedCard.getPersonalWork().setHasPen(true);
-                        game.getCurrentRound().getCurrentPlayer().removePen();
-                    }
-
-                    res.put(selectedCard, true);
-                    updateData();
-                    return res;
+                    return CardChoice.PERSONAL_WORK_WITH_PEN;
                 }
 
                 if (b == UV) {
-                    HashMap<Card, Boolean> res = new HashMap<>();
-                    res.put((Card) dialog.getSelectedItem(), false);
-                    updateData();
-                    return res;
+                    return CardChoice.UV;
                 }
 
                 return null;
@@ -313,7 +330,7 @@ public class MainGameController {
 
         Optional result = dialog.showAndWait();
         if (result.isPresent()) {
-            return (HashMap<Card, Boolean>) result.get();
+            return (CardChoice) result.get();
         }
         return null;
     }
@@ -364,63 +381,25 @@ public class MainGameController {
      * @param players
      */
     private void createPlayers(ArrayList<Player> players) {
-        playersList.getChildren().clear();
-
-        playersList.getChildren().clear();
-        for (Player player : game.getPlayers()) {
-            AnchorPane anchorPane = new AnchorPane();
-            anchorPane.setPrefWidth(199);
-            anchorPane.setPrefHeight(87);
-            anchorPane.setStyle("-fx-background-color: white; -fx-border-color: black");
-
-            Label label = new Label(player.getUsername());
-            label.setLayoutX(14);
-            label.setLayoutY(32);
-
-            label.setFont(new Font("Verdana", 18));
-
-            anchorPane.getChildren().add(label);
-
-            if (player.isFirstPlayer()) {
-                ImageView imageView = new ImageView(
-                        new Image(Objects.requireNonNull(getClass().getResourceAsStream("assets/medal.png"))));
-
-                imageView.setFitWidth(18);
-                imageView.setFitHeight(18);
-
-                imageView.setLayoutX(166);
-                imageView.setLayoutY(8);
-
-                anchorPane.getChildren().add(imageView);
-            }
-
-            if (player.getInventory().hasProfessor()) {
-                ImageView imageView = new ImageView(
-                        new Image(Objects.requireNonNull(getClass().getResourceAsStream("assets/professor.png"))));
-
-                imageView.setFitWidth(18);
-                imageView.setFitHeight(18);
-
-                imageView.setLayoutX(166);
-                imageView.setLayoutY(34);
-
-                anchorPane.getChildren().add(imageView);
-            }
-
-            if (player.isPlaying()) {
-                ImageView imageView = new ImageView(new Image(
-                        Objects.requireNonNull(getClass().getResourceAsStream("assets/game-controller.png"))));
-
-                imageView.setFitWidth(18);
-                imageView.setFitHeight(18);
+        playerViews.clear();
+        for (Player player : players) {
+            playerViews.add(new PlayerView(player));
+        }
 
-                imageView.setLayoutX(166);
-                imageView.setLayoutY(61);
+        playersList.getChildren().setAll(playerViews);
+    }
 
-                anchorPane.getChildren().add(imageView);
-            }
+    /**
+     * Updates the characteristics of the players displayed in the list at the
+     * right of the screen
+     */
+    private void showPlayers() {
+        if (playerViews.size() != game.getPlayers().size()) {
+            createPlayers(game.getPlayers());
+        }
 
-            playersList.getChildren().add(anchorPane);
+        for (PlayerView playerView : playerViews) {
+            playerView.update();
         }
     }
 
@@ -445,417 +424,138 @@ public class MainGameController {
     }
 
     /**
-     * Displays all the cards present on the board
+     * Displays all the cards present on the board. Only the positions whose card
+     * changed are updated.
      */
     private void showCardsOnBoard() {
-        HashMap<Integer, Card> cards = new HashMap<>();
-        for (int i = 0; i < game.getCurrentRound().getGameBoard().length; i++) {
-            if (game.getCurrentRound().getGameBoard()[i] != null) {
-                for (int j = 0; j < game.getCurrentRound().getGameBoard()[i].size(); j++) {
-                    cards.put(i + j * 4, game.getCurrentRound().getGameBoard()[i].get(j));
+        ArrayList<Card>[] gameBoard = game.getCurrentRound().getGameBoard();
+        for (int i = 0; i < gameBoard.length; i++) {
+            for (int j = 0; j < Round.COLUMN_HEIGHT; j++) {
+                Card card = null;
+                if (gameBoard[i] != null && j < gameBoard[i].size()) {
+                    card = gameBoard[i].get(j);
                 }
-            } else {
-                int k = i;
-                for (int j = 0; j < 3; j++) {
-                    AnchorPane anchorPane = getAnchorPaneFromPositionNumber(k);
-                    anchorPane.getChildren().clear();
-                    k += 4;
-                }
-
+                boardViews[i + j * 4].setCard(card);
             }
-
         }
-
-        for (Map.Entry<Integer, Card> entry : cards.entrySet()) {
-            displayCardOnBoard(entry.getValue(), getAnchorPaneFromPositionNumber(entry.getKey()));
-        }
-    }
-
-    /**
-     * Display one card on the board at a specific position
-     * 
-     * @param card     The card to display
-     * @param position The position where to display the card
-     */
-    private void displayCardOnBoard(Card card, AnchorPane position) {
-        AnchorPane uv = new AnchorPane();
-        uv.setPrefWidth(164);
-        uv.setPrefHeight(200);
-        uv.setLayoutX(157.0);
-
-        AnchorPane.setBottomAnchor(uv, 0.0);
-        AnchorPane.setTopAnchor(uv, 0.0);
-        AnchorPane.setRightAnchor(uv, 0.0);
-        uv.setStyle("-fx-border-color: black;");
-
-        AnchorPane pw = new AnchorPane();
-        pw.setPrefWidth(155);
-        pw.setPrefHeight(200);
-        AnchorPane.setBottomAnchor(pw, 0.0);
-        AnchorPane.setTopAnchor(pw, 0.0);
-        AnchorPane.setLeftAnchor(pw, 0.0);
-
-        // Adding elements in the Personal Work section (left section)
-        Label bonus = new Label("Bonus");
-        bonus.setFont(new Font("Verdana Bold", 12));
-        AnchorPane.setRightAnchor(bonus, 106.33333333333334);
-        AnchorPane.setTopAnchor(bonus, 14.0);
-
-        ImageView bonusImageView = new ImageView(new Image(Objects.requireNonNull(
-                getClass().getResourceAsStream(getImageUrlFromBonus(card.getPersonalWork().getBonus())))));
-        bonusImageView.setFitWidth(30);
-        bonusImageView.setFitHeight(30);
-        bonusImageView.setPickOnBounds(true);
-        bonusImageView.setPreserveRatio(true);
-        AnchorPane.setRightAnchor(bonusImageView, 104.33333333333334);
-        AnchorPane.setTopAnchor(bonusImageView, 42.0);
-
-        Label skill = new Label("Compétence");
-        skill.setFont(new Font("Verdana Bold", 12));
-        AnchorPane.setRightAnchor(skill, 65.0);
-        AnchorPane.setTopAnchor(skill, 92.0);
-
-        ImageView skillImageView = new ImageView(new Image(Objects.requireNonNull(
-                getClass().getResourceAsStream(getImageUrlFromSkill(card.getPersonalWork().getSkill())))));
-        skillImageView.setFitWidth(30);
-        skillImageView.setFitHeight(30);
-        skillImageView.setPickOnBounds(true);
-        skillImageView.setPreserveRatio(true);
-        AnchorPane.setRightAnchor(skillImageView, 104.33333333333334);
-        AnchorPane.setBottomAnchor(skillImageView, 42.66666666666666);
-
-        // Adding elements in the UV section (right section)
-        Label uvCode = new Label(card.getUv().getCode());
-        uvCode.setFont(new Font("Verdana Bold", 18));
-        AnchorPane.setRightAnchor(uvCode, 50.33333333333334);
-        AnchorPane.setTopAnchor(uvCode, 14.0);
-
-        Label categoryLabel = new Label("Catégorie :");
-        categoryLabel.setFont(new Font(13));
-        AnchorPane.setRightAnchor(categoryLabel, 86.33333333333333);
-        AnchorPane.setTopAnchor(categoryLabel, 52.0);
-
-        Label category = new Label(card.getUv().getUvCategory().toString());
-        category.setFont(new Font(20));
-        AnchorPane.setBottomAnchor(category, 119.66666666666666);
-        AnchorPane.setRightAnchor(category, 18.0);
-        AnchorPane.setTopAnchor(category, 42.0);
-
-        Label requiredSkillLabel = new Label("Compétence requise");
-        requiredSkillLabel.setFont(new Font("Verdana Bold", 13));
-        AnchorPane.setRightAnchor(requiredSkillLabel, 21.666666666666657);
-        AnchorPane.setTopAnchor(requiredSkillLabel, 100.0);
-
-        ImageView requiredSkillImageView = new ImageView(new Image(
-                Objects.requireNonNull(getClass().getResourceAsStream(getImageUrlFromSkill(card.getUv().getSkill())))));
-        requiredSkillImageView.setFitWidth(42);
-        requiredSkillImageView.setFitHeight(42);
-        requiredSkillImageView.setPickOnBounds(true);
-        requiredSkillImageView.setPreserveRatio(true);
-        AnchorPane.setRightAnchor(requiredSkillImageView, 64.33333333333334);
-        AnchorPane.setTopAnchor(requiredSkillImageView, 133.0);
-
-        pw.getChildren().addAll(bonus, bonusImageView, skill, skillImageView);
-        uv.getChildren().addAll(uvCode, categoryLabel, category, requiredSkillLabel, requiredSkillImageView);
-
-        position.getChildren().addAll(uv, pw);
     }
 
     /**
-     * Display all the cards that the player owns on the list at the bottom
+     * Display all the cards that the player owns on the list at the bottom.
+     * The views of the previous redraw are reused, and the list is only
+     * rebuilt when the number of cards changed.
      */
     private void showPlayerCards() {
-        cardsList.getChildren().clear();
+        Player currentPlayer = game.getCurrentRound().getCurrentPlayer();
+        List<UV> uvPossessed = currentPlayer.getInventory().getUvPossessed();
+        List<PersonalWork> pwPossessed = currentPlayer.getInventory().getPwPossessed();
 
-        for (UV uv : game.getCurrentRound().getCurrentPlayer().getInventory().getUvPossessed()) {
-            displayCardUv(uv);
+        while (uvViews.size() < uvPossessed.size()) {
+            uvViews.add(new UvCardView());
+        }
+        while (pwViews.size() < pwPossessed.size()) {
+            pwViews.add(new PersonalWorkCardView());
         }
 
-        for (PersonalWork pw : game.getCurrentRound().getCurrentPlayer().getInventory().getPwPossessed()) {
-            displayCardPersonalWork(pw);
+        ArrayList<Node> cards = new ArrayList<>(uvPossessed.size() + pwPossessed.size());
+        for (int i = 0; i < uvPossessed.size(); i++) {
+            UvCardView uvView = uvViews.get(i);
+            uvView.setUv(uvPossessed.get(i));
+            cards.add(uvView);
+        }
+        for (int i = 0; i < pwPossessed.size(); i++) {
+            PersonalWorkCardView pwView = pwViews.get(i);
+            pwView.setPersonalWork(pwPossessed.get(i), currentPlayer, i);
+            cards.add(pwView);
         }
+
+        setChildren(cardsList, cards);
     }
 
     /**
      * Display all the available diplomas that the player owns on the list at bottom
      * left
+     * 
+     * @param availableDiplomas the diplomas available to the current player
      */
-    private void showAvailableDiplomas() {
-        availableDiplomasList.getChildren().clear();
+    private void showAvailableDiplomas(List<Diploma> availableDiplomas) {
+        int diplomaCount = availableDiplomas.size();
 
-        ArrayList<Diploma> availableDiplomas = game.getCurrentRound().getCurrentPlayer().findAvailableDiplomas();
+        while (diplomaViews.size() < diplomaCount) {
+            diplomaViews.add(new DiplomaView(this::acceptDiploma, this::refuseDiploma));
+        }
 
-        if (availableDiplomas != null) {
-            for (Diploma diploma : game.getCurrentRound().getCurrentPlayer().findAvailableDiplomas()) {
-                displayAvailableDiploma(diploma);
-            }
+        ArrayList<Node> diplomas = new ArrayList<>(diplomaCount);
+        for (int i = 0; i < diplomaCount; i++) {
+            DiplomaView diplomaView = diplomaViews.get(i);
+            diplomaView.setDiploma(availableDiplomas.get(i));
+            diplomas.add(diplomaView);
         }
+
+        setChildren(availableDiplomasList, diplomas);
     }
 
     /**
-     * Displays one UV on the bottom list
+     * Method called when the accept button of an available diploma is clicked
      * 
-     * @param uv The UV to display
+     * @param diploma the diploma accepted by the current player
      */
-    private void displayCardUv(UV uv) {
-        AnchorPane anchorPane = new AnchorPane();
-        anchorPane.setPrefWidth(250);
-        anchorPane.setStyle("-fx-border-color: black; -fx-background-color: white;");
-
-        Label uvCode = new Label(uv.getCode());
-        uvCode.setFont(new Font("Tahoma Bold", 24));
-        uvCode.setLayoutX(107);
-        uvCode.setLayoutY(26);
-        AnchorPane.setBottomAnchor(uvCode, 326.0);
-        AnchorPane.setRightAnchor(uvCode, 107.66666666666669);
-        AnchorPane.setTopAnchor(uvCode, 26.0);
-
-        Label category = new Label("Catégorie :");
-        category.setFont(new Font(19));
-        category.setLayoutX(14);
-        category.setLayoutY(110);
-        AnchorPane.setBottomAnchor(category, 243.0);
-        AnchorPane.setLeftAnchor(category, 14.0);
-        AnchorPane.setTopAnchor(category, 110.0);
-
-        Label cat = new Label(uv.getUvCategory().toString());
-        cat.setFont(new Font(28));
-        cat.setLayoutX(192);
-        cat.setLayoutY(105);
-        AnchorPane.setBottomAnchor(cat, 242.0);
-        AnchorPane.setRightAnchor(cat, 24.0);
-        AnchorPane.setTopAnchor(cat, 109.0);
-
-        Label requiredSkill = new Label("Compétence requise");
-        requiredSkill.setFont(new Font("Verdana Bold", 13));
-        requiredSkill.setLayoutX(53);
-        requiredSkill.setLayoutY(210);
-        AnchorPane.setBottomAnchor(requiredSkill, 166.0);
-        AnchorPane.setRightAnchor(requiredSkill, 65.0);
-        AnchorPane.setTopAnchor(requiredSkill, 211.0);
-
-        Line line = new Line();
-        line.setStartX(-100);
-        line.setEndX(100);
-        line.setLayoutX(139);
-        line.setLayoutY(79);
-        AnchorPane.setBottomAnchor(line, 315.8333333333333);
-        AnchorPane.setRightAnchor(line, 39.166666666666686);
-        AnchorPane.setTopAnchor(line, 78.5);
-        AnchorPane.setLeftAnchor(line, 38.5);
-
-        ImageView imageView = new ImageView(
-                new Image(Objects.requireNonNull(getClass().getResourceAsStream(getImageUrlFromSkill(uv.getSkill())))));
-        imageView.setFitHeight(42);
-        imageView.setFitWidth(42);
-        imageView.setLayoutX(119);
-        imageView.setLayoutY(286);
-        imageView.setPickOnBounds(true);
-        imageView.setPreserveRatio(true);
-        AnchorPane.setBottomAnchor(imageView, 69.33333333333331);
-        AnchorPane.setRightAnchor(imageView, 119.66666666666669);
-        AnchorPane.setTopAnchor(imageView, 286.0);
-
-        anchorPane.getChildren().addAll(uvCode, category, cat, requiredSkill, line, imageView);
-
-        cardsList.getChildren().add(anchorPane);
+    private void acceptDiploma(Diploma diploma) {
+        game.getCurrentRound().getCurrentPlayer().acceptDiploma(diploma);
     }
 
     /**
-     * Displays one Personal Work on the bottom list
+     * Method called when the refuse button of an available diploma is clicked
      * 
-     * @param uv The Personal Work to display
+     * @param diploma the diploma refused by the current player
      */
-    private void displayCardPersonalWork(PersonalWork pw) {
-        AnchorPane anchorPane = new AnchorPane();
-        anchorPane.setPrefWidth(200);
-        anchorPane.setStyle("-fx-border-color: black; -fx-background-color: white;");
-
-        Label bonusLabel = new Label("Bonus");
-        bonusLabel.setFont(new Font("System Bold", 16));
-        bonusLabel.setLayoutX(77);
-        bonusLabel.setLayoutY(14);
-
-        ImageView bonusImageView = new ImageView(
-                new Image(Objects.requireNonNull(getClass().getResourceAsStream(getImageUrlFromBonus(pw.getBonus())))));
-        bonusImageView.setFitHeight(42);
-        bonusImageView.setFitWidth(42);
-        bonusImageView.setLayoutX(79);
-        bonusImageView.setLayoutY(63);
-        bonusImageView.setPickOnBounds(true);
-        bonusImageView.setPreserveRatio(true);
-
-        Label skillLabel = new Label("Compétence :");
-        skillLabel.setFont(new Font("System bold", 16));
-        skillLabel.setLayoutX(53);
-        skillLabel.setLayoutY(174);
-
-        ImageView skillImageView = new ImageView(
-                new Image(Objects.requireNonNull(getClass().getResourceAsStream(getImageUrlFromSkill(pw.getSkill())))));
-        skillImageView.setFitHeight(42);
-        skillImageView.setFitWidth(42);
-        skillImageView.setLayoutX(32);
-        skillImageView.setLayoutY(253);
-        skillImageView.setPickOnBounds(true);
-        skillImageView.setPreserveRatio(true);
-
-        CheckBox checkBox = new CheckBox();
-        checkBox.setLayoutX(121);
-        checkBox.setLayoutY(265);
-        checkBox.setText("Stylo");
-        checkBox.setSelected(pw.hasPen());
-        Player currentPlayer = game.getCurrentRound().getCurrentPlayer();
-        if (!currentPlayer.checkPenCount() && !checkBox.isSelected()) {
-            checkBox.setDisable(true);
-        }
-
-        checkBox.selectedProperty().addListener(
-                (ObservableValue<? extends Boolean> ov, Boolean old_val, Boolean new_val) -> {
-                    if (new_val) {
-                        boolean hasEnoughPen = currentPlayer.checkPenCount();
-                        if (hasEnoughPen) {
-                            currentPlayer.removePen();
-                            currentPlayer.getInventory().getPwPossessed()
-                                    .get(currentPlayer.getInventory().getPwPossessed().indexOf(pw)).setHasPen(true);
-                        }
-                    } else {
-                        currentPlayer.addPen();
-                        currentPlayer.getInventory().getPwPossessed()
-                                .get(currentPlayer.getInventory().getPwPossessed().indexOf(pw)).setHasPen(false);
-                    }
-
-                    updateData();
-                });
-
-        anchorPane.getChildren().addAll(bonusLabel, bonusImageView, skillLabel, skillImageView, checkBox);
-
-        cardsList.getChildren().add(anchorPane);
+    private void refuseDiploma(Diploma diploma) {
+        game.getCurrentRound().getCurrentPlayer().refuseDiploma(diploma);
     }
 
     /**
-     * Displays one available diploma on the bottom left list
+     * Replaces the children of a container, unless they are already the given
+     * nodes, so that an unchanged list does not trigger a layout pass
      * 
-     * @param diploma The available diploma to display
+     * @param pane  the container
+     * @param nodes the children to display, in order
      */
-    private void displayAvailableDiploma(Diploma diploma) {
-        AnchorPane anchorPane = new AnchorPane();
-        anchorPane.setPrefHeight(57);
-        anchorPane.setStyle("-fx-background-color: white; -fx-border-color: black;");
-
-        Button checkButton = new Button(" ");
-        checkButton.setLayoutX(233);
-        checkButton.setLayoutY(13);
-        checkButton.setPrefHeight(32);
-        checkButton.setPrefWidth(30);
-        checkButton.setStyle("-fx-background-color: #ffbe76;");
-
-        checkButton.setOnAction(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent actionEvent) {
-                game.getCurrentRound().getCurrentPlayer().getInventory().addDiploma(diploma);
-                updateData();
-            }
-        });
-
-        ImageView checkImageView = new ImageView(
-                new Image(Objects.requireNonNull(getClass().getResourceAsStream("assets/check.png"))));
-        checkImageView.setFitHeight(22);
-        checkImageView.setFitWidth(22);
-        checkImageView.setLayoutX(277);
-        checkImageView.setLayoutY(18);
-        checkImageView.setPickOnBounds(true);
-        checkImageView.setPreserveRatio(true);
-
-        checkButton.setGraphic(checkImageView);
-
-        Button waitButton = new Button(" ");
-        waitButton.setLayoutX(273);
-        waitButton.setLayoutY(13);
-        waitButton.setPrefHeight(32);
-        waitButton.setPrefWidth(30);
-        waitButton.setStyle("-fx-background-color: #6ab04c;");
-
-        waitButton.setOnAction(new EventHandler<ActionEvent>() {
-            @Override
-            public void handle(ActionEvent actionEvent) {
-                game.getCurrentRound().getCurrentPlayer().getInventory().addRefusedDiploma(diploma);
-                updateData();
-            }
-        });
-
-        ImageView waitImageView = new ImageView(
-                new Image(Objects.requireNonNull(getClass().getResourceAsStream("assets/hourglass.png"))));
-        waitImageView.setFitHeight(22);
-        waitImageView.setFitWidth(22);
-        waitImageView.setLayoutX(237);
-        waitImageView.setLayoutY(18);
-        waitImageView.setPickOnBounds(true);
-        waitImageView.setPreserveRatio(true);
-
-        waitButton.setGraphic(waitImageView);
-
-        ImageView diplomaGroupImageView = new ImageView(new Image(Objects.requireNonNull(
-                getClass().getResourceAsStream(getImageUrlFromDiplomaGroup(diploma.getGroup().getGroupeName())))));
-        diplomaGroupImageView.setFitHeight(33);
-        diplomaGroupImageView.setFitWidth(33);
-        diplomaGroupImageView.setLayoutX(16);
-        diplomaGroupImageView.setLayoutY(12);
-        diplomaGroupImageView.setPickOnBounds(true);
-        diplomaGroupImageView.setPreserveRatio(true);
-
-        ImageView creditImageView = new ImageView(
-                new Image(Objects.requireNonNull(getClass().getResourceAsStream("assets/credit.png"))));
-        creditImageView.setFitHeight(25);
-        creditImageView.setFitWidth(21);
-        creditImageView.setLayoutX(76);
-        creditImageView.setLayoutY(17);
-        creditImageView.setPickOnBounds(true);
-        creditImageView.setPreserveRatio(true);
-
-        Label label = new Label(String.valueOf(diploma.getCredit()));
-        label.setLayoutX(62);
-        label.setLayoutY(19);
-
-        anchorPane.getChildren().addAll(checkButton, waitButton, checkImageView, waitImageView, diplomaGroupImageView,
-                creditImageView, label);
-
-        availableDiplomasList.getChildren().add(anchorPane);
+    private static void setChildren(Pane pane, List<Node> nodes) {
+        if (!pane.getChildren().equals(nodes)) {
+            pane.getChildren().setAll(nodes);
+        }
     }
 
     /**
-     * If the game is over, displays a panel with the ranking of the players
+     * Displays a panel with the ranking of the players, once the game is over
      */
     private void displayEndGamePanel() {
-        if (game.checkGameIsOver()) {
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Fin de la partie !");
-            alert.setHeaderText("Partie terminée !");
-            String s = "";
-            ArrayList<Player> sortedPlayers = new ArrayList<>(game.getPlayers());
-            sortedPlayers.sort(new Comparator<Player>() {
-                @Override
-                public int compare(Player o1, Player o2) {
-                    return Integer.compare(o2.getInventory().getCredits(), o1.getInventory().getCredits());
-                }
-            });
-            for (int i = 0; i < sortedPlayers.size(); i++) {
-                s += (i + 1) + ". " + sortedPlayers.get(i).getUsername() + " : "
-                        + sortedPlayers.get(i).getInventory().getCredits() + " crédits.\n";
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Fin de la partie !");
+        alert.setHeaderText("Partie terminée !");
+        String s = "";
+        ArrayList<Player> sortedPlayers = new ArrayList<>(game.getPlayers());
+        sortedPlayers.sort(new Comparator<Player>() {
+            @Override
+            public int compare(Player o1, Player o2) {
+                return Integer.compare(o2.getInventory().getCredits(), o1.getInventory().getCredits());
             }
+        });
+        for (int i = 0; i < sortedPlayers.size(); i++) {
+            s += (i + 1) + ". " + sortedPlayers.get(i).getUsername() + " : "
+                    + sortedPlayers.get(i).getInventory().getCredits() + " crédits.\n";
+        }
 
-            alert.setOnCloseRequest(new EventHandler<DialogEvent>() {
-                @Override
-                public void handle(DialogEvent dialogEvent) {
-                    System.exit(0);
-                }
-            });
-
-            alert.setContentText(s);
-
-            alert.showAndWait();
+        alert.setOnCloseRequest(new EventHandler<DialogEvent>() {
+            @Override
+            public void handle(DialogEvent dialogEvent) {
+                System.exit(0);
+            }
+        });
 
-        }
+        alert.setContentText(s);
 
+        alert.showAndWait();
     }
 
     /**
@@ -892,9 +592,11 @@ public class MainGameController {
     /**
      * Checks if there are any diplomas available for the players. If so, the player
      * cannot skip his turn
+     * 
+     * @param availableDiplomas the diplomas available to the current player
      */
-    private void checkDiplomasAvailable() {
-        if (game.getCurrentRound().getCurrentPlayer().findAvailableDiplomas() != null) {
+    private void checkDiplomasAvailable(List<Diploma> availableDiplomas) {
+        if (!availableDiplomas.isEmpty()) {
             nextPlayerButton.setDisable(true);
         } else {
             nextPlayerButton.setDisable(false);
@@ -922,107 +624,6 @@ public class MainGameController {
         }
     }
 
-    /**
-     * Returns the image path corresponding to a skill
-     * 
-     * @param skill
-     * @return
-     */
-    private String getImageUrlFromSkill(Skill skill) {
-        String urlBase = "assets/";
-        switch (skill) {
-            case MATH:
-                urlBase += "math.png";
-                break;
-            case INFO:
-                urlBase += "info.png";
-                break;
-            case ENERGY:
-                urlBase += "energy.png";
-                break;
-            case ERGO:
-                urlBase += "ergo.png";
-                break;
-            case MECHANICS:
-                urlBase += "mechanics.png";
-                break;
-            case INDUSTRY:
-                urlBase += "industry.png";
-                break;
-            case MANAGEMENT:
-                urlBase += "management.png";
-                break;
-            case LANGUAGE:
-                urlBase += "language.png";
-                break;
-            default:
-                break;
-        }
-
-        return urlBase;
-    }
-
-    /**
-     * Returns the image path corresponding to a bonus
-     * 
-     * @param bonus
-     * @return
-     */
-    private String getImageUrlFromBonus(Bonus bonus) {
-        String urlBase = "assets/";
-        switch (bonus) {
-            case PEN:
-                urlBase += "pen.png";
-                break;
-            case PROFESSOR:
-                urlBase += "professor.png";
-                break;
-            case CREDIT:
-                urlBase += "credit.png";
-                break;
-            case DOUBLE_CREDIT:
-                urlBase += "double_credits.png";
-                break;
-            default:
-                urlBase += "empty.png";
-                break;
-        }
-
-        return urlBase;
-    }
-
-    /**
-     * Returns the image path corresponding to a diplomaGroup name
-     * 
-     * @param diplomaGroup
-     * @return
-     */
-    private String getImageUrlFromDiplomaGroup(String diplomaGroup) {
-        String urlBase = "assets/";
-        switch (diplomaGroup) {
-            case "INFO":
-                urlBase += "info.png";
-                break;
-            case "ENERGY":
-                urlBase += "energy.png";
-                break;
-            case "INDUSTRY":
-                urlBase += "industry.png";
-                break;
-            case "ERGO":
-                urlBase += "ergo.png";
-                break;
-            case "MECHANICS":
-                urlBase += "mechanics.png";
-                break;
-            default:
-                urlBase += "empty.png";
-                break;
-        }
-
-        return urlBase;
-    }
-
     /**
      * Get the right position on the right anchor pane on the interface
      * corresponding to a position
@@ -1076,18 +677,114 @@ public class MainGameController {
         return anchorPane;
     }
 
+    @Override
+    public void inventoryChanged(Inventory inventory, long version) {
+        int regions = DIPLOMAS | PLAYERS | GAME;
+        if (inventory == game.getCurrentRound().getCurrentPlayer().getInventory()) {
+            regions |= PLAYER_DATA;
+        }
+        invalidate(regions);
+    }
+
+    @Override
+    public void roundChanged(Round round, long version) {
+        // The current player may have changed
+        invalidate(PLAYER_DATA | DIPLOMAS | BOARD | PLAYERS);
+    }
+
+    @Override
+    public void gameChanged(Game game, long version) {
+        invalidate(PLAYERS | GAME);
+    }
+
     /**
-     * Gets all the data from models and updates information displayed on the
-     * screen.
-     * This method is called each time a player makes an action.
+     * Marks regions of the screen to redraw and schedules a refresh, unless one
+     * is already scheduled. All the modifications made before the refresh runs,
+     * by the same action of the player, are displayed by a single refresh.
+     * Called on the JavaFX thread, which is the only one modifying the game.
+     * 
+     * @param regions the regions to redraw
      */
-    private void updateData() {
-        showPlayerData();
-        showPlayerCards();
-        showAvailableDiplomas();
-        checkDiplomasAvailable();
-        displayEndGamePanel();
-        disableButtons();
-        createPlayers(game.getPlayers());
+    private void invalidate(int regions) {
+        if ((regions & (DIPLOMAS | GAME)) != 0 && analysis.isRunning()) {
+            // The analysis being computed is outdated, and so are the diplomas displayed
+            analysis.cancel();
+        }
+        if ((regions & DIPLOMAS) != 0) {
+            availableDiplomasList.setDisable(true);
+            nextPlayerButton.setDisable(true);
+        }
+
+        dirtyRegions |= regions;
+        if (!refreshScheduled) {
+            refreshScheduled = true;
+            Platform.runLater(this::refresh);
+        }
+    }
+
+    /**
+     * Gets the data from models and updates the regions of the screen modified
+     * since the last refresh.
+     */
+    private void refresh() {
+        int regions = dirtyRegions;
+        dirtyRegions = 0;
+        refreshScheduled = false;
+
+        if ((regions & PLAYER_DATA) != 0) {
+            showPlayerData();
+            showPlayerCards();
+        }
+        if ((regions & (DIPLOMAS | GAME)) != 0) {
+            // Displayed by showAnalysis() once computed
+            analysis.restart(game);
+        }
+        if ((regions & BOARD) != 0) {
+            showCardsOnBoard();
+            disableButtons();
+        }
+        if ((regions & PLAYERS) != 0) {
+            showPlayers();
+        }
+        if ((regions & GAME) != 0) {
+            roundCountLabel.setText("Tour n°" + game.getRoundCount());
+        }
+    }
+
+    /**
+     * Displays the estimated probabilities of winning of the players, on the
+     * JavaFX thread
+     * 
+     * @param probabilities the estimate, refined as the playouts go
+     */
+    private void showWinProbabilities(WinProbabilities probabilities) {
+        ArrayList<Player> players = game.getPlayers();
+        if (winProbabilityViews.size() != players.size()) {
+            winProbabilityViews.clear();
+            for (Player player : players) {
+                winProbabilityViews.add(new WinProbabilityView(player.getUsername()));
+            }
+            winProbabilityList.getChildren().setAll(winProbabilityViews);
+        }
+
+        for (int i = 0; i < winProbabilityViews.size(); i++) {
+            winProbabilityViews.get(i).setProbability(probabilities.getProbability(i));
+        }
+        winProbabilityLabel.setText("Chances de victoire (" + probabilities.getPlayoutCount() + " parties)");
+    }
+
+    /**
+     * Displays the result of the last analysis of the game, on the JavaFX thread
+     * 
+     * @param boardAnalysis the diplomas available and the end of the game
+     */
+    private void showAnalysis(BoardAnalysis boardAnalysis) {
+        showAvailableDiplomas(boardAnalysis.getAvailableDiplomas());
+        checkDiplomasAvailable(boardAnalysis.getAvailableDiplomas());
+        availableDiplomasList.setDisable(false);
+
+        if (boardAnalysis.isGameOver()) {
+            displayEndGamePanel();
+        }
     }
 }
@@ -0,0 +1,119 @@
+package kanagawa.views;
+
+import javafx.beans.value.ObservableValue;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.text.Font;
+import kanagawa.models.PersonalWork;
+import kanagawa.models.Player;
+
+/**
+ * Class implementing the view of a Personal Work in the list of the cards of
+ * the current player, with the check box placing a pen on it. Views are reused
+ * from one redraw to the next and only updated when their content changes.
+ */
+class PersonalWorkCardView extends AnchorPane {
+
+    private final ImageView bonusImageView = new ImageView();
+
+    private final ImageView skillImageView = new ImageView();
+
+    private final CheckBox checkBox = new CheckBox();
+
+    /**
+     * Personal Work displayed by the view
+     */
+    private PersonalWork pw;
+
+    /**
+     * Owner of the Personal Work, placing or taking back the pen
+     */
+    private Player player;
+
+    /**
+     * Index of the Personal Work in the inventory of its owner
+     */
+    private int index;
+
+    /**
+     * True while the view updates the check box, so that the update is not
+     * taken for a click of the player
+     */
+    private boolean updating;
+
+    /**
+     * Constructor of the {@code PersonalWorkCardView} class, creating an empty
+     * view
+     */
+    PersonalWorkCardView() {
+        setPrefWidth(200);
+        setStyle("-fx-border-color: black; -fx-background-color: white;");
+
+        Label bonusLabel = new Label("Bonus");
+        bonusLabel.setFont(new Font("System Bold", 16));
+        bonusLabel.setLayoutX(77);
+        bonusLabel.setLayoutY(14);
+
+        bonusImageView.setFitHeight(42);
+        bonusImageView.setFitWidth(42);
+        bonusImageView.setLayoutX(79);
+        bonusImageView.setLayoutY(63);
+        bonusImageView.setPickOnBounds(true);
+        bonusImageView.setPreserveRatio(true);
+
+        Label skillLabel = new Label("Compétence :");
+        skillLabel.setFont(new Font("System bold", 16));
+        skillLabel.setLayoutX(53);
+        skillLabel.setLayoutY(174);
+
+        skillImageView.setFitHeight(42);
+        skillImageView.setFitWidth(42);
+        skillImageView.setLayoutX(32);
+        skillImageView.setLayoutY(253);
+        skillImageView.setPickOnBounds(true);
+        skillImageView.setPreserveRatio(true);
+
+        checkBox.setLayoutX(121);
+        checkBox.setLayoutY(265);
+        checkBox.setText("Stylo");
+
+        checkBox.selectedProperty().addListener(
+                (ObservableValue<? extends Boolean> ov, Boolean old_val, Boolean new_val) -> {
+                    if (updating) {
+                        return;
+                    }
+
+                    if (new_val) {
+                        player.placePen(index);
+                    } else {
+                        player.takeBackPen(index);
+                    }
+                });
+
+        getChildren().addAll(bonusLabel, bonusImageView, skillLabel, skillImageView, checkBox);
+    }
+
+    /**
+     * Displays a Personal Work of a player, and the state of its pen
+     *
+     * @param pw     the Personal Work to display
+     * @param player the owner of the Personal Work
+     * @param index  the index of the Personal Work in the inventory
+     */
+    void setPersonalWork(PersonalWork pw, Player player, int index) {
+        if (pw != this.pw) {
+            this.pw = pw;
+            bonusImageView.setImage(ImageCache.of(pw.getBonus()));
+            skillImageView.setImage(ImageCache.of(pw.getSkill()));
+        }
+        this.player = player;
+        this.index = index;
+
+        updating = true;
+        checkBox.setSelected(player.getInventory().hasPen(index));
+        checkBox.setDisable(!player.checkPenCount() && !checkBox.isSelected());
+        updating = false;
+    }
+}
@@ -0,0 +1,76 @@
+package kanagawa.views;
+
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.text.Font;
+import kanagawa.models.Player;
+
+/**
+ * Class implementing the view of a player in the list at the right of the
+ * screen, with the icons showing if the player is first, has the professor and
+ * is playing. The view is created once per player and only shows or hides
+ * its icons when it is updated.
+ */
+class PlayerView extends AnchorPane {
+
+    private final Player player;
+
+    private final ImageView firstPlayerImageView;
+
+    private final ImageView professorImageView;
+
+    private final ImageView playingImageView;
+
+    /**
+     * Constructor of the {@code PlayerView} class
+     *
+     * @param player the player to display
+     */
+    PlayerView(Player player) {
+        this.player = player;
+
+        setPrefWidth(199);
+        setPrefHeight(87);
+        setStyle("-fx-background-color: white; -fx-border-color: black");
+
+        Label label = new Label(player.getUsername());
+        label.setLayoutX(14);
+        label.setLayoutY(32);
+
+        label.setFont(new Font("Verdana", 18));
+
+        firstPlayerImageView = createIcon(ImageCache.MEDAL, 8);
+        professorImageView = createIcon(ImageCache.PROFESSOR, 34);
+        playingImageView = createIcon(ImageCache.GAME_CONTROLLER, 61);
+
+        getChildren().addAll(label, firstPlayerImageView, professorImageView, playingImageView);
+        update();
+    }
+
+    /**
+     * Shows the icons matching the current state of the player
+     */
+    void update() {
+        firstPlayerImageView.setVisible(player.isFirstPlayer());
+        professorImageView.setVisible(player.getInventory().hasProfessor());
+        playingImageView.setVisible(player.isPlaying());
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    private ImageView createIcon(Image image, double layoutY) {
+        ImageView imageView = new ImageView(image);
+
+        imageView.setFitWidth(18);
+        imageView.setFitHeight(18);
+
+        imageView.setLayoutX(166);
+        imageView.setLayoutY(layoutY);
+
+        return imageView;
+    }
+}
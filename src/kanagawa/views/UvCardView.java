@@ -0,0 +1,103 @@
+package kanagawa.views;
+
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.shape.Line;
+import javafx.scene.text.Font;
+import kanagawa.models.UV;
+
+/**
+ * Class implementing the view of a UV in the list of the cards of the current
+ * player. Views are reused from one redraw to the next and only updated when
+ * their UV changes.
+ */
+class UvCardView extends AnchorPane {
+
+    private final Label uvCode = new Label();
+
+    private final Label cat = new Label();
+
+    private final ImageView imageView = new ImageView();
+
+    /**
+     * UV displayed by the view
+     */
+    private UV uv;
+
+    /**
+     * Constructor of the {@code UvCardView} class, creating an empty view
+     */
+    UvCardView() {
+        setPrefWidth(250);
+        setStyle("-fx-border-color: black; -fx-background-color: white;");
+
+        uvCode.setFont(new Font("Tahoma Bold", 24));
+        uvCode.setLayoutX(107);
+        uvCode.setLayoutY(26);
+        AnchorPane.setBottomAnchor(uvCode, 326.0);
+        AnchorPane.setRightAnchor(uvCode, 107.66666666666669);
+        AnchorPane.setTopAnchor(uvCode, 26.0);
+
+        Label category = new Label("Catégorie :");
+        category.setFont(new Font(19));
+        category.setLayoutX(14);
+        category.setLayoutY(110);
+        AnchorPane.setBottomAnchor(category, 243.0);
+        AnchorPane.setLeftAnchor(category, 14.0);
+        AnchorPane.setTopAnchor(category, 110.0);
+
+        cat.setFont(new Font(28));
+        cat.setLayoutX(192);
+        cat.setLayoutY(105);
+        AnchorPane.setBottomAnchor(cat, 242.0);
+        AnchorPane.setRightAnchor(cat, 24.0);
+        AnchorPane.setTopAnchor(cat, 109.0);
+
+        Label requiredSkill = new Label("Compétence requise");
+        requiredSkill.setFont(new Font("Verdana Bold", 13));
+        requiredSkill.setLayoutX(53);
+        requiredSkill.setLayoutY(210);
+        AnchorPane.setBottomAnchor(requiredSkill, 166.0);
+        AnchorPane.setRightAnchor(requiredSkill, 65.0);
+        AnchorPane.setTopAnchor(requiredSkill, 211.0);
+
+        Line line = new Line();
+        line.setStartX(-100);
+        line.setEndX(100);
+        line.setLayoutX(139);
+        line.setLayoutY(79);
+        AnchorPane.setBottomAnchor(line, 315.8333333333333);
+        AnchorPane.setRightAnchor(line, 39.166666666666686);
+        AnchorPane.setTopAnchor(line, 78.5);
+        AnchorPane.setLeftAnchor(line, 38.5);
+
+        imageView.setFitHeight(42);
+        imageView.setFitWidth(42);
+        imageView.setLayoutX(119);
+        imageView.setLayoutY(286);
+        imageView.setPickOnBounds(true);
+        imageView.setPreserveRatio(true);
+        AnchorPane.setBottomAnchor(imageView, 69.33333333333331);
+        AnchorPane.setRightAnchor(imageView, 119.66666666666669);
+        AnchorPane.setTopAnchor(imageView, 286.0);
+
+        getChildren().addAll(uvCode, category, cat, requiredSkill, line, imageView);
+    }
+
+    /**
+     * Displays a UV. Does nothing if the UV is already displayed.
+     *
+     * @param uv the UV to display
+     */
+    void setUv(UV uv) {
+        if (uv == this.uv) {
+            return;
+        }
+        this.uv = uv;
+
+        uvCode.setText(uv.getCode());
+        cat.setText(uv.getUvCategory().toString());
+        imageView.setImage(ImageCache.of(uv.getSkill()));
+    }
+}
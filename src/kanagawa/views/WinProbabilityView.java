@@ -0,0 +1,54 @@
+package kanagawa.views;
+
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.AnchorPane;
+import javafx.scene.text.Font;
+
+/**
+ * Class implementing the view of the estimated probability of winning of a
+ * player, in the panel under the players list. The view is created once per
+ * player and updated with each refined estimate.
+ */
+class WinProbabilityView extends AnchorPane {
+
+    private final ProgressBar progressBar = new ProgressBar(0);
+
+    private final Label percentage = new Label();
+
+    /**
+     * Constructor of the {@code WinProbabilityView} class
+     *
+     * @param username the name of the player
+     */
+    WinProbabilityView(String username) {
+        setPrefWidth(199);
+        setPrefHeight(44);
+
+        Label label = new Label(username);
+        label.setFont(new Font("Verdana", 13));
+        label.setLayoutX(14);
+        label.setLayoutY(4);
+
+        percentage.setFont(new Font("Verdana Bold", 13));
+        AnchorPane.setRightAnchor(percentage, 14.0);
+        AnchorPane.setTopAnchor(percentage, 4.0);
+
+        progressBar.setPrefWidth(171);
+        progressBar.setLayoutX(14);
+        progressBar.setLayoutY(24);
+
+        getChildren().addAll(label, percentage, progressBar);
+    }
+
+    /**
+     * Displays a probability
+     *
+     * @param probability the probability of winning of the player, between 0
+     *                    and 1
+     */
+    void setProbability(double probability) {
+        progressBar.setProgress(probability);
+        percentage.setText(Math.round(probability * 100) + " %");
+    }
+}
@@ -0,0 +1,73 @@
+package kanagawa.models;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.zip.CRC32;
+
+/**
+ * Checks that a binary catalog whose content is invalid but whose checksum is
+ * right, such as a card with an unknown skill, is rejected by
+ * {@code CatalogFile.read()} and compiled again from the JSON sources by
+ * {@code CatalogFile.load()}.
+ *
+ * Run from the root of the project, so that the catalogs are found.
+ */
+public class CatalogFileTest {
+
+    /**
+     * Size of the header of the catalog, followed by the number of cards.
+     */
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * Offset of the skill of the personal work of the first card.
+     */
+    private static final int FIRST_SKILL_OFFSET = HEADER_SIZE + 4;
+
+    public static void main(String[] args) throws IOException {
+        File cardsFile = new File("./cards.json");
+        File diplomasFile = new File("./diplomas.json");
+        File catalogFile = File.createTempFile("catalog", ".bin", new File("."));
+        try {
+            CatalogFile.compile(cardsFile, diplomasFile, catalogFile);
+            int cardCount = CatalogFile.read(catalogFile.toPath(), 0).getCardCount();
+
+            corrupt(catalogFile, FIRST_SKILL_OFFSET, (byte) 99);
+            boolean rejected = false;
+            try {
+                CatalogFile.read(catalogFile.toPath(), 0);
+            } catch (IOException e) {
+                rejected = true;
+            }
+            check(rejected, "a card with an unknown skill is read");
+
+            CatalogFile catalog = CatalogFile.load(cardsFile, diplomasFile, catalogFile);
+            check(catalog.getCardCount() == cardCount, "the cards have not been parsed again");
+            check(CatalogFile.read(catalogFile.toPath(), 0).getCardCount() == cardCount,
+                    "the catalog has not been compiled again");
+        } finally {
+            catalogFile.delete();
+        }
+        System.out.println("CatalogFileTest : OK");
+    }
+
+    /**
+     * Changes a byte of the payload of a catalog and updates its checksum.
+     */
+    private static void corrupt(File catalogFile, int offset, byte value) throws IOException {
+        byte[] bytes = Files.readAllBytes(catalogFile.toPath());
+        bytes[offset] = value;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        ByteBuffer.wrap(bytes).putInt(HEADER_SIZE - 4, (int) crc.getValue());
+        Files.write(catalogFile.toPath(), bytes);
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package kanagawa.models;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays seeded games with random legal turns and diploma decisions while
+ * recording their events, then checks that {@code GameReplay} rebuilds from
+ * each log the same position : same hashes, same round and same inventories.
+ *
+ * Run from the root of the project, so that the catalogs are found.
+ */
+public class GameReplayTest {
+
+    public static void main(String[] args) {
+        int[] turns = new int[MoveGenerator.MAX_TURNS];
+        for (int seed = 0; seed < 200; seed++) {
+            replaySeededGame(seed, 2 + seed % 3, turns);
+        }
+        checkLogOptIn();
+        System.out.println("GameReplayTest : OK");
+    }
+
+    private static void replaySeededGame(long seed, int playerCount, int[] turns) {
+        Game game = new Game(seed);
+        game.setEventLog(new GameLog(seed));
+        Player[] players = new Player[4];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player("Player " + (i + 1));
+        }
+        game.addPlayers(players[0], players[1], players[2], players[3]);
+        game.chooseRandomFirstPlayer();
+        game.start();
+
+        SplittableRandom random = new SplittableRandom(seed);
+        // Half of the games are stopped before their end
+        boolean complete = random.nextBoolean();
+        int turnLimit = complete ? Integer.MAX_VALUE : random.nextInt(40);
+        for (int turn = 0; turn < turnLimit && !game.checkGameIsOver(); turn++) {
+            int count = MoveGenerator.generate(game, turns);
+            check(game.playTurn(turns[random.nextInt(count)]), "a generated turn is not legal");
+
+            Player player = game.getCurrentRound().getCurrentPlayer();
+            int available;
+            while ((available = player.findAvailableDiplomaMask()) != 0) {
+                Diploma diploma = game.getDiplomaIndex().getDiploma(Integer.numberOfTrailingZeros(available));
+                if (random.nextBoolean()) {
+                    player.acceptDiploma(diploma);
+                } else {
+                    player.refuseDiploma(diploma);
+                }
+            }
+            game.nextTurn();
+        }
+
+        Game replayed = GameReplay.replay(game.getEventLog());
+        String name = "game " + seed;
+        check(replayed.getEventLog() == null, name + " : the replayed game is recorded");
+        check(replayed.getPublicHash() == game.getPublicHash(), name + " : different public hash");
+        check(replayed.getZobristHash() == game.getZobristHash(), name + " : different deck");
+        check(replayed.getRoundCount() == game.getRoundCount(), name + " : different round");
+        check(replayed.getPlayers().size() == game.getPlayers().size(), name + " : different players");
+        for (int i = 0; i < game.getPlayers().size(); i++) {
+            checkInventory(name + ", player " + i, game.getPlayers().get(i).getInventory(),
+                    replayed.getPlayers().get(i).getInventory());
+        }
+    }
+
+    private static void checkInventory(String name, Inventory expected, Inventory actual) {
+        check(actual.getHash() == expected.getHash(), name + " : different hash");
+        check(actual.getCredits() == expected.getCredits(), name + " : different credits");
+        check(actual.getPenCount() == expected.getPenCount(), name + " : different pens");
+        check(actual.hasProfessor() == expected.hasProfessor(), name + " : different professor");
+        check(actual.getPwPossessed().equals(expected.getPwPossessed()), name + " : different personal works");
+        check(actual.getUvPossessed().equals(expected.getUvPossessed()), name + " : different UVs");
+        for (int i = 0; i < expected.getPwPossessed().size(); i++) {
+            check(actual.hasPen(i) == expected.hasPen(i), name + " : different pen on personal work " + i);
+        }
+        check(actual.getDiplomaPossessedMask() == expected.getDiplomaPossessedMask(),
+                name + " : different diplomas");
+        check(actual.getRefusedDiplomaMask() == expected.getRefusedDiplomaMask(),
+                name + " : different refused diplomas");
+    }
+
+    /**
+     * The events of a game are only recorded when a log is set.
+     */
+    private static void checkLogOptIn() {
+        Game game = new Game(1);
+        check(game.getEventLog() == null, "the events are recorded by default");
+        game.addPlayers(new Player("a"), new Player("b"), null, null);
+        game.chooseRandomFirstPlayer();
+        game.start();
+        check(game.fork(2).getEventLog() == null, "the events of a fork are recorded");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
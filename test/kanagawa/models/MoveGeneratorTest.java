@@ -0,0 +1,86 @@
+package kanagawa.models;
+
+import java.util.ArrayList;
+
+import kanagawa.models.enums.Bonus;
+import kanagawa.models.enums.CardChoice;
+import kanagawa.models.enums.Skill;
+
+/**
+ * Checks that the legality of a turn does not depend on the order of the cards
+ * of its column : in the game window, the cards of a column can be taken in
+ * any order, so a UV can rely on a pen placed by a later card of the column.
+ *
+ * Run from the root of the project, so that the catalogs are found.
+ */
+public class MoveGeneratorTest {
+
+    public static void main(String[] args) {
+        penAfterUv();
+        System.out.println("MoveGeneratorTest : OK");
+    }
+
+    /**
+     * Column whose first card is taken as a UV of a skill, and whose second card
+     * puts a pen on a personal work of that skill.
+     */
+    private static void penAfterUv() {
+        Game game = new Game(42);
+        game.addPlayers(new Player("a"), new Player("b"), null, null);
+        game.chooseRandomFirstPlayer();
+        game.start();
+        Player player = game.getCurrentRound().getCurrentPlayer();
+        Inventory inventory = player.getInventory();
+        inventory.setPenCount(1);
+
+        Card uvCard = null;
+        Card penCard = null;
+        CardCatalog catalog = CardCatalog.getInstance();
+        for (int i = 0; i < catalog.size() && penCard == null; i++) {
+            Card card = catalog.getCard(i);
+            Skill skill = card.getUv().getSkill();
+            if (card.isStarterCard() || inventory.getPenPlacedCount(skill) > 0) {
+                continue;
+            }
+            for (int j = 0; j < catalog.size(); j++) {
+                Card other = catalog.getCard(j);
+                if (j != i && !other.isStarterCard() && other.getPersonalWork().getSkill() == skill
+                        && other.getPersonalWork().getBonus() != Bonus.PEN) {
+                    uvCard = card;
+                    penCard = other;
+                    break;
+                }
+            }
+        }
+        check(penCard != null, "no pair of cards found in the catalog");
+
+        ArrayList<Card> column = game.getCurrentRound().getGameBoard()[0];
+        column.clear();
+        column.add(uvCard);
+        column.add(penCard);
+
+        int turn = Turn.of(0, CardChoice.UV, CardChoice.PERSONAL_WORK_WITH_PEN);
+        int[] turns = new int[MoveGenerator.MAX_TURNS];
+        int count = MoveGenerator.generate(game, turns);
+        boolean generated = false;
+        for (int i = 0; i < count; i++) {
+            generated |= turns[i] == turn;
+        }
+        check(generated, "the UV before its pen is not generated");
+        check(MoveGenerator.isLegal(game, turn), "the UV before its pen is not legal");
+        check(!MoveGenerator.isLegal(game, Turn.of(0, CardChoice.UV, CardChoice.PERSONAL_WORK)),
+                "the UV without pen is legal");
+
+        check(game.playTurn(turn), "the UV before its pen cannot be played");
+        check(inventory.getPenCount() == 0, "the pen has not been placed");
+        check(inventory.getPenPlacedCount(penCard.getPersonalWork().getSkill()) == 1,
+                "the personal work has no pen");
+        check(inventory.getUvPossessed().contains(uvCard.getUv()), "the UV has not been added");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
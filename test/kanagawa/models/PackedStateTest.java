@@ -0,0 +1,77 @@
+package kanagawa.models;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Checks the round trip of {@code PackedState} over positions of seeded games
+ * played with random legal turns : the decoded game packs to the same state,
+ * has the same public hash and the same legal turns as the original game.
+ *
+ * Run from the root of the project, so that the catalogs are found.
+ */
+public class PackedStateTest {
+
+    public static void main(String[] args) {
+        int[] turns = new int[MoveGenerator.MAX_TURNS];
+        int[] decodedTurns = new int[MoveGenerator.MAX_TURNS];
+        int positionCount = 0;
+        for (int seed = 0; seed < 100; seed++) {
+            positionCount += checkSeededGame(seed, 2 + seed % 3, turns, decodedTurns);
+        }
+        check(positionCount > 1000, "only " + positionCount + " positions checked");
+        System.out.println("PackedStateTest : OK");
+    }
+
+    /**
+     * Plays a game and checks the round trip of every position between two
+     * turns.
+     *
+     * @return the number of positions checked
+     */
+    private static int checkSeededGame(long seed, int playerCount, int[] turns, int[] decodedTurns) {
+        Game game = new Game(seed);
+        Player[] players = new Player[4];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player("Player " + (i + 1));
+        }
+        game.addPlayers(players[0], players[1], players[2], players[3]);
+        game.chooseRandomFirstPlayer();
+        game.start();
+
+        SplittableRandom random = new SplittableRandom(seed);
+        int positionCount = 0;
+        while (!game.checkGameIsOver()) {
+            String name = "game " + seed + ", position " + positionCount;
+            long[] state = PackedState.encode(game);
+            Game decoded = PackedState.decode(state, seed + 1);
+            check(Arrays.equals(PackedState.encode(decoded), state), name + " : different packed state");
+            check(decoded.getPublicHash() == game.getPublicHash(), name + " : different public hash");
+
+            int count = MoveGenerator.generate(game, turns);
+            int decodedCount = MoveGenerator.generate(decoded, decodedTurns);
+            check(Arrays.equals(turns, 0, count, decodedTurns, 0, decodedCount), name + " : different legal turns");
+            positionCount++;
+
+            check(game.playTurn(turns[random.nextInt(count)]), name + " : a generated turn is not legal");
+            Player player = game.getCurrentRound().getCurrentPlayer();
+            int available;
+            while ((available = player.findAvailableDiplomaMask()) != 0) {
+                Diploma diploma = game.getDiplomaIndex().getDiploma(Integer.numberOfTrailingZeros(available));
+                if (random.nextBoolean()) {
+                    player.acceptDiploma(diploma);
+                } else {
+                    player.refuseDiploma(diploma);
+                }
+            }
+            game.nextTurn();
+        }
+        return positionCount;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package kanagawa.models;
+
+import java.lang.management.ManagementFactory;
+import java.util.SplittableRandom;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Checks that the turn API of the engine does not allocate in steady state :
+ * generating the legal turns, playing one of them, claiming the available
+ * diplomas and ending the turn. The event log, which grows with every event,
+ * is turned off. The first turns of each game are not measured, while the
+ * lists of the inventories reach their size.
+ *
+ * Run from the root of the project, so that the catalogs are found.
+ */
+public class TurnAllocationTest {
+
+    /**
+     * Turns of each game played before measuring.
+     */
+    private static final int WARM_UP_TURNS = 20;
+
+    public static void main(String[] args) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        check(threads.isThreadAllocatedMemorySupported(), "the allocated memory cannot be measured");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // Compiles the code of the turns before measuring
+        playGames(threads, 0, 500);
+        double bytesPerTurn = playGames(threads, 500, 1000);
+        // An object allocated by every turn would take at least 16 bytes, the
+        // rare growth of a list of an inventory in a long game is tolerated
+        check(bytesPerTurn < 1, bytesPerTurn + " bytes allocated per turn");
+        System.out.println("TurnAllocationTest : OK");
+    }
+
+    /**
+     * Plays games of 3 players with random legal turns.
+     *
+     * @return the average number of bytes allocated by a measured turn
+     */
+    private static double playGames(ThreadMXBean threads, int firstSeed, int gameCount) {
+        long threadId = Thread.currentThread().getId();
+        int[] turns = new int[MoveGenerator.MAX_TURNS];
+        long bytes = 0;
+        long turnCount = 0;
+
+        for (int seed = firstSeed; seed < firstSeed + gameCount; seed++) {
+            Game game = new Game(seed);
+            game.setEventLog(null);
+            game.addPlayers(new Player("a"), new Player("b"), new Player("c"), null);
+            game.chooseRandomFirstPlayer();
+            game.start();
+            SplittableRandom random = new SplittableRandom(seed);
+
+            int turn = 0;
+            long start = 0;
+            while (!game.checkGameIsOver()) {
+                if (turn == WARM_UP_TURNS) {
+                    start = threads.getThreadAllocatedBytes(threadId);
+                }
+                playTurn(game, turns, random);
+                turn++;
+            }
+            if (turn > WARM_UP_TURNS) {
+                bytes += threads.getThreadAllocatedBytes(threadId) - start;
+                turnCount += turn - WARM_UP_TURNS;
+            }
+        }
+        return (double) bytes / turnCount;
+    }
+
+    private static void playTurn(Game game, int[] turns, SplittableRandom random) {
+        int count = MoveGenerator.generate(game, turns);
+        check(game.playTurn(turns[random.nextInt(count)]), "a generated turn is not legal");
+
+        Player player = game.getCurrentRound().getCurrentPlayer();
+        int available;
+        while ((available = player.findAvailableDiplomaMask()) != 0) {
+            player.acceptDiploma(game.getDiplomaIndex().getDiploma(Integer.numberOfTrailingZeros(available)));
+        }
+        game.nextTurn();
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
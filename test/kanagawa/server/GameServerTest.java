@@ -0,0 +1,132 @@
+package kanagawa.server;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete sessions of the {@code GameServer} through the
+ * {@code LoopbackTransport} : checks that illegal and repeated commands are
+ * rejected without changing the game, and that the sessions are removed from
+ * the server once over or abandoned by their creator.
+ *
+ * Run from the root of the project, so that the catalogs are found.
+ */
+public class GameServerTest {
+
+    public static void main(String[] args) throws Exception {
+        try (GameServer server = new GameServer(42)) {
+            playSession(server, 7);
+            abandonedSession(server);
+        }
+        System.out.println("GameServerTest : OK");
+    }
+
+    /**
+     * Plays a session of 2 players, each turn being drawn from the legal turns
+     * sent by the server.
+     */
+    private static void playSession(GameServer server, long seed) throws Exception {
+        SplittableRandom random = new SplittableRandom(seed);
+        Connection[] clients = { LoopbackTransport.connect(server), LoopbackTransport.connect(server) };
+        send(clients[0], "CREATE 2");
+        String session = expect(clients[0], "OK ").substring(3);
+        send(clients[0], "JOIN " + session + " a");
+        expect(clients[0], "OK 0");
+        send(clients[1], "JOIN " + session + " b");
+        expect(clients[1], "OK 1");
+        for (Connection client : clients) {
+            expect(client, "START a b");
+        }
+
+        int turnCount = 0;
+        String event = expect(clients[0], "TURN ");
+        expect(clients[1], event);
+        while (event.startsWith("TURN ")) {
+            Connection player = clients[Integer.parseInt(event.split(" ")[1])];
+            Connection other = player == clients[0] ? clients[1] : clients[0];
+
+            send(other, "PASS");
+            expect(other, "ERR This is not your turn.");
+            send(player, "END");
+            expect(player, "ERR Take a column or pass first.");
+            send(player, "TAKE 9 PW");
+            expect(player, "ERR No column 9");
+
+            send(player, "TURNS");
+            String[] turns = expect(player, "TURNS ").split(" ");
+            String turn = turns[1 + random.nextInt(turns.length - 1)];
+            String command = turn.equals("PASS") ? "PASS" : "TAKE " + turn.replace(':', ' ').replace(',', ' ');
+            send(player, command);
+            expect(player, "OK");
+            String diplomas = expect(player, "DIPLOMAS");
+
+            // The column cannot be chosen twice in the same turn
+            send(player, command);
+            expect(player, "ERR The column has already been chosen.");
+            send(player, "PASS");
+            expect(player, "ERR The column has already been chosen.");
+            send(player, "TURNS");
+            expect(player, "TURNS");
+
+            while (!diplomas.equals("DIPLOMAS")) {
+                send(player, "ACCEPT " + diplomas.split(" ")[1]);
+                expect(player, "OK");
+                diplomas = expect(player, "DIPLOMAS");
+            }
+
+            send(player, "END");
+            expect(player, "OK");
+            event = expect(clients[0], "");
+            expect(clients[1], event);
+            turnCount++;
+        }
+
+        check(event.startsWith("OVER "), "unexpected end of the game : " + event);
+        check(turnCount > 10, "only " + turnCount + " turns played");
+        waitForSessions(server, 0);
+        for (Connection client : clients) {
+            client.close();
+        }
+    }
+
+    /**
+     * A session created by a client that leaves before anybody joins it is
+     * removed from the server.
+     */
+    private static void abandonedSession(GameServer server) throws Exception {
+        Connection client = LoopbackTransport.connect(server);
+        send(client, "CREATE 3");
+        expect(client, "OK ");
+        check(server.getSessionCount() == 1, "the session has not been created");
+        send(client, "QUIT");
+        expect(client, "BYE");
+        waitForSessions(server, 0);
+    }
+
+    private static void waitForSessions(GameServer server, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (server.getSessionCount() != count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        check(server.getSessionCount() == count, server.getSessionCount() + " sessions left on the server");
+    }
+
+    private static void send(Connection connection, String line) throws IOException {
+        connection.writeLine(line);
+    }
+
+    /**
+     * Reads the next line of a connection and checks its beginning.
+     */
+    private static String expect(Connection connection, String prefix) throws IOException {
+        String line = connection.readLine();
+        check(line != null && line.startsWith(prefix), "expected " + prefix + " but received " + line);
+        return line;
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}